@@ -0,0 +1,349 @@
+package com.example.secuproject;
+
+import java.util.Arrays;
+
+/**
+ * D* Lite 전략
+ * 출구 위치는 알고 맵 구조는 모른다고 보고, 못 본 칸은 지나갈 수 있다고 가정해 도착지점 → Enemy 방향으로 최단 거리를 구합니다.
+ * 시야에 새 벽이 들어오거나 벽이 사라지면(EnemyMemory.CellListener) 바뀐 칸 주변만 다시 계산하므로,
+ * 걸음당 비용은 처음 계획을 빼면 새로 드러난 영역에 비례합니다.
+ * 망치 모드에서는 상태를 (칸, 망치 보유) 두 층으로 나눠, 망치로 벽 하나를 깨고 지나가는 이동과 망치 줍기까지 함께 계획합니다.
+ * 맵에 도착지점이 없거나 아는 벽만으로 막혀 있으면 오른손 법칙으로 넘깁니다 (망치 사용 포함).
+ */
+public class DStarLiteStrategy implements EnemyStrategy, EnemyMemory.CellListener {
+    // 도달 불가 거리 (키를 long 하나에 담을 수 있도록 int 범위보다 충분히 작게)
+    private static final int INF = 1 << 29;
+    // 이웃 방향 우선순위: 앞, 오른쪽, 왼쪽, 뒤
+    private static final int[] TURNS = {0, 1, 3, 2};
+
+    private final RightHandStrategy fallback = new RightHandStrategy();
+
+    // 망치 모드면 상태 = 칸 * 2 + 망치 보유, 아니면 상태 = 칸
+    private final boolean hammerAware;
+    private final int layers;
+
+    private EnemyMemory memory;
+    private int size;
+    private int goal = -1;
+
+    // 도착지점까지 거리 추정값 g와 한 단계 앞을 본 값 rhs (상태별)
+    private int[] g;
+    private int[] rhs;
+
+    // 우선순위 큐 (이진 힙): 상태와 키, heapPos[state]는 힙 위치 + 1 (0이면 큐에 없음)
+    private int[] heap;
+    private long[] heapKey;
+    private int[] heapPos;
+    private int heapSize;
+
+    // 휴리스틱 보정값 km과 그 기준 칸
+    private int km;
+    private int last = -1;
+
+    // 지난 계획 이후 이동 비용에 영향을 주는 값이 바뀐 칸
+    private int[] changed = new int[16];
+    private int changedCount;
+
+    private long expansions;
+
+    public DStarLiteStrategy() {
+        this(false);
+    }
+
+    /**
+     * @param hammerAware true면 망치로 깰 벽과 주울 망치까지 고려해 최단 경로를 계획
+     */
+    public DStarLiteStrategy(boolean hammerAware) {
+        this.hammerAware = hammerAware;
+        this.layers = hammerAware ? 2 : 1;
+    }
+
+    @Override
+    public int decide(Enemy enemy) {
+        if (memory == null) {
+            initialize(enemy);
+        }
+        if (goal < 0) {
+            return fallback.decide(enemy);
+        }
+        int cell = enemy.getX() * size + enemy.getY();
+        int start = cell * layers + (hammerAware && enemy.hasHammer() ? 1 : 0);
+        if (cell != last) {
+            km += heuristic(last, cell);
+            last = cell;
+        }
+        if (changedCount > 0) {
+            for (int k = 0; k < changedCount; k++) {
+                int c = changed[k];
+                updateCell(c);
+                int cx = c / size, cy = c % size;
+                for (int d = 0; d < 4; d++) {
+                    int nx = cx + Enemy.DX[d], ny = cy + Enemy.DY[d];
+                    if (nx >= 0 && nx < size && ny >= 0 && ny < size) {
+                        updateCell(nx * size + ny);
+                    }
+                }
+            }
+            changedCount = 0;
+        }
+        computeShortestPath(start);
+
+        // g가 가장 작은 다음 상태로 (같으면 진행 방향 우선)
+        int best = -1;
+        int bestCost = INF;
+        for (int turn : TURNS) {
+            int d = (enemy.getDir() + turn) % 4;
+            int next = successor(start, d);
+            if (next >= 0 && add(1, g[next]) < bestCost) {
+                bestCost = add(1, g[next]);
+                best = d;
+            }
+        }
+        return best >= 0 ? best : fallback.decide(enemy);
+    }
+
+    /**
+     * 벽(망치 모드에서는 망치도)이 생기거나 사라진 칸만 다음 계획 때 반영 (못 본 칸 → 길은 비용이 같으므로 무시)
+     */
+    @Override
+    public void cellChanged(int cell, int oldValue, int newValue) {
+        if ((oldValue == 4) == (newValue == 4) && (!hammerAware || (oldValue == 7) == (newValue == 7))) {
+            return;
+        }
+        if (changedCount == changed.length) {
+            changed = Arrays.copyOf(changed, changedCount * 2);
+        }
+        changed[changedCount++] = cell;
+    }
+
+    /**
+     * 지금까지 큐에서 꺼낸 상태 수 (벤치마크용)
+     */
+    public long getExpansions() {
+        return expansions;
+    }
+
+    /**
+     * 마지막 계획에서 (x, y) 상태의 도착지점까지 거리 (테스트용, 계획 전이거나 도달 불가면 -1)
+     * 계획은 시작 상태의 rhs가 맞을 때까지만 진행하므로(g는 무한대로 남을 수 있음) 다음 상태들의 g로 구한 rhs를 돌려줍니다.
+     * @param hammer 망치를 가진 층 (망치 모드가 아니면 무시)
+     */
+    int plannedDistance(int x, int y, boolean hammer) {
+        if (rhs == null) {
+            return -1;
+        }
+        int state = (x * size + y) * layers + (hammerAware && hammer ? 1 : 0);
+        return rhs[state] >= INF ? -1 : rhs[state];
+    }
+
+    private void initialize(Enemy enemy) {
+        memory = enemy.getMemory();
+        size = memory.getSize();
+        goal = enemy.goalCell();
+        if (goal < 0) {
+            return;
+        }
+        int states = size * size * layers;
+        g = new int[states];
+        rhs = new int[states];
+        Arrays.fill(g, INF);
+        Arrays.fill(rhs, INF);
+        heap = new int[64];
+        heapKey = new long[64];
+        heapPos = new int[states];
+        last = enemy.getX() * size + enemy.getY();
+
+        for (int h = 0; h < layers; h++) {
+            rhs[goal * layers + h] = 0;
+            push(goal * layers + h, key(goal * layers + h));
+        }
+        // 이미 본 칸은 successor()가 기억을 직접 읽으므로 이후 바뀐 칸만 알림으로 받음
+        memory.setCellListener(this);
+    }
+
+    /**
+     * state에서 d 방향으로 한 칸 갔을 때의 상태 (갈 수 없으면 -1)
+     * 아는 벽은 망치가 있을 때만 깨고 들어가며(망치 소모), 망치 모드에서 망치(7) 칸에 들어서면 망치를 가진 상태가 됩니다.
+     * 못 본 칸은 길로 가정합니다.
+     */
+    private int successor(int state, int d) {
+        int cell = state / layers;
+        int hammer = state % layers;
+        if (!hammerAware && memory.getRememberedCell(cell) == 4) {
+            return -1;
+        }
+        int nx = cell / size + Enemy.DX[d], ny = cell % size + Enemy.DY[d];
+        if (nx < 0 || nx >= size || ny < 0 || ny >= size) {
+            return -1;
+        }
+        int next = nx * size + ny;
+        int remembered = memory.getRememberedCell(next);
+        if (remembered == 4) {
+            return hammer == 1 ? next * layers : -1;
+        }
+        if (hammerAware && remembered == 7) {
+            return next * layers + 1;
+        }
+        return next * layers + hammer;
+    }
+
+    private void computeShortestPath(int start) {
+        while (heapSize > 0 && (heapKey[0] < key(start) || rhs[start] > g[start])) {
+            int u = heap[0];
+            long oldKey = heapKey[0];
+            long newKey = key(u);
+            expansions++;
+            if (oldKey < newKey) {
+                update(u, newKey);
+            } else if (g[u] > rhs[u]) {
+                g[u] = rhs[u];
+                remove(u);
+                updatePredecessors(u);
+            } else {
+                g[u] = INF;
+                updateVertex(u);
+                updatePredecessors(u);
+            }
+        }
+    }
+
+    /**
+     * u로 올 수 있는 상태는 모두 이웃 칸의 상태이므로 이웃 칸의 모든 층을 다시 봄
+     */
+    private void updatePredecessors(int u) {
+        int cell = u / layers;
+        int cx = cell / size, cy = cell % size;
+        for (int d = 0; d < 4; d++) {
+            int nx = cx + Enemy.DX[d], ny = cy + Enemy.DY[d];
+            if (nx >= 0 && nx < size && ny >= 0 && ny < size) {
+                updateCell(nx * size + ny);
+            }
+        }
+    }
+
+    private void updateCell(int cell) {
+        for (int h = 0; h < layers; h++) {
+            updateVertex(cell * layers + h);
+        }
+    }
+
+    /**
+     * rhs를 다음 상태들로 다시 구하고, g와 다르면 큐에 넣음
+     */
+    private void updateVertex(int u) {
+        if (u / layers != goal) {
+            int best = INF;
+            for (int d = 0; d < 4; d++) {
+                int next = successor(u, d);
+                if (next >= 0) {
+                    best = Math.min(best, add(1, g[next]));
+                }
+            }
+            rhs[u] = best;
+        }
+        if (g[u] != rhs[u]) {
+            if (heapPos[u] != 0) {
+                update(u, key(u));
+            } else {
+                push(u, key(u));
+            }
+        } else if (heapPos[u] != 0) {
+            remove(u);
+        }
+    }
+
+    private int heuristic(int a, int b) {
+        return Math.abs(a / size - b / size) + Math.abs(a % size - b % size);
+    }
+
+    /**
+     * (min(g, rhs) + h + km, min(g, rhs))를 사전순으로 비교할 수 있게 long 하나로
+     */
+    private long key(int u) {
+        int m = Math.min(g[u], rhs[u]);
+        return ((long) (m + heuristic(u / layers, last) + km) << 32) | m;
+    }
+
+    private static int add(int a, int b) {
+        return a >= INF || b >= INF ? INF : a + b;
+    }
+
+    private void push(int state, long k) {
+        if (heapSize == heap.length) {
+            heap = Arrays.copyOf(heap, heapSize * 2);
+            heapKey = Arrays.copyOf(heapKey, heapSize * 2);
+        }
+        heap[heapSize] = state;
+        heapKey[heapSize] = k;
+        heapPos[state] = heapSize + 1;
+        siftUp(heapSize++);
+    }
+
+    private void update(int state, long k) {
+        int i = heapPos[state] - 1;
+        long old = heapKey[i];
+        heapKey[i] = k;
+        if (k < old) {
+            siftUp(i);
+        } else {
+            siftDown(i);
+        }
+    }
+
+    private void remove(int state) {
+        int i = heapPos[state] - 1;
+        heapPos[state] = 0;
+        if (--heapSize == i) {
+            return;
+        }
+        heap[i] = heap[heapSize];
+        heapKey[i] = heapKey[heapSize];
+        heapPos[heap[i]] = i + 1;
+        siftUp(i);
+        siftDown(heapPos[heap[i]] - 1);
+    }
+
+    private void siftUp(int i) {
+        int state = heap[i];
+        long k = heapKey[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heapKey[parent] <= k) {
+                break;
+            }
+            move(parent, i);
+            i = parent;
+        }
+        heap[i] = state;
+        heapKey[i] = k;
+        heapPos[state] = i + 1;
+    }
+
+    private void siftDown(int i) {
+        int state = heap[i];
+        long k = heapKey[i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize && heapKey[child + 1] < heapKey[child]) {
+                child++;
+            }
+            if (heapKey[child] >= k) {
+                break;
+            }
+            move(child, i);
+            i = child;
+        }
+        heap[i] = state;
+        heapKey[i] = k;
+        heapPos[state] = i + 1;
+    }
+
+    private void move(int from, int to) {
+        heap[to] = heap[from];
+        heapKey[to] = heapKey[from];
+        heapPos[heap[to]] = to + 1;
+    }
+}
@@ -1,35 +1,51 @@
 package com.example.secuproject;
 
-import java.util.*;
+import com.example.secuproject.model.MazeGrid;
 
 public class Enemy {
-    private static final int[] DX = {-1, 0, 1, 0};
-    private static final int[] DY = {0, 1, 0, -1};
+    // 방향 0~3: 위, 오른쪽, 아래, 왼쪽 (EnemyStrategy가 같은 순서를 씀)
+    static final int[] DX = {-1, 0, 1, 0};
+    static final int[] DY = {0, 1, 0, -1};
 
     private int dir = 1;
     private int x;
     private int y;
     private Maze_two maze;
-    private int[][] map;
+    private MazeGrid map;
 
     private int viewRange = 1;
 
     private EnemyMemory memory;
+    private final EnemyStrategy strategy;
 
     private int stuckCount = 0;
-    private EnemyMemory.Position lastPosition = null;
+    // 직전 step의 위치 (처음에는 -1)
+    private int lastX = -1;
+    private int lastY = -1;
 
     private boolean hasHammer = false;
     private boolean hammerUsed = false;
     private long immobilizedUntil = 0;
     private long torchEndTime = 0;
 
-    public Enemy(Maze_two maze, int startX, int startY, int[][] map) {
+    /**
+     * 플레이어와 같은 맵(격자)을 공유합니다 (아이템 소모, 망치로 깬 벽이 양쪽에 반영됨)
+     */
+    public Enemy(Maze_two maze, int startX, int startY) {
+        this(maze, startX, startY, EnemyMemory.DEFAULT_PATH_WINDOW, new RightHandStrategy());
+    }
+
+    /**
+     * @param pathWindow 경로 기억에 남길 최근 구간 수
+     * @param strategy   이동 방향을 고르는 전략 (Enemy마다 새 인스턴스)
+     */
+    public Enemy(Maze_two maze, int startX, int startY, int pathWindow, EnemyStrategy strategy) {
+        this.strategy = strategy;
         this.maze = maze;
         this.x = startX;
         this.y = startY;
-        this.map = map;
-        this.memory = new EnemyMemory();
+        this.map = maze.getGrid();
+        this.memory = new EnemyMemory(map.getSize(), pathWindow);
 
         memory.recordPosition(x, y);
         updateVision();
@@ -39,17 +55,34 @@ public class Enemy {
         for (int i = x - viewRange; i <= x + viewRange; i++) {
             for (int j = y - viewRange; j <= y + viewRange; j++) {
                 if (isInBounds(i, j)) {
-                    memory.rememberCell(i, j, map[i][j]);
+                    memory.rememberCell(i, j, map.get(i, j));
                 }
             }
         }
     }
 
-    private boolean isInBounds(int nx, int ny) {
-        return nx >= 0 && nx < map.length && ny >= 0 && ny < map[0].length;
+    /**
+     * 맵의 도착지점 칸 인덱스 (없으면 -1, 출구 위치를 안다고 가정하는 전략용)
+     */
+    int goalCell() {
+        return map.indexOf(9);
+    }
+
+    boolean isInBounds(int nx, int ny) {
+        return map.isValidPosition(nx, ny);
+    }
+
+    /**
+     * 바로 옆 칸이 벽인지 (망치로 깰 벽을 찾을 때)
+     */
+    boolean isWall(int nx, int ny) {
+        return isInBounds(nx, ny) && map.get(nx, ny) == 4;
     }
 
-    private boolean canMove(int nx, int ny) {
+    /**
+     * 시야 안이면 실제 칸, 밖이면 기억으로 판단 (모르는 칸은 갈 수 있다고 봄, 막다른 길은 제외)
+     */
+    boolean canMove(int nx, int ny) {
         if (!isInBounds(nx, ny)) {
             return false;
         }
@@ -61,7 +94,7 @@ public class Enemy {
         boolean inView = Math.abs(nx - x) <= viewRange && Math.abs(ny - y) <= viewRange;
 
         if (inView) {
-            return map[nx][ny] != 4;
+            return map.get(nx, ny) != 4;
         } else {
             int remembered = memory.getRememberedCell(nx, ny);
             if (remembered == -1) {
@@ -83,10 +116,10 @@ public class Enemy {
         boolean inView = Math.abs(nx - x) <= viewRange && Math.abs(ny - y) <= viewRange;
 
         if (inView) {
-            if (map[nx][ny] == 4) {
+            if (map.get(nx, ny) == 4) {
                 return hasHammer && !hammerUsed;
             }
-            return map[nx][ny] != 4;
+            return map.get(nx, ny) != 4;
         } else {
             int remembered = memory.getRememberedCell(nx, ny);
             if (remembered == -1) {
@@ -99,18 +132,6 @@ public class Enemy {
         }
     }
 
-    private List<Integer> getUnexploredDirections() {
-        List<Integer> unexplored = new ArrayList<>();
-        for (int d = 0; d < 4; d++) {
-            int nx = x + DX[d];
-            int ny = y + DY[d];
-            if (isInBounds(nx, ny) && !memory.hasExplored(nx, ny) && canMove(nx, ny)) {
-                unexplored.add(d);
-            }
-        }
-        return unexplored;
-    }
-
     private boolean isDeadEnd() {
         int movableCount = 0;
         for (int d = 0; d < 4; d++) {
@@ -137,26 +158,26 @@ public class Enemy {
 
         updateVision();
 
-        EnemyMemory.Position currentPos = new EnemyMemory.Position(x, y);
-        if (currentPos.equals(lastPosition)) {
+        if (x == lastX && y == lastY) {
             stuckCount++;
         } else {
             stuckCount = 0;
         }
-        lastPosition = currentPos;
+        lastX = x;
+        lastY = y;
 
         if (isDeadEnd() && stuckCount > 2) {
             memory.markAsDeadEnd(x, y);
         }
 
-        Integer nextDir = decideDirection();
+        int nextDir = strategy.decide(this);
 
-        if (nextDir != null) {
+        if (nextDir >= 0) {
             int nx = x + DX[nextDir];
             int ny = y + DY[nextDir];
 
-            if (isInBounds(nx, ny) && map[nx][ny] == 4 && hasHammer && !hammerUsed) {
-                map[nx][ny] = 3;
+            if (isInBounds(nx, ny) && map.get(nx, ny) == 4 && hasHammer && !hammerUsed) {
+                map.set(nx, ny, 3);
                 hammerUsed = true;
                 hasHammer = false;
             }
@@ -165,17 +186,17 @@ public class Enemy {
             x = x + DX[dir];
             y = y + DY[dir];
 
-            int currentCell = map[x][y];
+            int currentCell = map.get(x, y);
             if (currentCell == 6) {
-                map[x][y] = 3;
+                map.set(x, y, 3);
                 viewRange = 2;
                 torchEndTime = System.currentTimeMillis() + 10_000;
             } else if (currentCell == 7) {
-                map[x][y] = 3;
+                map.set(x, y, 3);
                 hasHammer = true;
                 hammerUsed = false;
             } else if (currentCell == 8) {
-                map[x][y] = 3;
+                map.set(x, y, 3);
                 immobilizedUntil = System.currentTimeMillis() + 3_000;
             }
 
@@ -183,65 +204,6 @@ public class Enemy {
         }
     }
 
-    private Integer decideDirection() {
-        List<Integer> unexplored = getUnexploredDirections();
-        if (!unexplored.isEmpty()) {
-            return selectByRightHandRule(unexplored);
-        }
-
-        List<int[]> candidates = new ArrayList<>();
-        for (int d = 0; d < 4; d++) {
-            int nx = x + DX[d];
-            int ny = y + DY[d];
-            if (canMove(nx, ny)) {
-                int visits = memory.getVisitCount(nx, ny);
-                candidates.add(new int[]{d, visits});
-            }
-        }
-
-        if (candidates.isEmpty()) {
-            if (hasHammer && !hammerUsed) {
-                for (int d = 0; d < 4; d++) {
-                    int nx = x + DX[d];
-                    int ny = y + DY[d];
-                    if (isInBounds(nx, ny) && map[nx][ny] == 4) {
-                        return d;
-                    }
-                }
-            }
-            return null;
-        }
-
-        candidates.sort(Comparator.comparingInt(a -> a[1]));
-
-        int minVisits = candidates.get(0)[1];
-        List<Integer> minVisitDirs = new ArrayList<>();
-        for (int[] c : candidates) {
-            if (c[1] == minVisits) {
-                minVisitDirs.add(c[0]);
-            }
-        }
-
-        return selectByRightHandRule(minVisitDirs);
-    }
-
-    private Integer selectByRightHandRule(List<Integer> directions) {
-        int[] priority = {
-            (dir + 1) % 4,
-            dir,
-            (dir + 3) % 4,
-            (dir + 2) % 4
-        };
-
-        for (int p : priority) {
-            if (directions.contains(p)) {
-                return p;
-            }
-        }
-
-        return directions.isEmpty() ? null : directions.get(0);
-    }
-
     public void setViewRange(int range) {
         this.viewRange = range;
     }
@@ -261,6 +223,15 @@ public class Enemy {
     public int getX() { return x; }
     public int getY() { return y; }
 
+    /**
+     * 마지막으로 움직인 방향 (0~3)
+     */
+    public int getDir() { return dir; }
+
+    public EnemyStrategy getStrategy() {
+        return strategy;
+    }
+
     public String getMemoryStats() {
         return memory.getStats();
     }
@@ -4,7 +4,8 @@ import java.util.*;
 
 /**
  * Enemy의 경로 기억 시스템
- * LinkedList로 이동 경로를 저장하고, 막다른 길을 기억합니다.
+ * 최근 이동 경로를 고정 크기 링 버퍼에 저장하고, 막다른 길을 기억합니다.
+ * 칸별 기억(본 셀 값, 방문 횟수, 막다른 길)은 맵 크기의 배열/비트셋이라 조회할 때 객체를 만들지 않습니다.
  */
 public class EnemyMemory {
 
@@ -31,7 +32,7 @@ public class EnemyMemory {
 
         @Override
         public int hashCode() {
-            return Objects.hash(x, y);
+            return 31 * x + y;
         }
 
         @Override
@@ -40,35 +41,95 @@ public class EnemyMemory {
         }
     }
 
-    // 이동 경로 기록 (LinkedList로 순서 보장)
-    private LinkedList<Position> pathHistory;
+    /**
+     * 기억한 셀 값이 바뀔 때 알림 (처음 본 칸은 oldValue가 -1)
+     */
+    public interface CellListener {
+        void cellChanged(int cell, int oldValue, int newValue);
+    }
+
+    // 경로 기록 기본 창 크기 (구간 수)
+    public static final int DEFAULT_PATH_WINDOW = 1024;
+
+    private final int size;
+
+    // 이동 경로 기록: (칸 인덱스, 연속 기록 횟수) 구간의 링 버퍼, 창을 넘으면 가장 오래된 구간부터 버림
+    private final int[] pathCells;
+    private final int[] pathRuns;
+    private int pathHead;
+    private int pathEntries;
+    // 창 안에 남은 기록 수 (구간별 횟수의 합)
+    private long pathSize;
 
-    // 탐색한 셀의 실제 값 기억 (시야에 들어온 셀만)
-    private Map<Position, Integer> exploredMap;
+    // 탐색한 셀의 실제 값 + 1 (0이면 아직 못 본 칸, 시야에 들어온 셀만)
+    private final byte[] explored;
+    private int exploredCount;
+    // 처음 본 도착지점(9)의 칸 인덱스 (아직 못 봤으면 -1)
+    private int goalCell = -1;
 
-    // 막다른 길로 확인된 위치들
-    private Set<Position> deadEnds;
+    // 막다른 길로 확인된 위치들 (칸 인덱스 비트셋)
+    private final long[] deadEnds;
+    private int deadEndCount;
 
     // 각 위치별 방문 횟수
-    private Map<Position, Integer> visitCount;
+    private final int[] visitCount;
 
-    public EnemyMemory() {
-        this.pathHistory = new LinkedList<>();
-        this.exploredMap = new HashMap<>();
-        this.deadEnds = new HashSet<>();
-        this.visitCount = new HashMap<>();
+    private CellListener cellListener;
+
+    /**
+     * @param size 미로 크기 (size × size 칸을 기억)
+     */
+    public EnemyMemory(int size) {
+        this(size, DEFAULT_PATH_WINDOW);
+    }
+
+    /**
+     * @param size       미로 크기 (size × size 칸을 기억)
+     * @param pathWindow 경로 기록으로 남길 구간 수 (같은 칸 연속 기록은 한 구간)
+     */
+    public EnemyMemory(int size, int pathWindow) {
+        this.size = size;
+        int area = size * size;
+        int window = Math.max(2, pathWindow);
+        this.pathCells = new int[window];
+        this.pathRuns = new int[window];
+        this.explored = new byte[area];
+        this.deadEnds = new long[(area + 63) >>> 6];
+        this.visitCount = new int[area];
+    }
+
+    private boolean inBounds(int x, int y) {
+        return x >= 0 && x < size && y >= 0 && y < size;
     }
 
     /**
      * 현재 위치를 경로에 추가
      */
     public void recordPosition(int x, int y) {
-        Position pos = new Position(x, y);
-        pathHistory.addLast(pos);
+        if (!inBounds(x, y)) {
+            return;
+        }
+        int cell = x * size + y;
+        int window = pathCells.length;
+        int last = (pathHead + pathEntries - 1) % window;
+        if (pathEntries > 0 && pathCells[last] == cell && pathRuns[last] < Integer.MAX_VALUE) {
+            // 같은 칸 연속 기록은 횟수만 늘림
+            pathRuns[last]++;
+        } else {
+            if (pathEntries == window) {
+                pathSize -= pathRuns[pathHead];
+                pathHead = (pathHead + 1) % window;
+                pathEntries--;
+            }
+            int at = (pathHead + pathEntries) % window;
+            pathCells[at] = cell;
+            pathRuns[at] = 1;
+            pathEntries++;
+        }
+        pathSize++;
 
         // 방문 횟수 증가
-        int count = visitCount.getOrDefault(pos, 0) + 1;
-        visitCount.put(pos, count);
+        visitCount[cell]++;
     }
 
     /**
@@ -78,86 +139,161 @@ public class EnemyMemory {
      * @param cellValue 셀 값 (3=길, 4=벽, 9=골 등)
      */
     public void rememberCell(int x, int y, int cellValue) {
-        exploredMap.put(new Position(x, y), cellValue);
+        if (!inBounds(x, y)) {
+            return;
+        }
+        int i = x * size + y;
+        int oldValue = explored[i] - 1;
+        if (oldValue == -1) {
+            exploredCount++;
+        }
+        explored[i] = (byte) (cellValue + 1);
+        if (cellValue == 9 && goalCell < 0) {
+            goalCell = i;
+        }
+        if (cellListener != null && oldValue != cellValue) {
+            cellListener.cellChanged(i, oldValue, cellValue);
+        }
+    }
+
+    /**
+     * 셀 값 변경 알림 등록 (하나만, null이면 해제)
+     */
+    public void setCellListener(CellListener listener) {
+        this.cellListener = listener;
     }
 
     /**
      * 현재 위치를 막다른 길로 마킹
      */
     public void markAsDeadEnd(int x, int y) {
-        deadEnds.add(new Position(x, y));
+        if (!inBounds(x, y)) {
+            return;
+        }
+        int i = x * size + y;
+        long bit = 1L << i;
+        if ((deadEnds[i >>> 6] & bit) == 0) {
+            deadEnds[i >>> 6] |= bit;
+            deadEndCount++;
+        }
     }
 
     /**
      * 해당 위치가 막다른 길인지 확인
      */
     public boolean isDeadEnd(int x, int y) {
-        return deadEnds.contains(new Position(x, y));
+        if (!inBounds(x, y)) {
+            return false;
+        }
+        int i = x * size + y;
+        return (deadEnds[i >>> 6] & (1L << i)) != 0;
     }
 
     /**
      * 해당 위치를 탐색한 적 있는지 확인
      */
     public boolean hasExplored(int x, int y) {
-        return exploredMap.containsKey(new Position(x, y));
+        return inBounds(x, y) && explored[x * size + y] != 0;
     }
 
     /**
      * 기억된 셀 값 조회 (탐색 안 한 경우 -1 반환)
      */
     public int getRememberedCell(int x, int y) {
-        Position pos = new Position(x, y);
-        return exploredMap.getOrDefault(pos, -1);
+        return inBounds(x, y) ? explored[x * size + y] - 1 : -1;
+    }
+
+    /**
+     * 칸 인덱스(x * size + y)로 기억된 셀 값 조회 (탐색 안 한 경우 -1)
+     */
+    public int getRememberedCell(int cell) {
+        return explored[cell] - 1;
+    }
+
+    /**
+     * 본 적 있는 도착지점의 칸 인덱스 (못 봤으면 -1)
+     */
+    public int getGoalCell() {
+        return goalCell;
+    }
+
+    public int getSize() {
+        return size;
     }
 
     /**
      * 해당 위치의 방문 횟수 조회
      */
     public int getVisitCount(int x, int y) {
-        return visitCount.getOrDefault(new Position(x, y), 0);
+        return inBounds(x, y) ? visitCount[x * size + y] : 0;
     }
 
     /**
      * 백트래킹: 직전 위치 반환 (현재 위치 제거)
-     * @return 이전 위치, 없으면 null
+     * @return 이전 위치, 창 안에 남은 기록이 없으면 null
      */
     public Position backtrack() {
-        if (pathHistory.size() > 1) {
-            pathHistory.removeLast(); // 현재 위치 제거
-            return pathHistory.peekLast(); // 이전 위치 반환
+        if (pathSize > 1) {
+            int last = (pathHead + pathEntries - 1) % pathCells.length;
+            // 현재 위치 제거
+            if (--pathRuns[last] == 0) {
+                pathEntries--;
+            }
+            pathSize--;
+            return getLastPosition(); // 이전 위치 반환
         }
         return null;
     }
 
     /**
-     * 경로 히스토리 크기
+     * 경로 히스토리 크기 (창 안에 남은 기록 수)
      */
     public int getPathSize() {
-        return pathHistory.size();
+        return (int) Math.min(pathSize, Integer.MAX_VALUE);
     }
 
     /**
      * 마지막 위치 조회
      */
     public Position getLastPosition() {
-        return pathHistory.isEmpty() ? null : pathHistory.peekLast();
+        if (pathEntries == 0) {
+            return null;
+        }
+        return toPosition(pathCells[(pathHead + pathEntries - 1) % pathCells.length]);
     }
 
     /**
-     * 전체 경로 조회 (디버깅용)
+     * 창 안의 경로 조회 (디버깅용, 연속 기록은 횟수만큼 펼침)
      */
     public List<Position> getFullPath() {
-        return new ArrayList<>(pathHistory);
+        List<Position> path = new ArrayList<>((int) Math.min(pathSize, 1 << 16));
+        for (int k = 0; k < pathEntries; k++) {
+            int at = (pathHead + k) % pathCells.length;
+            Position pos = toPosition(pathCells[at]);
+            for (int r = 0; r < pathRuns[at]; r++) {
+                path.add(pos);
+            }
+        }
+        return path;
+    }
+
+    private Position toPosition(int cell) {
+        return new Position(cell / size, cell % size);
     }
 
     /**
      * 메모리 초기화
      */
     public void clear() {
-        pathHistory.clear();
-        exploredMap.clear();
-        deadEnds.clear();
-        visitCount.clear();
+        pathHead = 0;
+        pathEntries = 0;
+        pathSize = 0;
+        Arrays.fill(explored, (byte) 0);
+        Arrays.fill(deadEnds, 0L);
+        Arrays.fill(visitCount, 0);
+        exploredCount = 0;
+        deadEndCount = 0;
+        goalCell = -1;
     }
 
     /**
@@ -165,6 +301,6 @@ public class EnemyMemory {
      */
     public String getStats() {
         return String.format("탐색: %d셀, 막다른길: %d개, 경로: %d칸",
-            exploredMap.size(), deadEnds.size(), pathHistory.size());
+            exploredCount, deadEndCount, getPathSize());
     }
 }
@@ -0,0 +1,33 @@
+package com.example.secuproject;
+
+/**
+ * Enemy 이동 전략
+ * Enemy.step이 시야를 갱신한 뒤 매 걸음 decide를 호출하고, 돌려받은 방향으로 한 칸 움직입니다.
+ * 전략은 상태(계획한 경로 등)를 가질 수 있으므로 Enemy마다 새 인스턴스를 씁니다.
+ */
+public interface EnemyStrategy {
+
+    /**
+     * 다음 방향 (0~3: 위, 오른쪽, 아래, 왼쪽 / 움직일 수 없으면 -1)
+     */
+    int decide(Enemy enemy);
+
+    /**
+     * 설정 이름으로 전략 생성 (game.ai.strategy)
+     * @param name "right-hand", "frontier", "dstar-lite", "hammer-aware"
+     */
+    static EnemyStrategy create(String name) {
+        switch (name == null ? "" : name.trim().toLowerCase()) {
+            case "right-hand":
+                return new RightHandStrategy();
+            case "frontier":
+                return new FrontierStrategy();
+            case "dstar-lite":
+                return new DStarLiteStrategy();
+            case "hammer-aware":
+                return new DStarLiteStrategy(true);
+            default:
+                throw new IllegalArgumentException("알 수 없는 AI 전략: " + name);
+        }
+    }
+}
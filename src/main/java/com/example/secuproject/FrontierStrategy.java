@@ -0,0 +1,191 @@
+package com.example.secuproject;
+
+import java.util.Arrays;
+
+/**
+ * 프론티어 탐색 전략
+ * Enemy가 기억하는 칸만으로 BFS 해서 가장 가까운 "아직 못 본 칸"(도착지점을 봤다면 도착지점)까지 경로를 세우고 따라갑니다.
+ * 매 걸음 새로 계획하지 않고, 목표가 밝혀졌거나 시야에 들어온 벽이 경로를 막을 때만 다시 계획합니다.
+ * 기억만으로 갈 곳이 없으면(모든 칸을 봤는데 막힌 경우 등) 오른손 법칙으로 넘깁니다 (망치 사용 포함).
+ */
+public class FrontierStrategy implements EnemyStrategy {
+    private final RightHandStrategy fallback = new RightHandStrategy();
+
+    private int size = -1;
+    // BFS 방문 표시 (stamp가 같으면 이번 BFS에서 방문) / 직전 칸
+    private int[] seen;
+    private int[] parent;
+    private int[] queue;
+    private int stamp;
+
+    // 현재 계획: planFrom에서 출발해 plan[0..planLength) 순서로 이동, planPos는 다음에 밟을 칸
+    private int[] plan = new int[16];
+    private int planLength;
+    private int planPos;
+    private int planFrom = -1;
+    private int target = -1;
+    // 계획할 때 알던 도착지점 (몰랐으면 -1)
+    private int planGoal = -1;
+    // 계획 경로 위의 칸 (onPlan[cell] == planStamp)
+    private int[] onPlan;
+    private int planStamp;
+
+    private long replans;
+
+    @Override
+    public int decide(Enemy enemy) {
+        EnemyMemory memory = enemy.getMemory();
+        ensureCapacity(memory.getSize());
+        int here = enemy.getX() * size + enemy.getY();
+
+        if (planPos < planLength && plan[planPos] == here) {
+            planPos++;
+        }
+        if (!isPlanValid(enemy, memory, here)) {
+            replan(memory, here);
+        }
+        if (planPos < planLength) {
+            return directionTo(here, plan[planPos]);
+        }
+        return fallback.decide(enemy);
+    }
+
+    /**
+     * 지금까지 다시 계획한 횟수 (벤치마크용)
+     */
+    public long getReplans() {
+        return replans;
+    }
+
+    private boolean isPlanValid(Enemy enemy, EnemyMemory memory, int here) {
+        if (planPos >= planLength || here != (planPos == 0 ? planFrom : plan[planPos - 1])) {
+            return false;
+        }
+        if (memory.getGoalCell() != planGoal) {
+            // 계획한 뒤에 도착지점을 봤음
+            return false;
+        }
+        if (memory.getRememberedCell(plan[planPos]) == 4) {
+            return false;
+        }
+        // 이번 시야에 들어온 칸 중 계획 경로 위의 벽
+        int range = enemy.getViewRange();
+        int x = here / size, y = here % size;
+        for (int i = Math.max(0, x - range); i <= Math.min(size - 1, x + range); i++) {
+            for (int j = Math.max(0, y - range); j <= Math.min(size - 1, y + range); j++) {
+                int cell = i * size + j;
+                if (onPlan[cell] == planStamp && memory.getRememberedCell(cell) == 4) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 기억상 지나갈 수 있는 칸으로만 BFS: 도착지점을 봤으면 도착지점, 아니면(또는 도착지점에 못 가면) 가장 가까운 못 본 칸
+     */
+    private void replan(EnemyMemory memory, int here) {
+        replans++;
+        planLength = 0;
+        planPos = 0;
+        planFrom = here;
+        target = -1;
+
+        int goal = memory.getGoalCell();
+        planGoal = goal;
+        int mark = nextStamp();
+        int nearestUnknown = -1;
+        int head = 0, tail = 0;
+        seen[here] = mark;
+        queue[tail++] = here;
+        while (head < tail) {
+            int curr = queue[head++];
+            if (curr == goal) {
+                target = curr;
+                break;
+            }
+            int remembered = memory.getRememberedCell(curr);
+            if (remembered == -1) {
+                // 못 본 칸은 목표 후보일 뿐 지나가지 않음
+                if (nearestUnknown < 0) {
+                    nearestUnknown = curr;
+                    if (goal < 0) {
+                        break;
+                    }
+                }
+                continue;
+            }
+            int cx = curr / size, cy = curr % size;
+            for (int d = 0; d < 4; d++) {
+                int nx = cx + Enemy.DX[d], ny = cy + Enemy.DY[d];
+                if (nx < 0 || nx >= size || ny < 0 || ny >= size) {
+                    continue;
+                }
+                int next = nx * size + ny;
+                if (seen[next] != mark && memory.getRememberedCell(next) != 4) {
+                    seen[next] = mark;
+                    parent[next] = curr;
+                    queue[tail++] = next;
+                }
+            }
+        }
+        if (target < 0) {
+            target = nearestUnknown;
+        }
+        if (target < 0 || target == here) {
+            return;
+        }
+
+        // 목표에서 거꾸로 따라가며 경로 기록
+        int length = 0;
+        for (int c = target; c != here; c = parent[c]) {
+            length++;
+        }
+        if (plan.length < length) {
+            plan = new int[Math.max(length, plan.length * 2)];
+        }
+        planStamp = nextStamp();
+        int k = length;
+        for (int c = target; c != here; c = parent[c]) {
+            plan[--k] = c;
+            onPlan[c] = planStamp;
+        }
+        planLength = length;
+    }
+
+    private int directionTo(int here, int next) {
+        int dx = next / size - here / size;
+        int dy = next % size - here % size;
+        for (int d = 0; d < 4; d++) {
+            if (Enemy.DX[d] == dx && Enemy.DY[d] == dy) {
+                return d;
+            }
+        }
+        return -1;
+    }
+
+    private void ensureCapacity(int mazeSize) {
+        if (mazeSize == size) {
+            return;
+        }
+        size = mazeSize;
+        int area = mazeSize * mazeSize;
+        seen = new int[area];
+        parent = new int[area];
+        queue = new int[area];
+        onPlan = new int[area];
+        stamp = 0;
+        planLength = 0;
+        planPos = 0;
+    }
+
+    private int nextStamp() {
+        if (++stamp == Integer.MAX_VALUE) {
+            Arrays.fill(seen, 0);
+            Arrays.fill(onPlan, 0);
+            stamp = 1;
+        }
+        return stamp;
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.secuproject;
 
+import com.example.secuproject.model.MazeGrid;
+
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.KeyAdapter;
@@ -36,10 +38,10 @@ public class Maze_swing extends JFrame {
         add(msgLabel, BorderLayout.SOUTH);
 
         // Enemy 초기 위치 찾기 (플레이어와 다른 스타트 지점)
-        int[][] map = maze.getMap();
+        MazeGrid map = maze.getGrid();
         int enemyStartX = findEnemyStartX();
         int enemyStartY = findEnemyStartY();
-        enemy = new Enemy(maze, enemyStartX, enemyStartY, map);
+        enemy = new Enemy(maze, enemyStartX, enemyStartY);
 
         // 플레이어 키 입력
         addKeyListener(new KeyAdapter() {
@@ -77,7 +79,7 @@ public class Maze_swing extends JFrame {
             enemy.step();
             
             // Enemy 도착지점 도달 확인
-            if (map[enemy.getX()][enemy.getY()] == 9) {
+            if (map.get(enemy.getX(), enemy.getY()) == 9) {
                 gameFinished = true;
                 enemyTimer.stop();
                 msgLabel.setText("Enemy가 먼저 도착했습니다!");
@@ -147,13 +149,13 @@ public class Maze_swing extends JFrame {
     private int findEnemyStartX() {
         int playerX = maze.getPlayerX();
         int playerY = maze.getPlayerY();
-        int[][] map = maze.getMap();
+        MazeGrid map = maze.getGrid();
         int size = maze.getSize();
         
         // 플레이어와 다른 스타트 지점 찾기
         for (int i = 0; i < size; i++) {
             for (int j = 0; j < size; j++) {
-                if (map[i][j] == 0 && (i != playerX || j != playerY)) {
+                if (map.get(i, j) == 0 && (i != playerX || j != playerY)) {
                     return i;
                 }
             }
@@ -162,7 +164,7 @@ public class Maze_swing extends JFrame {
         // 스타트 지점이 하나면 플레이어 근처의 이동 가능한 위치 찾기
         for (int i = 0; i < size; i++) {
             for (int j = 0; j < size; j++) {
-                if (map[i][j] != 4 && map[i][j] != 9 && (i != playerX || j != playerY)) {
+                if (map.get(i, j) != 4 && map.get(i, j) != 9 && (i != playerX || j != playerY)) {
                     return i;
                 }
             }
@@ -175,13 +177,13 @@ public class Maze_swing extends JFrame {
     private int findEnemyStartY() {
         int playerX = maze.getPlayerX();
         int playerY = maze.getPlayerY();
-        int[][] map = maze.getMap();
+        MazeGrid map = maze.getGrid();
         int size = maze.getSize();
         
         // 플레이어와 다른 스타트 지점 찾기
         for (int i = 0; i < size; i++) {
             for (int j = 0; j < size; j++) {
-                if (map[i][j] == 0 && (i != playerX || j != playerY)) {
+                if (map.get(i, j) == 0 && (i != playerX || j != playerY)) {
                     return j;
                 }
             }
@@ -190,7 +192,7 @@ public class Maze_swing extends JFrame {
         // 스타트 지점이 하나면 플레이어 근처의 이동 가능한 위치 찾기
         for (int i = 0; i < size; i++) {
             for (int j = 0; j < size; j++) {
-                if (map[i][j] != 4 && map[i][j] != 9 && (i != playerX || j != playerY)) {
+                if (map.get(i, j) != 4 && map.get(i, j) != 9 && (i != playerX || j != playerY)) {
                     return j;
                 }
             }
@@ -1,11 +1,12 @@
 package com.example.secuproject;
 
+import com.example.secuproject.model.MazeGrid;
+import com.example.secuproject.util.MazeFileHandler;
+
 import java.io.*;
-import java.util.ArrayList;
-import java.util.List;
 
 public class Maze_two {
-    private int[][] map;
+    private MazeGrid grid;
     private int size;
     private int playerX;
     private int playerY;
@@ -21,13 +22,13 @@ public class Maze_two {
 
     public Maze_two() {
         size = 5;
-        map = new int[][]{
+        grid = MazeGrid.fromArray(new int[][]{
                 {0, 3, 4, 3, 9},
                 {4, 7, 4, 3, 4}, // 7: 망치
                 {3, 3, 3, 3, 4},
                 {3, 4, 4, 6, 3}, // 6: 횃불
                 {3, 3, 8, 4, 3}  // 8: 함정
-        };
+        });
         findStartSpot();
     }
     
@@ -35,22 +36,26 @@ public class Maze_two {
      * MazeGenerator로 생성된 미로를 사용하여 Maze_two를 초기화합니다
      */
     public Maze_two(int[][] generatedMap) {
-        if (generatedMap == null || generatedMap.length == 0) {
+        this(generatedMap == null || generatedMap.length == 0 ? null : MazeGrid.fromArray(generatedMap));
+    }
+
+    /**
+     * 격자를 복사해 Maze_two를 초기화합니다 (null이면 기본 미로)
+     */
+    public Maze_two(MazeGrid generatedGrid) {
+        if (generatedGrid == null || generatedGrid.getSize() == 0) {
             // 기본 미로 사용
             size = 5;
-            map = new int[][]{
+            grid = MazeGrid.fromArray(new int[][]{
                     {0, 3, 4, 3, 9},
                 {4, 7, 4, 3, 4},
                     {3, 3, 3, 3, 4},
                     {3, 4, 4, 6, 3},
                 {3, 3, 8, 4, 3}
-            };
+            });
         } else {
-            size = generatedMap.length;
-            map = new int[size][size];
-            for (int i = 0; i < size; i++) {
-                System.arraycopy(generatedMap[i], 0, map[i], 0, size);
-            }
+            size = generatedGrid.getSize();
+            grid = generatedGrid.copy();
         }
         findStartSpot();
     }
@@ -59,63 +64,24 @@ public class Maze_two {
      * 텍스트 파일에서 미로를 읽어옵니다
      */
     public static Maze_two fromFile(String filePath) throws IOException {
-        List<String> lines = new ArrayList<>();
-        
-        try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                lines.add(line.trim());
-            }
-        }
-        
-        if (lines.isEmpty()) {
-            throw new IOException("파일이 비어있습니다");
-        }
-        
-        int size = lines.size();
-        int[][] map = new int[size][size];
-        
-        // 각 줄을 읽어서 미로를 구성합니다
-        for (int i = 0; i < size; i++) {
-            String line = lines.get(i);
-            String[] parts = line.split("\\s+");
-            
-            for (int j = 0; j < parts.length && j < size; j++) {
-                try {
-                    map[i][j] = Integer.parseInt(parts[j]);
-                } catch (NumberFormatException e) {
-                    map[i][j] = 4; // 숫자가 아니면 벽으로 처리
-                }
-            }
-        }
-        
-        return new Maze_two(map);
+        // 줄/토큰 문자열 없이 바이트에서 바로 격자로 읽음 (값이 없는 칸은 0)
+        return new Maze_two(MazeFileHandler.loadGrid(filePath, 0));
     }
     
     /**
      * Maze 모델을 Maze_two로 변환합니다
      */
     public static Maze_two fromMaze(com.example.secuproject.model.Maze maze) {
-        int size = maze.getSize();
-        int[][] map = new int[size][size];
-        
-        for (int i = 0; i < size; i++) {
-            for (int j = 0; j < size; j++) {
-                com.example.secuproject.model.MazeCell cell = maze.getCell(i, j);
-                map[i][j] = cell.getCode();
-            }
-        }
-        
-        return new Maze_two(map);
+        return new Maze_two(maze.getGrid());
     }
 
     private void findStartSpot() {
-        for (int i = 0; i < size; i++) {
-            for (int j = 0; j < size; j++) {
-                if (map[i][j] == 0) {
-                    playerX = i;
-                    playerY = j;
-                }
+        // 마지막 스타트 지점 (기존 동작과 동일)
+        int area = grid.area();
+        for (int k = 0; k < area; k++) {
+            if (grid.get(k) == 0) {
+                playerX = grid.rowOf(k);
+                playerY = grid.colOf(k);
             }
         }
     }
@@ -130,28 +96,11 @@ public class Maze_two {
      * @param enemyY Enemy Y 좌표 (-1이면 표시 안 함)
      */
     public String showMazeNoFog(int enemyX, int enemyY) {
-        StringBuilder sb = new StringBuilder();
+        StringBuilder sb = new StringBuilder(size * (size * 2 + 1));
 
         for (int i = 0; i < size; i++) {
             for (int j = 0; j < size; j++) {
-                // 플레이어와 Enemy 위치 우선 표시
-                if (i == playerX && j == playerY) {
-                    sb.append(" P"); // 플레이어
-                } else if (enemyX >= 0 && enemyY >= 0 && i == enemyX && j == enemyY) {
-                    sb.append(" E"); // Enemy
-                } else if (map[i][j] == 4) {
-                    sb.append(" #"); // 벽
-                } else if (map[i][j] == 9) {
-                    sb.append(" G"); // 도착지점
-                } else if (map[i][j] == 6) {
-                    sb.append(" F"); // 횃불(Torch)
-                } else if (map[i][j] == 7) {
-                    sb.append(" H"); // 망치(Hammer)
-                } else if (map[i][j] == 8) {
-                    sb.append(" X"); // 함정(Trap)
-                } else {
-                    sb.append(" ."); // 길
-                }
+                sb.append(' ').append(cellSymbol(i, j, enemyX, enemyY));
             }
             sb.append("\n");
         }
@@ -164,52 +113,75 @@ public class Maze_two {
      * @param enemyY Enemy Y 좌표 (-1이면 표시 안 함)
      */
     public String showMaze(int enemyX, int enemyY) {
-        StringBuilder sb = new StringBuilder();
+        StringBuilder sb = new StringBuilder(size * (size * 2 + 1));
 
-        long now = System.currentTimeMillis();
-        if (torchEffect && now > torchEndTime) {
+        if (expireTorch(System.currentTimeMillis())) {
             sb.append("횃불 효과가 꺼집니다.\n");
-            torchEffect = false;
-            viewRange = 1;
         }
 
         for (int i = 0; i < size; i++) {
             for (int j = 0; j < size; j++) {
-
-                boolean inView = Math.abs(i - playerX) <= viewRange &&
-                        Math.abs(j - playerY) <= viewRange;
-
-                boolean inViewAtEnemy = Math.abs(i - enemyX) <= viewRange && Math.abs(j - enemyY) <= viewRange;
-
-                if (!inView && !inViewAtEnemy) {
-                    sb.append(" ?");
-                    continue;
-                }
-
-                // 플레이어와 Enemy 위치 우선 표시
-                if (i == playerX && j == playerY) {
-                    sb.append(" P"); // 플레이어
-                } else if (enemyX >= 0 && enemyY >= 0 && i == enemyX && j == enemyY) {
-                    sb.append(" E"); // Enemy
-                } else if (map[i][j] == 4) {
-                    sb.append(" #"); // 벽
-                } else if (map[i][j] == 9) {
-                    sb.append(" G"); // 도착지점
-                } else if (map[i][j] == 6) {
-                    sb.append(" F"); // 횃불(Torch)
-                } else if (map[i][j] == 7) {
-                    sb.append(" H"); // 망치(Hammer)
-                } else if (map[i][j] == 8) {
-                    sb.append(" X"); // 함정(Trap)
-                } else {
-                    sb.append(" ."); // 길
-                }
+                sb.append(' ').append(viewSymbol(i, j, enemyX, enemyY));
             }
             sb.append("\n");
         }
         return sb.toString();
     }
 
+    /**
+     * 횃불 효과 시간이 지났으면 시야를 되돌립니다
+     * @return 이번 호출에서 효과가 꺼졌으면 true
+     */
+    public boolean expireTorch(long now) {
+        if (torchEffect && now > torchEndTime) {
+            torchEffect = false;
+            viewRange = 1;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 안개를 적용한 한 칸의 표시 문자 (플레이어/Enemy 시야 밖이면 '?')
+     */
+    public char viewSymbol(int i, int j, int enemyX, int enemyY) {
+        boolean inView = Math.abs(i - playerX) <= viewRange &&
+                Math.abs(j - playerY) <= viewRange;
+
+        boolean inViewAtEnemy = Math.abs(i - enemyX) <= viewRange && Math.abs(j - enemyY) <= viewRange;
+
+        if (!inView && !inViewAtEnemy) {
+            return '?';
+        }
+        return cellSymbol(i, j, enemyX, enemyY);
+    }
+
+    /**
+     * 안개 없이 한 칸의 표시 문자 (플레이어와 Enemy 위치 우선)
+     */
+    public char cellSymbol(int i, int j, int enemyX, int enemyY) {
+        if (i == playerX && j == playerY) {
+            return 'P'; // 플레이어
+        } else if (enemyX >= 0 && enemyY >= 0 && i == enemyX && j == enemyY) {
+            return 'E'; // Enemy
+        }
+        return codeSymbol(grid.get(i, j));
+    }
+
+    /**
+     * 셀 코드의 표시 문자 (플레이어/Enemy 제외)
+     */
+    public static char codeSymbol(int code) {
+        switch (code) {
+            case 4: return '#'; // 벽
+            case 9: return 'G'; // 도착지점
+            case 6: return 'F'; // 횃불(Torch)
+            case 7: return 'H'; // 망치(Hammer)
+            case 8: return 'X'; // 함정(Trap)
+            default: return '.'; // 길
+        }
+    }
+
     public MoveResult move(char c) {
         long now = System.currentTimeMillis();
 
@@ -230,10 +202,10 @@ public class Maze_two {
             return new MoveResult(false, false, "범위를 벗어남");
         }
 
-        if (map[nx][ny] == 4) {
+        if (grid.get(nx, ny) == 4) {
             if (hasHammer && !hammerUsed) {
                 hammerUsed = true;
-                map[nx][ny] = 3; // 벽을 길로 변환
+                grid.set(nx, ny, 3); // 벽을 길로 변환
                 playerX = nx;
                 playerY = ny;
                 return new MoveResult(true, false, "망치로 벽을 깼습니다!");
@@ -241,7 +213,7 @@ public class Maze_two {
             return new MoveResult(false, false, "벽입니다! 진입 불가");
         }
 
-        if (map[nx][ny] == 9) {
+        if (grid.get(nx, ny) == 9) {
             playerX = nx;
             playerY = ny;
             return new MoveResult(true, true, "도착입니다!");
@@ -251,21 +223,21 @@ public class Maze_two {
         playerY = ny;
 
         String msg = "이동했습니다.";
-        int cell = map[nx][ny];
+        int cell = grid.get(nx, ny);
         if (cell == 6) { // 횃불
             msg = "횃불 획득! 10초간 시야 확장";
             torchEffect = true;
             torchEndTime = System.currentTimeMillis() + 10_000;
             viewRange = 2; // 5x5
-            map[nx][ny] = 3;
+            grid.set(nx, ny, 3);
         } else if (cell == 7) { // 망치
             msg = "망치 획득! 벽을 한 번 부술 수 있습니다.";
             hasHammer = true;
-            map[nx][ny] = 3;
+            grid.set(nx, ny, 3);
         } else if (cell == 8) { // 함정
             msg = "함정 발동! 3초간 이동 불가";
             immobilizedUntil = System.currentTimeMillis() + 3_000;
-            map[nx][ny] = 3;
+            grid.set(nx, ny, 3);
         }
 
         return new MoveResult(true, false, msg);
@@ -282,8 +254,18 @@ public class Maze_two {
             this.message = message;
         }
     }
+    /**
+     * 현재 맵 (Enemy와 공유하므로 변경하면 게임에 바로 반영됨)
+     */
+    public MazeGrid getGrid() {
+        return grid;
+    }
+
+    /**
+     * 현재 맵의 int[][] 복사본 (로그 저장, 외부 검증용)
+     */
     public int[][] getMap() {
-        return map;
+        return grid.toArray();
     }
 
     public int getSize() {
@@ -297,4 +279,8 @@ public class Maze_two {
     public int getPlayerY() {
         return playerY;
     }
+
+    public int getViewRange() {
+        return viewRange;
+    }
 }
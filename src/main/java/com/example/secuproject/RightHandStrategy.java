@@ -0,0 +1,74 @@
+package com.example.secuproject;
+
+/**
+ * 오른손 법칙 전략 (기본)
+ * 아직 못 본 칸이 있으면 그쪽으로, 없으면 방문 횟수가 가장 적은 칸으로 가며,
+ * 후보가 여럿이면 오른쪽 → 앞 → 왼쪽 → 뒤 순서로 고릅니다. 갈 곳이 없으면 망치로 옆 벽을 깹니다.
+ */
+public class RightHandStrategy implements EnemyStrategy {
+    // 현재 방향 기준 회전량 (오른쪽, 앞, 왼쪽, 뒤)
+    private static final int[] RIGHT_HAND_TURNS = {1, 0, 3, 2};
+
+    @Override
+    public int decide(Enemy enemy) {
+        int x = enemy.getX();
+        int y = enemy.getY();
+        EnemyMemory memory = enemy.getMemory();
+
+        // 아직 못 본 이동 가능 방향 (방향 d가 있으면 d번째 비트)
+        int unexplored = 0;
+        for (int d = 0; d < 4; d++) {
+            int nx = x + Enemy.DX[d];
+            int ny = y + Enemy.DY[d];
+            if (enemy.isInBounds(nx, ny) && !memory.hasExplored(nx, ny) && enemy.canMove(nx, ny)) {
+                unexplored |= 1 << d;
+            }
+        }
+        if (unexplored != 0) {
+            return select(enemy.getDir(), unexplored);
+        }
+
+        // 이동 가능한 방향 중 방문 횟수가 가장 적은 방향들
+        int minVisits = Integer.MAX_VALUE;
+        int minVisitDirs = 0;
+        for (int d = 0; d < 4; d++) {
+            int nx = x + Enemy.DX[d];
+            int ny = y + Enemy.DY[d];
+            if (enemy.canMove(nx, ny)) {
+                int visits = memory.getVisitCount(nx, ny);
+                if (visits < minVisits) {
+                    minVisits = visits;
+                    minVisitDirs = 1 << d;
+                } else if (visits == minVisits) {
+                    minVisitDirs |= 1 << d;
+                }
+            }
+        }
+
+        if (minVisitDirs == 0) {
+            if (enemy.hasHammer()) {
+                for (int d = 0; d < 4; d++) {
+                    if (enemy.isWall(x + Enemy.DX[d], y + Enemy.DY[d])) {
+                        return d;
+                    }
+                }
+            }
+            return -1;
+        }
+
+        return select(enemy.getDir(), minVisitDirs);
+    }
+
+    /**
+     * 오른쪽 → 앞 → 왼쪽 → 뒤 순서로 directions(방향 비트)에 있는 첫 방향
+     */
+    static int select(int dir, int directions) {
+        for (int turn : RIGHT_HAND_TURNS) {
+            int p = (dir + turn) % 4;
+            if ((directions & (1 << p)) != 0) {
+                return p;
+            }
+        }
+        return -1;
+    }
+}
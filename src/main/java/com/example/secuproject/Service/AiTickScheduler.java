@@ -0,0 +1,116 @@
+package com.example.secuproject.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 서버 측 AI 틱 스케줄러
+ * 브라우저가 /game/ai-move를 호출하지 않아도 하나의 스케줄러가 모든 진행 중인 게임의 Enemy를
+ * 일정 간격으로 움직입니다. 게임들은 batch 단위로 나뉘어 코어 수만큼의 워커에서 병렬로 처리됩니다.
+ * 같은 틱에서 입력이 끊긴 게임의 저널도 커밋 주기가 지났으면 디스크로 내보냅니다.
+ */
+@Component
+public class AiTickScheduler {
+    private final GameSessionRegistry sessions;
+    private final MazeService mazeService;
+    private final long tickMillis;
+    private final int batchSize;
+
+    private ScheduledExecutorService ticker;
+    private ExecutorService workers;
+
+    public AiTickScheduler(GameSessionRegistry sessions, MazeService mazeService,
+                           @Value("${game.ai.tick-millis:500}") long tickMillis,
+                           @Value("${game.ai.batch-size:256}") int batchSize) {
+        this.sessions = sessions;
+        this.mazeService = mazeService;
+        this.tickMillis = Math.max(10, tickMillis);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @PostConstruct
+    public void start() {
+        ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "ai-tick");
+            t.setDaemon(true);
+            return t;
+        });
+        workers = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), r -> {
+            Thread t = new Thread(r, "ai-tick-worker");
+            t.setDaemon(true);
+            return t;
+        });
+        ticker.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+        if (workers != null) {
+            workers.shutdownNow();
+        }
+    }
+
+    /**
+     * 한 틱: AI가 움직여야 하거나 저장 전 로그가 있는 게임들을 batch로 나눠 병렬로 처리
+     */
+    void tick() {
+        try {
+            List<GameSession> batch = new ArrayList<>(batchSize);
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (GameSession session : sessions.sessions()) {
+                if (!session.needsAiTick() && !session.hasUnsavedLog()) {
+                    continue;
+                }
+                batch.add(session);
+                if (batch.size() == batchSize) {
+                    tasks.add(batchTask(batch));
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                tasks.add(batchTask(batch));
+            }
+            if (tasks.size() == 1) {
+                tasks.get(0).call();
+            } else if (!tasks.isEmpty()) {
+                workers.invokeAll(tasks);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // 한 틱의 실패가 스케줄러 전체를 멈추지 않도록 기록만 합니다
+            System.err.println("✗ AI 틱 처리 실패: " + e.getMessage());
+        }
+    }
+
+    private Callable<Void> batchTask(List<GameSession> batch) {
+        return () -> {
+            for (GameSession session : batch) {
+                // invokeAll은 작업의 예외를 버리므로 여기서 기록하고, 한 게임의 실패가 같은 batch의 다른 게임을 막지 않게 함
+                try {
+                    mazeService.tickAi(session);
+                } catch (RuntimeException e) {
+                    System.err.println("✗ AI 틱 처리 실패 (" + session.getId() + "): " + e.getMessage());
+                }
+            }
+            return null;
+        };
+    }
+
+    public long getTickMillis() {
+        return tickMillis;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.secuproject.Service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * 푸시 채널로 보내는 게임 상태 변경분
+ * 키를 짧게 유지해 한 번의 이동이 수십 바이트로 전달되도록 합니다.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class GameDelta {
+    public long v;          // 상태 버전
+    public int[] p;         // 플레이어 [x, y]
+    public int[] e;         // AI [x, y]
+    public int[] c;         // 바뀐 칸 [x, y, 표시 문자 코드] 반복
+    public String[] rows;   // 전체 화면 (state 이벤트에서만, 행마다 한 칸 한 문자)
+    public boolean pa;      // 플레이어 도착
+    public boolean ea;      // AI 도착
+    public boolean gf;      // 게임 종료
+    public String msg;      // 알림 메시지 (횃불 종료 등)
+}
@@ -0,0 +1,95 @@
+package com.example.secuproject.Service;
+
+import com.example.secuproject.Enemy;
+import com.example.secuproject.Maze_two;
+import com.example.secuproject.log.GameLogger;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 세션(브라우저) 하나가 진행 중인 게임 상태
+ * MazeService는 이 객체 단위로 동기화하므로 서로 다른 세션의 게임은 병렬로 진행됩니다.
+ */
+public class GameSession {
+    private final String id;
+    private final GameLogger gameLogger;
+    private volatile long lastAccessTime;
+
+    Maze_two maze;
+    Enemy enemy;
+    boolean gameStarted = false;
+    boolean gameFinished = false;
+    boolean playerArrived = false;
+    boolean enemyArrived = false;
+    boolean logSaved = false;
+    // 생성 미로로 시작한 게임의 크기 (0이면 파일 미로, 리셋 시 같은 방식으로 다시 시작)
+    int mazeSize = 0;
+    volatile String lastSavedLogFile;
+    // 백그라운드 저장 중인 로그 (저장이 끝나면 lastSavedLogFile이 채워짐)
+    volatile CompletableFuture<String> pendingLog;
+    // 화면에 보이는 상태가 바뀔 때마다 증가 (클라이언트는 변화가 있을 때만 전체 상태를 받음)
+    volatile long version = 0;
+    // 푸시 구독자가 마지막으로 받은 화면
+    final ViewTracker view = new ViewTracker();
+
+    public GameSession(String id) {
+        this(id, new GameLogger());
+    }
+
+    public GameSession(String id, GameLogger gameLogger) {
+        this.id = id;
+        this.gameLogger = gameLogger;
+        this.lastAccessTime = System.currentTimeMillis();
+    }
+
+    /**
+     * 마지막 접근 시간 갱신 (유휴 세션 정리 기준)
+     */
+    public void touch() {
+        lastAccessTime = System.currentTimeMillis();
+    }
+
+    /**
+     * AI 틱 대상인지 (게임 진행 중이고 Enemy가 아직 도착하지 않음)
+     * 잠금 없이 읽는 힌트이므로 실제 이동 전에는 MazeService가 잠금 안에서 다시 확인합니다.
+     */
+    boolean needsAiTick() {
+        return gameStarted && !gameFinished && !enemyArrived && enemy != null;
+    }
+
+    /**
+     * 아직 저장하지 않은 게임 로그가 있는지 (저널에 커밋 안 된 이벤트가 남아 있을 수 있음)
+     * needsAiTick()과 같이 잠금 없이 읽는 힌트입니다.
+     */
+    boolean hasUnsavedLog() {
+        return gameStarted && !logSaved;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public long getLastAccessTime() {
+        return lastAccessTime;
+    }
+
+    public GameLogger getGameLogger() {
+        return gameLogger;
+    }
+
+    public boolean isGameStarted() {
+        return gameStarted;
+    }
+
+    public boolean isGameFinished() {
+        return gameFinished;
+    }
+
+    public String getLastSavedLogFile() {
+        return lastSavedLogFile;
+    }
+}
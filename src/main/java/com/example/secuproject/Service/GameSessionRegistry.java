@@ -0,0 +1,123 @@
+package com.example.secuproject.Service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 세션 ID → 게임 상태 레지스트리
+ * 유휴 시간이 지난 게임은 주기적으로 정리하고, 최대 세션 수를 넘으면 가장 오래 쓰지 않은 게임을 내보냅니다.
+ */
+@Component
+public class GameSessionRegistry {
+    private final Map<String, GameSession> sessions = new ConcurrentHashMap<>();
+    private final int maxSessions;
+    private final long idleTimeoutMillis;
+    private volatile Consumer<GameSession> evictionListener = s -> {};
+    private volatile Function<String, GameSession> sessionFactory = GameSession::new;
+
+    public GameSessionRegistry(@Value("${game.session.max-sessions:10000}") int maxSessions,
+                               @Value("${game.session.idle-timeout-minutes:30}") long idleTimeoutMinutes) {
+        this.maxSessions = Math.max(1, maxSessions);
+        this.idleTimeoutMillis = idleTimeoutMinutes * 60_000L;
+    }
+
+    /**
+     * 세션의 게임을 조회합니다 (없으면 null)
+     */
+    public GameSession get(String sessionId) {
+        if (sessionId == null) {
+            return null;
+        }
+        GameSession session = sessions.get(sessionId);
+        if (session != null) {
+            session.touch();
+        }
+        return session;
+    }
+
+    /**
+     * 세션의 게임을 조회하고, 없으면 새로 만듭니다
+     */
+    public GameSession getOrCreate(String sessionId) {
+        GameSession session = sessions.get(sessionId);
+        if (session == null) {
+            if (sessions.size() >= maxSessions) {
+                evictLeastRecentlyUsed();
+            }
+            session = sessions.computeIfAbsent(sessionId, sessionFactory);
+        }
+        session.touch();
+        return session;
+    }
+
+    /**
+     * 세션의 게임을 제거합니다
+     */
+    public void remove(String sessionId) {
+        GameSession removed = sessions.remove(sessionId);
+        if (removed != null) {
+            evictionListener.accept(removed);
+        }
+    }
+
+    /**
+     * 유휴 시간이 지난 게임 정리
+     */
+    @Scheduled(fixedDelayString = "${game.session.sweep-interval-millis:60000}")
+    public void evictIdleSessions() {
+        long deadline = System.currentTimeMillis() - idleTimeoutMillis;
+        for (GameSession session : sessions.values()) {
+            if (session.getLastAccessTime() < deadline && sessions.remove(session.getId(), session)) {
+                evictionListener.accept(session);
+            }
+        }
+    }
+
+    private void evictLeastRecentlyUsed() {
+        GameSession oldest = null;
+        for (GameSession session : sessions.values()) {
+            if (oldest == null || session.getLastAccessTime() < oldest.getLastAccessTime()) {
+                oldest = session;
+            }
+        }
+        if (oldest != null && sessions.remove(oldest.getId(), oldest)) {
+            evictionListener.accept(oldest);
+        }
+    }
+
+    /**
+     * 게임이 제거될 때 호출될 콜백 (미저장 로그 저장 등)
+     */
+    public void setEvictionListener(Consumer<GameSession> listener) {
+        this.evictionListener = listener == null ? s -> {} : listener;
+    }
+
+    /**
+     * 새 세션의 게임을 만드는 방법 (로거 설정 등)
+     */
+    public void setSessionFactory(Function<String, GameSession> factory) {
+        this.sessionFactory = factory == null ? GameSession::new : factory;
+    }
+
+    /**
+     * 현재 활성 게임들 (약한 일관성 뷰)
+     */
+    public Collection<GameSession> sessions() {
+        return sessions.values();
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    public int getMaxSessions() {
+        return maxSessions;
+    }
+}
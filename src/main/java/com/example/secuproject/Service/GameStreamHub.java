@@ -0,0 +1,97 @@
+package com.example.secuproject.Service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 세션별 SSE(Server-Sent Events) 구독자 관리
+ * MazeService가 만든 상태 변경분을 해당 세션의 열린 탭들로 보냅니다.
+ */
+@Component
+public class GameStreamHub {
+    private final Map<String, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
+    private final long timeoutMillis;
+
+    public GameStreamHub(@Value("${game.stream.timeout-millis:1800000}") long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * 새 구독자 생성 (아직 등록하지 않음 - 첫 화면을 보낸 뒤 register 호출)
+     */
+    SseEmitter create() {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    /**
+     * 구독자 등록 (연결이 끝나면 자동 제거)
+     */
+    void register(String sessionId, SseEmitter emitter) {
+        List<SseEmitter> list = emitters.computeIfAbsent(sessionId, k -> new CopyOnWriteArrayList<>());
+        list.add(emitter);
+        Runnable cleanup = () -> remove(sessionId, emitter);
+        emitter.onCompletion(cleanup);
+        emitter.onTimeout(cleanup);
+        emitter.onError(e -> cleanup.run());
+    }
+
+    public boolean hasSubscribers(String sessionId) {
+        List<SseEmitter> list = emitters.get(sessionId);
+        return list != null && !list.isEmpty();
+    }
+
+    /**
+     * 세션의 모든 구독자에게 이벤트 전송 (끊어진 구독자는 제거)
+     */
+    void publish(String sessionId, String eventName, Object data) {
+        List<SseEmitter> list = emitters.get(sessionId);
+        if (list == null) {
+            return;
+        }
+        for (SseEmitter emitter : list) {
+            if (!send(emitter, eventName, data)) {
+                remove(sessionId, emitter);
+            }
+        }
+    }
+
+    /**
+     * 구독자 하나에게 이벤트 전송
+     * @return 전송 성공 여부
+     */
+    boolean send(SseEmitter emitter, String eventName, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(eventName).data(data));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    /**
+     * 세션의 모든 구독 종료
+     */
+    void close(String sessionId) {
+        List<SseEmitter> list = emitters.remove(sessionId);
+        if (list != null) {
+            for (SseEmitter emitter : list) {
+                emitter.complete();
+            }
+        }
+    }
+
+    private void remove(String sessionId, SseEmitter emitter) {
+        emitters.computeIfPresent(sessionId, (k, list) -> {
+            list.remove(emitter);
+            return list.isEmpty() ? null : list;
+        });
+    }
+}
@@ -0,0 +1,213 @@
+package com.example.secuproject.Service;
+
+import com.example.secuproject.model.MazeGrid;
+import com.example.secuproject.util.MazeGenerator;
+import com.example.secuproject.util.MazeValidator;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 미리 생성해 둔 미로 풀
+ * 크기별 버킷마다 생성 + 검증까지 끝난 미로를 쌓아 두고, 게임 시작 시 바로 꺼내 씁니다.
+ * 꺼낸 만큼은 백그라운드 워커가 다시 채우며, 버킷이 비었거나 버킷이 없는 크기는 요청 스레드에서 직접 생성합니다.
+ */
+@Component
+public class MazePool {
+    // 검증에 실패한 미로는 다시 생성 (연속 실패 한도)
+    private static final int MAX_GENERATE_ATTEMPTS = 5;
+
+    private final Map<Integer, Bucket> buckets = new TreeMap<>();
+    // 워커 스레드마다 생성기/검증기 하나씩
+    private final ThreadLocal<MazeGenerator> generator = ThreadLocal.withInitial(MazeGenerator::new);
+    private final ThreadLocal<MazeValidator> validator = ThreadLocal.withInitial(MazeValidator::new);
+    private final int workerCount;
+    private final long startedAt = System.currentTimeMillis();
+
+    private ExecutorService workers;
+    private volatile boolean closed;
+
+    public MazePool(@Value("${game.maze.pool.sizes:10,21,51}") int[] sizes,
+                    @Value("${game.maze.pool.depth:8}") int depth,
+                    @Value("${game.maze.pool.workers:2}") int workerCount) {
+        for (int size : sizes) {
+            if (size >= 5) {
+                buckets.put(size, new Bucket(size, Math.max(1, depth)));
+            }
+        }
+        this.workerCount = Math.max(1, workerCount);
+    }
+
+    @PostConstruct
+    public void start() {
+        workers = Executors.newFixedThreadPool(workerCount, r -> {
+            Thread t = new Thread(r, "maze-pool-refill");
+            t.setDaemon(true);
+            t.setPriority(Thread.MIN_PRIORITY);
+            return t;
+        });
+        for (Bucket bucket : buckets.values()) {
+            refill(bucket);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        closed = true;
+        if (workers != null) {
+            workers.shutdownNow();
+            try {
+                workers.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * size × size 미로 하나 (풀에 있으면 바로 꺼내고, 없으면 직접 생성)
+     * @return 검증된 미로 (생성에 계속 실패하면 null)
+     */
+    public MazeGrid take(int size) {
+        Bucket bucket = buckets.get(size);
+        if (bucket == null) {
+            return generate(size, generator.get(), validator.get(), null);
+        }
+        MazeGrid grid = bucket.ready.poll();
+        if (grid != null) {
+            bucket.hits.incrementAndGet();
+        } else {
+            bucket.misses.incrementAndGet();
+            grid = generate(size, generator.get(), validator.get(), bucket);
+        }
+        refill(bucket);
+        return grid;
+    }
+
+    /**
+     * 풀에서 미리 준비하는 크기인지
+     */
+    public boolean isPooled(int size) {
+        return buckets.containsKey(size);
+    }
+
+    /**
+     * 버킷의 빈자리만큼 백그라운드 생성 작업을 넣습니다 (이미 생성 중인 수는 제외)
+     */
+    private void refill(Bucket bucket) {
+        if (closed || workers == null) {
+            return;
+        }
+        while (true) {
+            int inFlight = bucket.inFlight.get();
+            if (bucket.ready.size() + inFlight >= bucket.target) {
+                return;
+            }
+            if (!bucket.inFlight.compareAndSet(inFlight, inFlight + 1)) {
+                continue;
+            }
+            try {
+                workers.execute(() -> refillOne(bucket));
+            } catch (RejectedExecutionException e) {
+                bucket.inFlight.decrementAndGet();
+                return;
+            }
+        }
+    }
+
+    private void refillOne(Bucket bucket) {
+        try {
+            MazeGrid grid = generate(bucket.size, generator.get(), validator.get(), bucket);
+            if (grid != null) {
+                bucket.generated.incrementAndGet();
+                if (!closed) {
+                    bucket.ready.offer(grid);
+                }
+            }
+        } catch (RuntimeException e) {
+            System.err.println("✗ 미로 풀 생성 실패 (" + bucket.size + "): " + e.getMessage());
+        } finally {
+            bucket.inFlight.decrementAndGet();
+        }
+    }
+
+    private MazeGrid generate(int size, MazeGenerator generator, MazeValidator validator, Bucket bucket) {
+        for (int attempt = 0; attempt < MAX_GENERATE_ATTEMPTS; attempt++) {
+            long start = System.nanoTime();
+            MazeGrid grid = generator.generateGrid(size);
+            MazeValidator.ValidationResult result = validator.validate(grid);
+            if (bucket != null) {
+                bucket.attempts.incrementAndGet();
+                bucket.generateNanos.addAndGet(System.nanoTime() - start);
+            }
+            if (result.valid) {
+                return grid;
+            }
+            if (bucket != null) {
+                bucket.rejected.incrementAndGet();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 풀 지표 (버킷별 깊이, 적중/부족 횟수, 보충 속도)
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        double uptimeSeconds = Math.max(1, System.currentTimeMillis() - startedAt) / 1000.0;
+        stats.put("workers", workerCount);
+        Map<String, Object> perSize = new LinkedHashMap<>();
+        for (Bucket bucket : buckets.values()) {
+            Map<String, Object> b = new LinkedHashMap<>();
+            long hits = bucket.hits.get();
+            long misses = bucket.misses.get();
+            long generated = bucket.generated.get();
+            long attempts = bucket.attempts.get();
+            b.put("depth", bucket.ready.size());
+            b.put("target", bucket.target);
+            b.put("inFlight", bucket.inFlight.get());
+            b.put("hits", hits);
+            b.put("misses", misses);
+            b.put("hitRate", hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+            b.put("generated", generated);
+            b.put("rejected", bucket.rejected.get());
+            b.put("refillPerSecond", generated / uptimeSeconds);
+            b.put("avgGenerateMillis", attempts == 0 ? 0.0 : bucket.generateNanos.get() / 1e6 / attempts);
+            perSize.put(String.valueOf(bucket.size), b);
+        }
+        stats.put("buckets", perSize);
+        return stats;
+    }
+
+    private static final class Bucket {
+        final int size;
+        final int target;
+        final ArrayBlockingQueue<MazeGrid> ready;
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicLong hits = new AtomicLong();
+        final AtomicLong misses = new AtomicLong();
+        final AtomicLong generated = new AtomicLong();
+        final AtomicLong rejected = new AtomicLong();
+        final AtomicLong attempts = new AtomicLong();
+        final AtomicLong generateNanos = new AtomicLong();
+
+        Bucket(int size, int target) {
+            this.size = size;
+            this.target = target;
+            this.ready = new ArrayBlockingQueue<>(target);
+        }
+    }
+}
@@ -2,60 +2,146 @@ package com.example.secuproject.Service;
 
 import com.example.secuproject.Maze_two;
 import com.example.secuproject.Enemy;
+import com.example.secuproject.EnemyStrategy;
+import com.example.secuproject.log.AsyncLogWriter;
 import com.example.secuproject.log.GameLogger;
-import com.example.secuproject.log.GameLog;
+import com.example.secuproject.log.LogCatalog;
+import com.example.secuproject.model.MazeGrid;
+import com.example.secuproject.replay.ReplayCache;
 import com.example.secuproject.replay.ReplayFrame;
-import com.example.secuproject.replay.ReplayGenerator;
+import com.example.secuproject.replay.ReplayIndex;
 import com.example.secuproject.util.MazeGenerator;
 import com.example.secuproject.util.MazeValidator;
+import com.example.secuproject.util.ValidationCache;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.security.SecureRandom;
 import java.io.IOException;
-import java.io.File;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Service
 public class MazeService {
-    private Maze_two maze;
-    private Enemy enemy;
-    private boolean gameStarted = false;
-    private boolean gameFinished = false;
-    private boolean playerArrived = false;
-    private boolean enemyArrived = false;
-    private boolean logSaved = false;
+    private final GameSessionRegistry sessions;
+    private final GameStreamHub streams;
+    private final MazePool mazePool;
     private MazeGenerator generator;
-    private MazeValidator validator;
+    private final ValidationCache validations;
     private final SecureRandom random = new SecureRandom();
-    private GameLogger gameLogger;
-    private String lastSavedLogFile;
+    private final GameLogger logReader;
+    private final AsyncLogWriter logWriter;
+    private final LogCatalog logCatalog;
+    private final ReplayCache replayCache;
+    private final long logWaitMillis;
+    private final int enemyPathWindow;
+    private final String enemyStrategy;
 
-    public MazeService() {
+    // 생성 미로 크기 한도 (요청 스레드에서 직접 생성할 수도 있으므로)
+    public static final int MIN_GENERATED_SIZE = 7;
+    public static final int MAX_GENERATED_SIZE = 301;
+
+    public MazeService(GameSessionRegistry sessions, GameStreamHub streams, MazePool mazePool,
+                       @Value("${game.log.journal.enabled:true}") boolean journaling,
+                       @Value("${game.log.journal.commit-events:64}") int commitEvents,
+                       @Value("${game.log.journal.commit-millis:1000}") long commitMillis,
+                       @Value("${game.log.writer.queue-capacity:1024}") int writerCapacity,
+                       @Value("${game.log.writer.wait-millis:5000}") long logWaitMillis,
+                       @Value("${game.log.catalog.watch:true}") boolean watchLogDir,
+                       @Value("${game.replay.cache.max-entries:64}") int replayCacheEntries,
+                       @Value("${game.replay.cache.max-megabytes:64}") long replayCacheMegabytes,
+                       @Value("${game.maze.validation-cache.max-entries:256}") int validationCacheEntries,
+                       @Value("${game.ai.memory.path-window:1024}") int enemyPathWindow,
+                       @Value("${game.ai.strategy:right-hand}") String enemyStrategy) {
+        this.sessions = sessions;
+        this.streams = streams;
+        this.mazePool = mazePool;
         this.generator = new MazeGenerator();
-        this.validator = new MazeValidator();
-        this.gameLogger = new GameLogger();
+        this.validations = new ValidationCache(validationCacheEntries);
+        this.logReader = new GameLogger();
+        this.replayCache = new ReplayCache(replayCacheEntries, replayCacheMegabytes * 1024 * 1024, logReader::loadLog);
+        this.logWriter = new AsyncLogWriter(writerCapacity);
+        this.logWaitMillis = logWaitMillis;
+        this.enemyPathWindow = enemyPathWindow;
+        // 잘못된 전략 이름은 게임 시작 때가 아니라 기동할 때 바로 실패
+        EnemyStrategy.create(enemyStrategy);
+        this.enemyStrategy = enemyStrategy;
+        // 이전 실행에서 끝나지 못한 게임의 저널을 로그 파일로 복구
+        if (journaling) {
+            GameLogger.recoverJournals();
+        }
+        // 복구까지 끝난 뒤 로그 목록 인덱스를 디렉토리와 맞춤
+        this.logCatalog = new LogCatalog("game_logs");
+        logCatalog.open(watchLogDir);
+        sessions.setSessionFactory(id -> {
+            GameLogger logger = new GameLogger(journaling, commitEvents, commitMillis);
+            logger.setSaveListener(logCatalog::add);
+            return new GameSession(id, logger);
+        });
+        // 정리되는 게임에 저장되지 않은 로그가 있으면 저장하고 푸시 구독 종료
+        sessions.setEvictionListener(session -> {
+            saveIfUnsaved(session);
+            streams.close(session.getId());
+        });
     }
 
     /**
      * 게임 시작 - txt 파일에서 미로 읽기
      */
-    public void startGame() {
-        startGame("maze.txt"); // 기본 파일명
+    public void startGame(String sessionId) {
+        startGame(sessionId, "maze.txt"); // 기본 파일명
     }
     
     /**
      * 게임 시작 - 지정된 파일에서 미로 읽기
      */
-    public void startGame(String filePath) {
+    public void startGame(String sessionId, String filePath) {
+        GameSession session = sessions.getOrCreate(sessionId);
+        synchronized (session) {
+            session.mazeSize = 0;
+            startGame(session, loadMaze(filePath));
+        }
+    }
+
+    /**
+     * 게임 시작 - size × size 생성 미로 (미로 풀에서 꺼냄)
+     */
+    public void startGame(String sessionId, int size) {
+        int clamped = Math.max(MIN_GENERATED_SIZE, Math.min(MAX_GENERATED_SIZE, size));
+        GameSession session = sessions.getOrCreate(sessionId);
+        // 풀에서 꺼내는 동안(부족하면 직접 생성) 세션 잠금을 잡지 않음
+        Maze_two maze = takePooledMaze(clamped);
+        synchronized (session) {
+            session.mazeSize = clamped;
+            startGame(session, maze);
+        }
+    }
+
+    private Maze_two takePooledMaze(int size) {
+        MazeGrid grid = mazePool.take(size);
+        if (grid == null) {
+            System.out.println("미로 생성 실패: " + size + " (파일 미로 사용)");
+            return loadMaze("maze.txt");
+        }
+        return new Maze_two(grid);
+    }
+
+    private Maze_two loadMaze(String filePath) {
+        Maze_two maze;
         try {
             // 파일에서 미로 읽기
             maze = Maze_two.fromFile(filePath);
             
-            // 미로 검증
-            MazeValidator.ValidationResult result = validator.validate(maze.getMap());
+            // 미로 검증 (같은 파일 내용이면 캐시된 결과)
+            MazeValidator.ValidationResult result = validations.validate(maze.getGrid());
             if (!result.valid) {
                 System.out.println("미로 검증 실패: " + result.message);
                 // 검증 실패 시 기본 미로 사용
@@ -66,40 +152,48 @@ public class MazeService {
             // 파일 읽기 실패 시 기본 미로 사용
             maze = new Maze_two();
         }
+        return maze;
+    }
 
+    private void startGame(GameSession session, Maze_two maze) {
         // 외부 맵에 아이템/함정이 없을 때 기본 배치 (스프링 플레이용)
-        ensureObjectIfMissing(maze.getMap(), 6, 1); // 횃불
-        ensureObjectIfMissing(maze.getMap(), 7, 1); // 망치
-        ensureObjectIfMissing(maze.getMap(), 8, 1); // 함정
+        ensureObjectIfMissing(maze.getGrid(), 6, 1); // 횃불
+        ensureObjectIfMissing(maze.getGrid(), 7, 1); // 망치
+        ensureObjectIfMissing(maze.getGrid(), 8, 1); // 함정
         
         // Enemy는 플레이어와 다른 스타트 지점에서 시작
-        int enemyStartX = findEnemyStartX();
-        int enemyStartY = findEnemyStartY();
-        enemy = new Enemy(maze, enemyStartX, enemyStartY, maze.getMap());
-        gameStarted = true;
-        gameFinished = false;
-        playerArrived = false;
-        enemyArrived = false;
-        logSaved = false;
+        int enemyStartX = findEnemyStartX(maze);
+        int enemyStartY = findEnemyStartY(maze);
+        session.maze = maze;
+        session.enemy = new Enemy(maze, enemyStartX, enemyStartY, enemyPathWindow,
+            EnemyStrategy.create(enemyStrategy));
+        session.gameStarted = true;
+        session.gameFinished = false;
+        session.playerArrived = false;
+        session.enemyArrived = false;
+        session.logSaved = false;
+        session.version++;
 
         // 게임 로그 시작
-        gameLogger.startNewGame(maze.getSize(), maze.getMap(),
+        session.getGameLogger().startNewGame(maze.getSize(), maze.getGrid(),
             maze.getPlayerX(), maze.getPlayerY(), enemyStartX, enemyStartY);
+
+        publishState(session);
     }
 
     /**
      * Enemy를 위한 시작 위치 찾기 (플레이어와 다른 이동 가능한 위치)
      */
-    private int findEnemyStartX() {
+    private int findEnemyStartX(Maze_two maze) {
         int playerX = maze.getPlayerX();
         int playerY = maze.getPlayerY();
-        int[][] map = maze.getMap();
+        MazeGrid map = maze.getGrid();
         int size = maze.getSize();
         
         // 플레이어와 다른 스타트 지점 찾기
         for (int i = 0; i < size; i++) {
             for (int j = 0; j < size; j++) {
-                if (map[i][j] == 0 && (i != playerX || j != playerY)) {
+                if (map.get(i, j) == 0 && (i != playerX || j != playerY)) {
                     return i;
                 }
             }
@@ -108,7 +202,7 @@ public class MazeService {
         // 스타트 지점이 하나면 플레이어 근처의 이동 가능한 위치 찾기
         for (int i = 0; i < size; i++) {
             for (int j = 0; j < size; j++) {
-                if (map[i][j] != 4 && map[i][j] != 9 && (i != playerX || j != playerY)) {
+                if (map.get(i, j) != 4 && map.get(i, j) != 9 && (i != playerX || j != playerY)) {
                     return i;
                 }
             }
@@ -118,16 +212,16 @@ public class MazeService {
         return Math.min(playerX + 1, size - 1);
     }
 
-    private int findEnemyStartY() {
+    private int findEnemyStartY(Maze_two maze) {
         int playerX = maze.getPlayerX();
         int playerY = maze.getPlayerY();
-        int[][] map = maze.getMap();
+        MazeGrid map = maze.getGrid();
         int size = maze.getSize();
         
         // 플레이어와 다른 스타트 지점 찾기
         for (int i = 0; i < size; i++) {
             for (int j = 0; j < size; j++) {
-                if (map[i][j] == 0 && (i != playerX || j != playerY)) {
+                if (map.get(i, j) == 0 && (i != playerX || j != playerY)) {
                     return j;
                 }
             }
@@ -136,7 +230,7 @@ public class MazeService {
         // 스타트 지점이 하나면 플레이어 근처의 이동 가능한 위치 찾기
         for (int i = 0; i < size; i++) {
             for (int j = 0; j < size; j++) {
-                if (map[i][j] != 4 && map[i][j] != 9 && (i != playerX || j != playerY)) {
+                if (map.get(i, j) != 4 && map.get(i, j) != 9 && (i != playerX || j != playerY)) {
                     return j;
                 }
             }
@@ -149,12 +243,13 @@ public class MazeService {
     /**
      * 미로 화면 보기 (Enemy 위치 포함)
      */
-    public String getView() {
+    private String getView(GameSession session) {
+        Maze_two maze = session.maze;
         if (maze == null) {
             return "게임을 시작해주세요.";
         }
-        if (enemy != null) {
-            return maze.showMaze(enemy.getX(), enemy.getY());
+        if (session.enemy != null) {
+            return maze.showMaze(session.enemy.getX(), session.enemy.getY());
         }
         return maze.showMaze();
     }
@@ -162,19 +257,32 @@ public class MazeService {
     /**
      * 플레이어 이동 (w/a/s/d)
      */
-    public Maze_two.MoveResult move(char dir) {
+    public Maze_two.MoveResult move(String sessionId, char dir) {
+        GameSession session = sessions.get(sessionId);
+        if (session == null) {
+            return new Maze_two.MoveResult(false, false, "게임을 시작해주세요.");
+        }
+        synchronized (session) {
+            return move(session, dir);
+        }
+    }
+
+    private Maze_two.MoveResult move(GameSession session, char dir) {
+        Maze_two maze = session.maze;
+        Enemy enemy = session.enemy;
         if (maze == null) {
             return new Maze_two.MoveResult(false, false, "게임을 시작해주세요.");
         }
         
-        if (playerArrived) {
+        if (session.playerArrived) {
             return new Maze_two.MoveResult(false, false, "플레이어는 이미 도착했습니다. AI의 도착을 기다려주세요.");
         }
         
         Maze_two.MoveResult result = maze.move(dir);
+        session.version++;
         
         // 이동 로그 기록
-        gameLogger.logEvent(
+        session.getGameLogger().logEvent(
             "MOVE",
             dir,
             maze.getPlayerX(),
@@ -186,33 +294,42 @@ public class MazeService {
         );
         
         // 도착했는지 확인
-        if (result.arrived && !playerArrived) {
-            playerArrived = true;
+        if (result.arrived && !session.playerArrived) {
+            session.playerArrived = true;
             // 한 명만 도착: 게임 계속 (gameFinished는 false 유지)
             // 두 명 다 도착하면 gameFinished = true
-            if (playerArrived && enemyArrived) {
-                gameFinished = true;
-                logSaved = true;
-                String logFile = gameLogger.finishAndSave(playerArrived, enemyArrived);
-                if (logFile != null) {
-                    lastSavedLogFile = logFile;
-                    System.out.println("게임 완료 - 로그 저장됨: " + logFile);
-                }
+            if (session.playerArrived && session.enemyArrived) {
+                finishGame(session);
             }
         }
-        
+
+        publishDelta(session);
         return result;
     }
 
     /**
-     * AI(Enemy) 이동 - 오른손 법칙으로 자동 이동
+     * AI(Enemy) 이동 - 설정한 전략(game.ai.strategy)으로 자동 이동
+     * 평소에는 AiTickScheduler가 호출하며, 이 메서드는 수동 진행(테스트)용입니다.
      */
-    public void aiMove() {
-        if (enemy != null && !gameFinished) {
+    public void aiMove(String sessionId) {
+        GameSession session = sessions.get(sessionId);
+        if (session == null) {
+            return;
+        }
+        synchronized (session) {
+            aiMove(session);
+        }
+    }
+
+    private void aiMove(GameSession session) {
+        Maze_two maze = session.maze;
+        Enemy enemy = session.enemy;
+        if (enemy != null && !session.gameFinished) {
             enemy.step();
+            session.version++;
             
             // Enemy 이동 로그 기록
-            gameLogger.logEvent(
+            session.getGameLogger().logEvent(
                 "AI_MOVE",
                 ' ',
                 maze.getPlayerX(),
@@ -224,70 +341,273 @@ public class MazeService {
             );
             
             // Enemy가 도착지점에 도달했는지 확인
-            int[][] map = maze.getMap();
+            MazeGrid map = maze.getGrid();
             int ex = enemy.getX();
             int ey = enemy.getY();
-            if (ex >= 0 && ex < map.length && ey >= 0 && ey < map[0].length) {
-                if (map[ex][ey] == 9 && !enemyArrived) {
-                    enemyArrived = true;
-                    if (playerArrived && enemyArrived) {
-                        gameFinished = true;
-                        logSaved = true;
-                        String logFile = gameLogger.finishAndSave(playerArrived, enemyArrived);
-                        if (logFile != null) {
-                            lastSavedLogFile = logFile;
-                            System.out.println("게임 완료 - 로그 저장됨: " + logFile);
-                        }
+            if (map.isValidPosition(ex, ey)) {
+                if (map.get(ex, ey) == 9 && !session.enemyArrived) {
+                    session.enemyArrived = true;
+                    if (session.playerArrived && session.enemyArrived) {
+                        finishGame(session);
                     }
                 }
             }
+
+            publishDelta(session);
         }
     }
 
     /**
-     * 게임 리셋 - 기존 로그 저장 후 새 게임 시작
+     * 서버 AI 틱에서 호출: 진행 중인 게임이면 Enemy를 한 걸음 움직이고, 커밋 주기가 지난 저널을 커밋합니다
      */
-    public String reset() {
-        String logFile = null;
-        if (gameLogger.getCurrentLog() != null && !logSaved) {
-            logFile = gameLogger.finishAndSave(playerArrived, enemyArrived);
-            if (logFile != null) {
-                lastSavedLogFile = logFile;
+    void tickAi(GameSession session) {
+        synchronized (session) {
+            if (session.needsAiTick()) {
+                aiMove(session);
             }
+            // 플레이어 입력이 끊겨도 저널의 마지막 이벤트들이 커밋 주기 안에 파일로 나가도록
+            session.getGameLogger().commitJournalIfDue();
+        }
+    }
+
+    /**
+     * 두 명 모두 도착: 게임 종료 및 로그 저장
+     */
+    private void finishGame(GameSession session) {
+        session.gameFinished = true;
+        session.logSaved = true;
+        saveInBackground(session);
+    }
+
+    /**
+     * 로그 저장을 백그라운드 저장기에 맡기고, 끝나면 마지막 저장 파일을 갱신
+     */
+    private void saveInBackground(GameSession session) {
+        CompletableFuture<String> pending = session.getGameLogger()
+            .finishAndSaveAsync(session.playerArrived, session.enemyArrived, logWriter);
+        session.pendingLog = pending;
+        pending.whenComplete((logFile, error) -> {
+            if (error != null) {
+                System.err.println("✗ 로그 저장 실패: " + error.getMessage());
+            } else if (logFile != null) {
+                // 그 사이 다음 게임의 저장이 시작됐다면 더 최신 결과를 덮어쓰지 않음
+                if (session.pendingLog == pending) {
+                    session.lastSavedLogFile = logFile;
+                }
+                System.out.println("게임 완료 - 로그 저장됨: " + logFile);
+            }
+        });
+    }
+
+    /**
+     * 백그라운드 저장이 진행 중이면 잠시 기다립니다
+     */
+    private void awaitPendingLog(GameSession session) {
+        CompletableFuture<String> pending = session.pendingLog;
+        if (pending == null || pending.isDone()) {
+            return;
+        }
+        try {
+            pending.get(logWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            // 실패/지연은 저장기 쪽에서 기록됨
+        }
+    }
+
+    /**
+     * 푸시 채널 구독 - 현재 전체 화면을 먼저 보내고 이후에는 변경분만 보냅니다
+     */
+    public SseEmitter subscribe(String sessionId) {
+        SseEmitter emitter = streams.create();
+        GameSession session = sessions.get(sessionId);
+        if (session == null) {
+            streams.register(sessionId, emitter);
+            return emitter;
+        }
+        synchronized (session) {
+            if (session.maze != null) {
+                if (streams.hasSubscribers(sessionId) && session.view.isInitialized()) {
+                    // 기존 구독자가 아직 못 받은 변화(횃불 종료 등)를 먼저 보내 기준 화면을 맞춥니다
+                    publishDelta(session);
+                } else {
+                    session.view.reset(session.maze, enemyX(session), enemyY(session));
+                }
+                GameDelta state = newDelta(session);
+                state.rows = session.view.rows();
+                streams.send(emitter, "state", state);
+            }
+            streams.register(sessionId, emitter);
+        }
+        return emitter;
+    }
+
+    /**
+     * 새 게임 화면 전체를 구독자들에게 전송
+     */
+    private void publishState(GameSession session) {
+        if (!streams.hasSubscribers(session.getId())) {
+            session.view.invalidate();
+            return;
+        }
+        session.view.reset(session.maze, enemyX(session), enemyY(session));
+        GameDelta state = newDelta(session);
+        state.rows = session.view.rows();
+        streams.publish(session.getId(), "state", state);
+    }
+
+    /**
+     * 이동 후 바뀐 칸과 좌표만 구독자들에게 전송
+     */
+    private void publishDelta(GameSession session) {
+        if (!streams.hasSubscribers(session.getId())) {
+            session.view.invalidate();
+            return;
+        }
+        if (!session.view.isInitialized()) {
+            publishState(session);
+            return;
+        }
+        boolean torchExpired = session.view.diff(session.maze, enemyX(session), enemyY(session));
+        GameDelta delta = newDelta(session);
+        delta.c = session.view.changes();
+        if (torchExpired) {
+            delta.msg = "횃불 효과가 꺼집니다.";
+        }
+        streams.publish(session.getId(), "delta", delta);
+    }
+
+    private GameDelta newDelta(GameSession session) {
+        GameDelta delta = new GameDelta();
+        delta.v = session.version;
+        delta.p = new int[]{session.maze.getPlayerX(), session.maze.getPlayerY()};
+        delta.e = new int[]{enemyX(session), enemyY(session)};
+        delta.pa = session.playerArrived;
+        delta.ea = session.enemyArrived;
+        delta.gf = session.gameFinished;
+        return delta;
+    }
+
+    private int enemyX(GameSession session) {
+        return session.enemy != null ? session.enemy.getX() : -1;
+    }
+
+    private int enemyY(GameSession session) {
+        return session.enemy != null ? session.enemy.getY() : -1;
+    }
+
+    /**
+     * 게임 리셋 - 기존 로그 저장 후 새 게임 시작
+     */
+    public String reset(String sessionId) {
+        GameSession session = sessions.getOrCreate(sessionId);
+        synchronized (session) {
+            String logFile = saveUnsavedLog(session);
+            // 이전 게임과 같은 방식(파일 / 생성 크기)으로 다시 시작
+            startGame(session, session.mazeSize > 0 ? takePooledMaze(session.mazeSize) : loadMaze("maze.txt"));
+            return logFile;
         }
-        startGame();
-        return logFile;
     }
 
     /**
      * 게임 로그 저장 (게임 종료 시)
      */
-    public String saveGameLog() {
-        if (logSaved) {
-            return lastSavedLogFile;
+    public String saveGameLog(String sessionId) {
+        GameSession session = sessions.get(sessionId);
+        if (session == null) {
+            return null;
         }
-        String logFile = gameLogger.finishAndSave(playerArrived, enemyArrived);
-        if (logFile != null) {
-            logSaved = true;
-            lastSavedLogFile = logFile;
+        synchronized (session) {
+            if (session.logSaved) {
+                awaitPendingLog(session);
+                return session.lastSavedLogFile;
+            }
+            String logFile = session.getGameLogger().finishAndSave(session.playerArrived, session.enemyArrived);
+            if (logFile != null) {
+                session.logSaved = true;
+                session.pendingLog = null;
+                session.lastSavedLogFile = logFile;
+            }
+            return logFile;
+        }
+    }
+
+    /**
+     * 저장되지 않은 진행 중 로그가 있으면 저장
+     */
+    private String saveUnsavedLog(GameSession session) {
+        String logFile = null;
+        if (session.getGameLogger().getCurrentLog() != null && !session.logSaved) {
+            logFile = session.getGameLogger().finishAndSave(session.playerArrived, session.enemyArrived);
+            if (logFile != null) {
+                session.pendingLog = null;
+                session.lastSavedLogFile = logFile;
+            }
         }
         return logFile;
     }
 
+    private void saveIfUnsaved(GameSession session) {
+        synchronized (session) {
+            if (session.getGameLogger().getCurrentLog() != null && !session.logSaved) {
+                saveInBackground(session);
+            }
+            // 로그가 저장기로 넘어갔으므로, 이미 이 세션을 집어 간 AI 틱이 더 기록하지 않도록 종료 처리
+            session.gameFinished = true;
+            session.logSaved = true;
+        }
+    }
+
+    /**
+     * 세션 게임의 상태 버전 (게임이 없으면 -1)
+     */
+    public long getVersion(String sessionId) {
+        GameSession session = sessions.get(sessionId);
+        return session != null ? session.getVersion() : -1;
+    }
+
     /**
      * 게임 상태 정보 가져오기
      */
-    public GameStatus getStatus() {
+    public GameStatus getStatus(String sessionId) {
+        return getStatus(sessionId, true);
+    }
+
+    /**
+     * 게임 상태 정보 가져오기 (withView=false면 미로 화면 문자열을 만들지 않음)
+     */
+    public GameStatus getStatus(String sessionId, boolean withView) {
+        GameSession session = sessions.get(sessionId);
+        if (session == null) {
+            GameStatus status = new GameStatus();
+            status.mazeView = "게임을 시작해주세요.";
+            status.playerX = -1;
+            status.playerY = -1;
+            status.enemyX = -1;
+            status.enemyY = -1;
+            status.version = -1;
+            return status;
+        }
+        synchronized (session) {
+            return getStatus(session, withView);
+        }
+    }
+
+    private GameStatus getStatus(GameSession session, boolean withView) {
+        Maze_two maze = session.maze;
+        Enemy enemy = session.enemy;
         GameStatus status = new GameStatus();
-        status.mazeView = getView();
+        status.mazeView = withView ? getView(session) : null;
         status.playerX = maze != null ? maze.getPlayerX() : -1;
         status.playerY = maze != null ? maze.getPlayerY() : -1;
         status.enemyX = enemy != null ? enemy.getX() : -1;
         status.enemyY = enemy != null ? enemy.getY() : -1;
-        status.gameStarted = gameStarted;
-        status.gameFinished = gameFinished;
-        status.playerArrived = playerArrived;
-        status.enemyArrived = enemyArrived;
+        status.gameStarted = session.gameStarted;
+        status.gameFinished = session.gameFinished;
+        status.playerArrived = session.playerArrived;
+        status.enemyArrived = session.enemyArrived;
+        status.version = session.version;
         return status;
     }
 
@@ -295,82 +615,113 @@ public class MazeService {
      * 맵에 지정된 코드가 최소 count개 있도록 비어있는 길(3)에 추가합니다.
      * 외부 txt 맵에 아이템/함정이 없을 때도 웹 플레이가 심심하지 않도록 보강.
      */
-    private void ensureObjectIfMissing(int[][] map, int code, int count) {
-        int existing = 0;
-        for (int[] row : map) {
-            for (int v : row) {
-                if (v == code) existing++;
-            }
-        }
+    private void ensureObjectIfMissing(MazeGrid map, int code, int count) {
+        int existing = map.count(code);
         if (existing >= count) return;
 
-        List<int[]> candidates = new ArrayList<>();
-        for (int i = 0; i < map.length; i++) {
-            for (int j = 0; j < map[0].length; j++) {
-                if (map[i][j] == 3) { // 길에만 배치
-                    candidates.add(new int[]{i, j});
-                }
+        List<Integer> candidates = new ArrayList<>();
+        int area = map.area();
+        for (int k = 0; k < area; k++) {
+            if (map.get(k) == 3) { // 길에만 배치
+                candidates.add(k);
             }
         }
         Collections.shuffle(candidates, random);
         int toPlace = Math.min(count - existing, candidates.size());
         for (int k = 0; k < toPlace; k++) {
-            int[] p = candidates.get(k);
-            map[p[0]][p[1]] = code;
+            map.set(candidates.get(k), code);
+        }
+    }
+
+    /**
+     * 세션의 게임 로거 반환 (게임이 없으면 null)
+     */
+    public GameLogger getGameLogger(String sessionId) {
+        GameSession session = sessions.get(sessionId);
+        return session != null ? session.getGameLogger() : null;
+    }
+
+    /**
+     * 세션에서 최근 저장된 로그 파일 경로
+     */
+    public String getLastSavedLogFile(String sessionId) {
+        GameSession session = sessions.get(sessionId);
+        if (session == null) {
+            return null;
         }
+        awaitPendingLog(session);
+        return session.getLastSavedLogFile();
+    }
+
+    /**
+     * 미로 풀 지표 (크기별 깊이, 적중/부족 횟수, 보충 속도) + 검증 결과 캐시 지표
+     */
+    public Map<String, Object> getMazePoolStats() {
+        Map<String, Object> stats = mazePool.getStats();
+        stats.put("validationCache", validations.getStats());
+        return stats;
     }
 
     /**
-     * 게임 로거 반환
+     * 백그라운드 로그 저장기 지표 (큐 깊이, 쓰기 시간 분포)
      */
-    public GameLogger getGameLogger() {
-        return gameLogger;
+    public Map<String, Object> getLogWriterStats() {
+        return logWriter.getStats();
     }
 
     /**
-     * 최근 저장된 로그 파일 경로
+     * 종료 시 대기 중인 로그를 모두 저장
      */
-    public String getLastSavedLogFile() {
-        return lastSavedLogFile;
+    @PreDestroy
+    public void shutdown() {
+        logWriter.close();
+        logCatalog.close();
     }
 
     /**
      * 저장된 로그 파일 목록 (최신순)
      */
     public List<String> listSavedLogFiles() {
-        File dir = new File("game_logs");
-        if (!dir.exists() || !dir.isDirectory()) {
-            return List.of();
-        }
-
-        File[] files = dir.listFiles((d, name) -> name != null && name.endsWith(".log"));
-        if (files == null || files.length == 0) {
-            return List.of();
-        }
+        return listSavedLogFiles(Integer.MAX_VALUE);
+    }
 
-        List<File> fileList = new ArrayList<>();
-        Collections.addAll(fileList, files);
-        fileList.sort(Comparator.comparingLong(File::lastModified).reversed());
+    /**
+     * 최신순 저장 로그 경로 (최대 limit개, 카탈로그에서 조회)
+     */
+    public List<String> listSavedLogFiles(int limit) {
+        return logCatalog.listPaths(limit);
+    }
 
-        List<String> paths = new ArrayList<>();
-        for (File f : fileList) {
-            paths.add(f.getPath());
-        }
-        return paths;
+    /**
+     * 저장 로그를 조건으로 걸러 한 페이지 조회
+     */
+    public LogCatalog.Page queryLogs(String winner, int mazeSize, long from, long to, int page, int size) {
+        return logCatalog.query(winner, mazeSize, from, to, page, size);
     }
 
     /**
      * 로그 파일을 로드하여 리플레이 프레임으로 변환합니다.
      */
     public List<ReplayFrame> loadReplayFrames(String logFilePath) {
-        if (logFilePath == null || logFilePath.isBlank()) {
-            return List.of();
-        }
-        GameLog log = gameLogger.loadLog(logFilePath);
-        if (log == null) {
+        ReplayIndex index = loadReplayIndex(logFilePath);
+        if (index == null) {
             return List.of();
         }
-        return ReplayGenerator.generateFrames(log);
+        return index.window(0, index.getFrameCount(), true);
+    }
+
+    /**
+     * 로그 파일의 리플레이 인덱스 (캐시 사용, 실패 시 null)
+     */
+    public ReplayIndex loadReplayIndex(String logFilePath) {
+        return replayCache.get(logFilePath);
+    }
+
+    /**
+     * 리플레이 캐시 지표 (적중/실패/제거 횟수)
+     */
+    public Map<String, Object> getReplayCacheStats() {
+        return replayCache.getStats();
     }
 
     /**
@@ -386,5 +737,6 @@ public class MazeService {
         public boolean gameFinished;
         public boolean playerArrived;
         public boolean enemyArrived;
+        public long version;
     }
 }
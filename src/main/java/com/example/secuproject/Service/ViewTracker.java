@@ -0,0 +1,114 @@
+package com.example.secuproject.Service;
+
+import com.example.secuproject.Maze_two;
+
+/**
+ * 클라이언트가 마지막으로 받은 화면을 기억하고, 바뀐 칸만 골라냅니다
+ * 칸이 바뀌는 곳은 플레이어/Enemy의 이전·현재 위치 주변 시야뿐이므로 그 창만 비교합니다.
+ */
+class ViewTracker {
+    // 최대 시야 반경 (횃불 5×5)
+    private static final int RADIUS = 2;
+
+    private char[] lastView;
+    private int size;
+    private int lastPlayerX, lastPlayerY, lastEnemyX, lastEnemyY;
+    private int[] changes = new int[64];
+    private int changeCount;
+
+    boolean isInitialized() {
+        return lastView != null;
+    }
+
+    /**
+     * 다음 변경분을 만들기 전에 전체 화면을 다시 그려야 함을 표시
+     */
+    void invalidate() {
+        lastView = null;
+    }
+
+    /**
+     * 전체 화면을 다시 그리고 기준 화면으로 삼습니다
+     */
+    void reset(Maze_two maze, int enemyX, int enemyY) {
+        maze.expireTorch(System.currentTimeMillis());
+        size = maze.getSize();
+        if (lastView == null || lastView.length != size * size) {
+            lastView = new char[size * size];
+        }
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                lastView[i * size + j] = maze.viewSymbol(i, j, enemyX, enemyY);
+            }
+        }
+        remember(maze, enemyX, enemyY);
+    }
+
+    /**
+     * 기준 화면을 행 단위 문자열로 (한 칸 한 문자)
+     */
+    String[] rows() {
+        String[] rows = new String[size];
+        for (int i = 0; i < size; i++) {
+            rows[i] = new String(lastView, i * size, size);
+        }
+        return rows;
+    }
+
+    /**
+     * 마지막 화면 이후 바뀐 칸을 찾아 기준 화면에 반영하고 changes()로 모읍니다
+     * @return 횃불 효과가 이번에 꺼졌으면 true
+     */
+    boolean diff(Maze_two maze, int enemyX, int enemyY) {
+        boolean torchExpired = maze.expireTorch(System.currentTimeMillis());
+        changeCount = 0;
+        scan(maze, lastPlayerX, lastPlayerY, enemyX, enemyY);
+        scan(maze, lastEnemyX, lastEnemyY, enemyX, enemyY);
+        scan(maze, maze.getPlayerX(), maze.getPlayerY(), enemyX, enemyY);
+        scan(maze, enemyX, enemyY, enemyX, enemyY);
+        remember(maze, enemyX, enemyY);
+        return torchExpired;
+    }
+
+    int[] changes() {
+        int[] result = new int[changeCount];
+        System.arraycopy(changes, 0, result, 0, changeCount);
+        return result;
+    }
+
+    private void scan(Maze_two maze, int cx, int cy, int enemyX, int enemyY) {
+        if (cx < 0 || cy < 0) {
+            return;
+        }
+        int fromI = Math.max(0, cx - RADIUS), toI = Math.min(size - 1, cx + RADIUS);
+        int fromJ = Math.max(0, cy - RADIUS), toJ = Math.min(size - 1, cy + RADIUS);
+        for (int i = fromI; i <= toI; i++) {
+            for (int j = fromJ; j <= toJ; j++) {
+                char ch = maze.viewSymbol(i, j, enemyX, enemyY);
+                int idx = i * size + j;
+                if (lastView[idx] != ch) {
+                    lastView[idx] = ch;
+                    addChange(i, j, ch);
+                }
+            }
+        }
+    }
+
+    private void addChange(int i, int j, char ch) {
+        if (changeCount + 3 > changes.length) {
+            int[] grown = new int[changes.length * 2];
+            System.arraycopy(changes, 0, grown, 0, changeCount);
+            changes = grown;
+        }
+        changes[changeCount++] = i;
+        changes[changeCount++] = j;
+        changes[changeCount++] = ch;
+    }
+
+    private void remember(Maze_two maze, int enemyX, int enemyY) {
+        lastPlayerX = maze.getPlayerX();
+        lastPlayerY = maze.getPlayerY();
+        lastEnemyX = enemyX;
+        lastEnemyY = enemyY;
+    }
+}
@@ -1,13 +1,24 @@
 package com.example.secuproject.controller;
 
 import com.example.secuproject.Maze_two;
+import com.example.secuproject.Service.AiTickScheduler;
 import com.example.secuproject.Service.MazeService;
+import com.example.secuproject.log.LogCatalog;
 import com.example.secuproject.replay.ReplayFrame;
+import com.example.secuproject.replay.ReplayIndex;
+import jakarta.servlet.http.HttpSession;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -17,6 +28,14 @@ public class GameController {
     
     @Autowired
     private MazeService mazeService;
+
+    @Autowired
+    private AiTickScheduler aiTickScheduler;
+
+    private static final int REPLAY_PAGE_SIZE = 100;
+    private static final int MAX_REPLAY_PAGE_SIZE = 1000;
+    private static final int REPLAY_WINDOW = 200;
+    private static final int MAX_REPLAY_WINDOW = 2000;
     
     /**
      * 메인 페이지
@@ -27,11 +46,15 @@ public class GameController {
     }
     
     /**
-     * 게임 시작
+     * 게임 시작 (size를 주면 size × size 생성 미로, 없으면 maze.txt)
      */
     @PostMapping("/game/start")
-    public String startGame() {
-        mazeService.startGame();
+    public String startGame(HttpSession session, @RequestParam(required = false) Integer size) {
+        if (size != null) {
+            mazeService.startGame(session.getId(), size);
+        } else {
+            mazeService.startGame(session.getId());
+        }
         return "redirect:/game";
     }
     
@@ -39,19 +62,23 @@ public class GameController {
      * 게임 화면
      */
     @GetMapping("/game")
-    public String game(Model model) {
-        MazeService.GameStatus status = mazeService.getStatus();
+    public String game(Model model, HttpSession session) {
+        MazeService.GameStatus status = mazeService.getStatus(session.getId());
         model.addAttribute("status", status);
+        model.addAttribute("aiTickMillis", aiTickScheduler.getTickMillis());
         return "game";
     }
     
     /**
      * 플레이어 이동 (w/a/s/d)
      * AI는 자동으로 움직이지 않음 (2초마다 별도로 움직임)
+     * compact=true면 미로 화면을 빼고 응답합니다 (화면 변경분은 /game/stream으로 전달됨)
      */
     @PostMapping("/game/move")
     @ResponseBody
-    public Map<String, Object> move(@RequestParam String direction) {
+    public Map<String, Object> move(@RequestParam String direction,
+                                    @RequestParam(defaultValue = "false") boolean compact,
+                                    HttpSession session) {
         Map<String, Object> response = new HashMap<>();
         
         if (direction == null || direction.isEmpty()) {
@@ -61,17 +88,19 @@ public class GameController {
         }
         
         char dir = direction.toLowerCase().charAt(0);
-        Maze_two.MoveResult result = mazeService.move(dir);
+        Maze_two.MoveResult result = mazeService.move(session.getId(), dir);
         
         // AI는 자동으로 움직이지 않음 (2초마다 별도로 움직임)
         
-        MazeService.GameStatus status = mazeService.getStatus();
+        MazeService.GameStatus status = mazeService.getStatus(session.getId(), !compact);
         
         response.put("success", result.moved);
         response.put("moved", result.moved);
         response.put("arrived", result.arrived);
         response.put("message", result.message);
-        response.put("mazeView", status.mazeView);
+        if (!compact) {
+            response.put("mazeView", status.mazeView);
+        }
         response.put("playerX", status.playerX);
         response.put("playerY", status.playerY);
         response.put("enemyX", status.enemyX);
@@ -79,21 +108,33 @@ public class GameController {
         response.put("gameFinished", status.gameFinished);
         response.put("playerArrived", status.playerArrived);
         response.put("enemyArrived", status.enemyArrived);
+        response.put("version", status.version);
         
         return response;
     }
     
+    /**
+     * 게임 상태 푸시 채널 (SSE)
+     * 처음에 전체 화면(state)을, 이후에는 바뀐 칸과 좌표(delta)만 보냅니다.
+     */
+    @GetMapping(value = "/game/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ResponseBody
+    public SseEmitter stream(HttpSession session) {
+        return mazeService.subscribe(session.getId());
+    }
+    
     /**
      * AI만 이동 (테스트용)
+     * AI는 서버의 AiTickScheduler가 움직이므로 브라우저는 이 API를 호출하지 않습니다.
      */
     @PostMapping("/game/ai-move")
     @ResponseBody
-    public Map<String, Object> aiMove() {
+    public Map<String, Object> aiMove(HttpSession session) {
         Map<String, Object> response = new HashMap<>();
         
-        mazeService.aiMove();
+        mazeService.aiMove(session.getId());
         
-        MazeService.GameStatus status = mazeService.getStatus();
+        MazeService.GameStatus status = mazeService.getStatus(session.getId());
         
         response.put("success", true);
         response.put("mazeView", status.mazeView);
@@ -110,8 +151,8 @@ public class GameController {
      * 게임 리셋 - 로그 저장 후 메인 페이지로
      */
     @PostMapping("/game/reset")
-    public String resetGame() {
-        String logFile = mazeService.reset();
+    public String resetGame(HttpSession session) {
+        String logFile = mazeService.reset(session.getId());
         if (logFile != null) {
             System.out.println("🎮 게임 로그 저장됨: " + logFile);
         }
@@ -120,13 +161,21 @@ public class GameController {
     
     /**
      * 게임 상태 조회 (AJAX용)
+     * since에 마지막으로 받은 version을 주면, 그 뒤로 바뀐 것이 없을 때 화면 없이 짧게 응답합니다.
      */
     @GetMapping("/game/status")
     @ResponseBody
-    public Map<String, Object> getStatus() {
+    public Map<String, Object> getStatus(@RequestParam(required = false) Long since, HttpSession session) {
         Map<String, Object> response = new HashMap<>();
-        MazeService.GameStatus status = mazeService.getStatus();
+        if (since != null && since == mazeService.getVersion(session.getId())) {
+            response.put("changed", false);
+            response.put("version", since);
+            return response;
+        }
+        MazeService.GameStatus status = mazeService.getStatus(session.getId());
         
+        response.put("changed", true);
+        response.put("version", status.version);
         response.put("mazeView", status.mazeView);
         response.put("playerX", status.playerX);
         response.put("playerY", status.playerY);
@@ -134,6 +183,8 @@ public class GameController {
         response.put("enemyY", status.enemyY);
         response.put("gameStarted", status.gameStarted);
         response.put("gameFinished", status.gameFinished);
+        response.put("playerArrived", status.playerArrived);
+        response.put("enemyArrived", status.enemyArrived);
         
         return response;
     }
@@ -143,9 +194,9 @@ public class GameController {
      */
     @PostMapping("/game/save-log")
     @ResponseBody
-    public Map<String, Object> saveLog() {
+    public Map<String, Object> saveLog(HttpSession session) {
         Map<String, Object> response = new HashMap<>();
-        String logFile = mazeService.saveGameLog();
+        String logFile = mazeService.saveGameLog(session.getId());
         
         if (logFile != null) {
             response.put("success", true);
@@ -159,14 +210,32 @@ public class GameController {
         return response;
     }
 
+    /**
+     * 백그라운드 로그 저장 상태 (큐 깊이, 쓰기 시간 분포)
+     */
+    @GetMapping("/game/log-writer")
+    @ResponseBody
+    public Map<String, Object> logWriterStats() {
+        return mazeService.getLogWriterStats();
+    }
+
+    /**
+     * 미로 풀 상태 (크기별 남은 미로 수, 적중/부족 횟수, 보충 속도)
+     */
+    @GetMapping("/game/maze-pool")
+    @ResponseBody
+    public Map<String, Object> mazePoolStats() {
+        return mazeService.getMazePoolStats();
+    }
+
     /**
      * 리플레이 페이지
      */
     @GetMapping("/replay")
-    public String replayPage(@RequestParam(required = false) String file, Model model) {
-        String selected = (file == null || file.isBlank()) ? mazeService.getLastSavedLogFile() : file;
+    public String replayPage(@RequestParam(required = false) String file, Model model, HttpSession session) {
+        String selected = (file == null || file.isBlank()) ? mazeService.getLastSavedLogFile(session.getId()) : file;
         model.addAttribute("selectedLogFile", selected);
-        model.addAttribute("logFiles", mazeService.listSavedLogFiles());
+        model.addAttribute("logFiles", mazeService.listSavedLogFiles(REPLAY_PAGE_SIZE));
         return "replay";
     }
 
@@ -175,27 +244,89 @@ public class GameController {
      */
     @GetMapping("/replay/logs")
     @ResponseBody
-    public Map<String, Object> replayLogs() {
+    public Map<String, Object> replayLogs(@RequestParam(defaultValue = "0") int page,
+                                          @RequestParam(defaultValue = "" + REPLAY_PAGE_SIZE) int size,
+                                          @RequestParam(required = false) String winner,
+                                          @RequestParam(defaultValue = "0") int mazeSize,
+                                          @RequestParam(required = false) String from,
+                                          @RequestParam(required = false) String to,
+                                          HttpSession session) {
         Map<String, Object> response = new HashMap<>();
+        long fromMillis = parseDate(from, false);
+        long toMillis = parseDate(to, true);
+        if (fromMillis < 0 || toMillis < 0) {
+            response.put("success", false);
+            response.put("message", "날짜는 yyyy-MM-dd 형식이어야 합니다.");
+            return response;
+        }
+        String winnerFilter = (winner == null || winner.isBlank()) ? null : winner.trim().toUpperCase();
+        LogCatalog.Page result = mazeService.queryLogs(winnerFilter, mazeSize, fromMillis, toMillis,
+            page, Math.min(Math.max(1, size), MAX_REPLAY_PAGE_SIZE));
+
+        List<String> paths = new ArrayList<>(result.entries.size());
+        for (LogCatalog.Entry e : result.entries) {
+            paths.add(e.path);
+        }
         response.put("success", true);
-        response.put("logFiles", mazeService.listSavedLogFiles());
-        response.put("lastSavedLogFile", mazeService.getLastSavedLogFile());
+        response.put("logFiles", paths);
+        response.put("logs", result.entries);
+        response.put("page", result.page);
+        response.put("size", result.size);
+        response.put("total", result.total);
+        response.put("lastSavedLogFile", mazeService.getLastSavedLogFile(session.getId()));
         return response;
     }
 
     /**
-     * 로그 파일을 로드하여 리플레이 프레임 반환 (AJAX용)
+     * yyyy-MM-dd 날짜를 epoch 밀리초로 (비어 있으면 0, 형식 오류면 -1)
+     * @param endOfDay true면 그 날의 마지막 시각
+     */
+    private static long parseDate(String date, boolean endOfDay) {
+        if (date == null || date.isBlank()) {
+            return 0;
+        }
+        try {
+            LocalDate day = LocalDate.parse(date.trim());
+            ZonedDateTime start = day.atStartOfDay(ZoneId.systemDefault());
+            return endOfDay
+                ? start.plusDays(1).toInstant().toEpochMilli() - 1
+                : start.toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * 리플레이 캐시 상태 (적중/실패/제거 횟수)
+     */
+    @GetMapping("/replay/cache")
+    @ResponseBody
+    public Map<String, Object> replayCacheStats() {
+        return mazeService.getReplayCacheStats();
+    }
+
+    /**
+     * 로그 파일의 리플레이 프레임 구간 반환 (AJAX용)
+     * from부터 count개를 돌려주며, 첫 프레임만 전체 화면(mazeView)이고 나머지는 바뀐 칸(cells)만 담습니다.
      */
     @GetMapping("/replay/frames")
     @ResponseBody
-    public Map<String, Object> replayFrames(@RequestParam(required = false) String file) {
+    public Map<String, Object> replayFrames(@RequestParam(required = false) String file,
+                                            @RequestParam(defaultValue = "0") int from,
+                                            @RequestParam(defaultValue = "" + REPLAY_WINDOW) int count,
+                                            HttpSession session) {
         Map<String, Object> response = new HashMap<>();
-        String selected = (file == null || file.isBlank()) ? mazeService.getLastSavedLogFile() : file;
-        List<ReplayFrame> frames = mazeService.loadReplayFrames(selected);
+        String selected = (file == null || file.isBlank()) ? mazeService.getLastSavedLogFile(session.getId()) : file;
+        ReplayIndex index = mazeService.loadReplayIndex(selected);
+        List<ReplayFrame> frames = index == null
+            ? List.of()
+            : index.window(from, Math.min(Math.max(1, count), MAX_REPLAY_WINDOW));
         response.put("success", !frames.isEmpty());
         response.put("file", selected);
         response.put("frames", frames);
+        response.put("from", frames.isEmpty() ? from : frames.get(0).index);
         response.put("count", frames.size());
+        response.put("total", index == null ? 0 : index.getFrameCount());
         return response;
     }
 }
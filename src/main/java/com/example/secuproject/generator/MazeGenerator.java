@@ -1,20 +1,32 @@
 package com.example.secuproject.generator;
 
 import com.example.secuproject.model.Maze;
-import com.example.secuproject.model.MazeCell;
+import com.example.secuproject.model.MazeGrid;
 import com.example.secuproject.model.Position;
 
 import java.util.*;
+import java.util.random.RandomGenerator;
 
 public class MazeGenerator {
-    private Random random;
+    private final RandomGenerator random;
     
     private static final int[] DX = {-1, 1, 0, 0};
     private static final int[] DY = {0, 0, -1, 1};
     private static final int MAX_GENERATION_ATTEMPTS = 50;
     
     public MazeGenerator() {
-        this.random = new Random();
+        this(new Random());
+    }
+    
+    /**
+     * 시드 고정 생성기 (같은 시드 + 같은 크기면 항상 같은 미로)
+     */
+    public MazeGenerator(long seed) {
+        this(new SplittableRandom(seed));
+    }
+    
+    public MazeGenerator(RandomGenerator random) {
+        this.random = random;
     }
     
     public Maze generateMaze(int size) {
@@ -31,12 +43,14 @@ public class MazeGenerator {
             
             generateMazeWithPrims(maze, starts, size);
             
-            Position goal = placeGoalAtDepth(maze, starts, size);
+            int[][] distances = startDistances(maze.getGrid(), starts);
+            
+            Position goal = placeGoalAtDepth(maze, distances, size);
             if (goal == null) {
                 continue;
             }
             
-            if (validateMinimumPathLength(maze, size)) {
+            if (validateMinimumPathLength(maze, distances, goal, size)) {
                 placeItems(maze, size);
                 initializeFog(maze, size);
                 return maze;
@@ -71,124 +85,137 @@ public class MazeGenerator {
     }
     
     private void generateMazeWithPrims(Maze maze, List<Position> starts, int size) {
-        Set<String> visited = new HashSet<>();
+        MazeGrid grid = maze.getGrid();
+        BitSet visited = new BitSet(size * size);
         
         for (Position start : starts) {
-            visited.add(start.getX() + "," + start.getY());
+            visited.set(grid.index(start.getX(), start.getY()));
         }
         
-        carveMazeDFS(maze, starts.get(0), size, visited, -1);
+        carveMazeDFS(grid, starts.get(0), size, visited, -1);
         
         if (starts.size() > 1) {
             Position start2 = starts.get(1);
-            String key2 = start2.getX() + "," + start2.getY();
             
-            if (!visited.contains(key2) || calculateShortestPath(maze, starts.get(0), start2) < 0) {
-                carvePathBetweenStarts(maze, starts, visited, size);
+            if (!visited.get(grid.index(start2.getX(), start2.getY())) || calculateShortestPath(maze, starts.get(0), start2) < 0) {
+                carvePathBetweenStarts(grid, starts, visited, size);
             }
         }
     }
     
-    private void carveMazeDFS(Maze maze, Position start, int size, Set<String> visited, int lastDir) {
-        Stack<int[]> stack = new Stack<>();
-        stack.push(new int[]{start.getX(), start.getY(), lastDir});
-        
-        while (!stack.isEmpty()) {
-            int[] current = stack.peek();
-            int x = current[0], y = current[1], prevDir = current[2];
+    /**
+     * 2칸 간격 DFS로 통로를 팝니다
+     * 방문 여부는 평면 인덱스 비트셋, 스택은 (칸 인덱스, 직전 방향) int 배열로 관리해 칸마다 객체를 만들지 않습니다.
+     * 난수 호출 순서는 이전과 같습니다.
+     */
+    private void carveMazeDFS(MazeGrid grid, Position start, int size, BitSet visited, int lastDir) {
+        int[] stack = new int[64];
+        int top = 0;
+        stack[top++] = grid.index(start.getX(), start.getY());
+        stack[top++] = lastDir;
+        
+        int[] neighborDirs = new int[4];
+        
+        while (top > 0) {
+            int cell = stack[top - 2];
+            int prevDir = stack[top - 1];
+            int x = cell / size, y = cell % size;
             
-            List<int[]> neighbors = new ArrayList<>();
+            int neighborCount = 0;
             for (int dir = 0; dir < 4; dir++) {
                 int nx = x + DX[dir] * 2;
                 int ny = y + DY[dir] * 2;
                 
-                if (nx > 0 && nx < size - 1 && ny > 0 && ny < size - 1) {
-                    String key = nx + "," + ny;
-                    if (!visited.contains(key)) {
-                        neighbors.add(new int[]{nx, ny, dir});
-                    }
+                if (nx > 0 && nx < size - 1 && ny > 0 && ny < size - 1 && !visited.get(nx * size + ny)) {
+                    neighborDirs[neighborCount++] = dir;
                 }
             }
             
-            if (neighbors.isEmpty()) {
-                stack.pop();
+            if (neighborCount == 0) {
+                top -= 2;
                 continue;
             }
             
-            int[] chosen = null;
+            int dir = -1;
             if (prevDir >= 0 && random.nextDouble() < 0.7) {
-                for (int[] n : neighbors) {
-                    if (n[2] == prevDir) {
-                        chosen = n;
+                for (int i = 0; i < neighborCount; i++) {
+                    if (neighborDirs[i] == prevDir) {
+                        dir = prevDir;
                         break;
                     }
                 }
             }
-            if (chosen == null) {
-                chosen = neighbors.get(random.nextInt(neighbors.size()));
+            if (dir < 0) {
+                dir = neighborDirs[random.nextInt(neighborCount)];
             }
             
-            int nx = chosen[0], ny = chosen[1], dir = chosen[2];
-            
-            int wx = x + DX[dir];
-            int wy = y + DY[dir];
+            int wall = (x + DX[dir]) * size + (y + DY[dir]);
+            int next = (x + DX[dir] * 2) * size + (y + DY[dir] * 2);
             
-            maze.setCell(wx, wy, 3);
-            maze.setCell(nx, ny, 3);
+            grid.set(wall, 3);
+            grid.set(next, 3);
             
-            visited.add(wx + "," + wy);
-            visited.add(nx + "," + ny);
+            visited.set(wall);
+            visited.set(next);
             
-            stack.push(new int[]{nx, ny, dir});
+            if (top == stack.length) {
+                stack = Arrays.copyOf(stack, stack.length * 2);
+            }
+            stack[top++] = next;
+            stack[top++] = dir;
         }
     }
     
-    private void carvePathBetweenStarts(Maze maze, List<Position> starts, Set<String> visited, int size) {
-        Position start1 = starts.get(0);
+    private void carvePathBetweenStarts(MazeGrid grid, List<Position> starts, BitSet visited, int size) {
         Position start2 = starts.get(1);
+        int root = grid.index(start2.getX(), start2.getY());
         
-        Queue<Position> queue = new LinkedList<>();
-        Map<String, Position> parent = new HashMap<>();
+        // parent[i]: BFS 부모 칸 인덱스 (-1 = 미방문, 시작 칸은 자기 자신)
+        int[] parent = new int[size * size];
+        Arrays.fill(parent, -1);
+        int[] queue = new int[size * size];
+        int head = 0, tail = 0;
         
-        String key2 = start2.getX() + "," + start2.getY();
-        queue.add(start2);
-        parent.put(key2, null);
+        queue[tail++] = root;
+        parent[root] = root;
         
-        Position target = null;
-        while (!queue.isEmpty() && target == null) {
-            Position curr = queue.poll();
+        int target = -1;
+        while (head < tail && target < 0) {
+            int curr = queue[head++];
+            int cx = curr / size, cy = curr % size;
             
             for (int i = 0; i < 4; i++) {
-                int nx = curr.getX() + DX[i];
-                int ny = curr.getY() + DY[i];
+                int nx = cx + DX[i];
+                int ny = cy + DY[i];
                 
                 if (nx <= 0 || nx >= size - 1 || ny <= 0 || ny >= size - 1) continue;
                 
-                String nkey = nx + "," + ny;
-                if (parent.containsKey(nkey)) continue;
+                int next = nx * size + ny;
+                if (parent[next] >= 0) continue;
                 
-                parent.put(nkey, curr);
+                parent[next] = curr;
                 
-                MazeCell cell = maze.getCell(nx, ny);
-                if (cell.getCode() == 3 || cell.getCode() == 0) {
-                    target = new Position(nx, ny);
+                int code = grid.get(next);
+                if (code == 3 || code == 0) {
+                    target = next;
                     break;
                 }
                 
-                queue.add(new Position(nx, ny));
+                queue[tail++] = next;
             }
         }
         
-        if (target != null) {
-            Position curr = target;
-            while (curr != null) {
-                String key = curr.getX() + "," + curr.getY();
-                MazeCell cell = maze.getCell(curr.getX(), curr.getY());
-                if (cell.getCode() == 4) {
-                    maze.setCell(curr.getX(), curr.getY(), 3);
-                    visited.add(key);
+        if (target >= 0) {
+            int curr = target;
+            while (true) {
+                if (grid.get(curr) == 4) {
+                    grid.set(curr, 3);
+                    visited.set(curr);
                 }
-                curr = parent.get(key);
+                if (parent[curr] == curr) {
+                    break;
+                }
+                curr = parent[curr];
             }
         }
     }
@@ -260,104 +287,104 @@ public class MazeGenerator {
         return new Position(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]));
     }
     
-    private Position placeGoalAtDepth(Maze maze, List<Position> starts, int size) {
+    private Position placeGoalAtDepth(Maze maze, int[][] distances, int size) {
         int minDepth = size * 2;
+        MazeGrid grid = maze.getGrid();
         
-        List<Position> walkableCells = new ArrayList<>();
+        // 모든 스타트에서 minDepth 이상 떨어진 통로 칸 (행 우선 순서)
+        int[] candidates = new int[size * size];
+        int candidateCount = 0;
         for (int i = 1; i < size - 1; i++) {
             for (int j = 1; j < size - 1; j++) {
-                MazeCell cell = maze.getCell(i, j);
-                if (cell.getCode() == 3) {
-                    walkableCells.add(new Position(i, j));
+                int cell = grid.index(i, j);
+                if (grid.get(cell) != 3) {
+                    continue;
                 }
-            }
-        }
-        
-        List<Position> candidates = new ArrayList<>();
-        
-        for (Position cell : walkableCells) {
-            boolean validForAllStarts = true;
-            
-            for (Position start : starts) {
-                int dist = calculateShortestPath(maze, start, cell);
-                if (dist < 0 || dist < minDepth) {
-                    validForAllStarts = false;
-                    break;
+                boolean validForAllStarts = true;
+                for (int[] dist : distances) {
+                    if (dist[cell] < minDepth) {
+                        validForAllStarts = false;
+                        break;
+                    }
+                }
+                if (validForAllStarts) {
+                    candidates[candidateCount++] = cell;
                 }
-            }
-            
-            if (validForAllStarts) {
-                candidates.add(cell);
             }
         }
         
-        if (candidates.isEmpty()) {
+        if (candidateCount == 0) {
             return null;
         }
         
-        Position goal = candidates.get(random.nextInt(candidates.size()));
-        maze.setCell(goal.getX(), goal.getY(), 9);
-        return goal;
+        int cell = candidates[random.nextInt(candidateCount)];
+        grid.set(cell, 9);
+        return new Position(grid.rowOf(cell), grid.colOf(cell));
     }
     
-    private int calculateShortestPath(Maze maze, Position start, Position goal) {
-        Queue<Position> queue = new LinkedList<>();
-        Map<String, Integer> distance = new HashMap<>();
-        
-        String startKey = start.getX() + "," + start.getY();
-        queue.add(start);
-        distance.put(startKey, 0);
-        
-        while (!queue.isEmpty()) {
-            Position current = queue.poll();
-            String currentKey = current.getX() + "," + current.getY();
-            int currentDist = distance.get(currentKey);
-            
-            if (current.equals(goal)) {
-                return currentDist;
-            }
+    /**
+     * 스타트마다 한 번씩 BFS를 돌린 거리 배열 (starts와 같은 순서)
+     */
+    private int[][] startDistances(MazeGrid grid, List<Position> starts) {
+        int[][] distances = new int[starts.size()][];
+        for (int k = 0; k < starts.size(); k++) {
+            distances[k] = distanceField(grid, starts.get(k));
+        }
+        return distances;
+    }
+    
+    /**
+     * start에서 각 칸까지의 최단 거리 (평면 인덱스, 도달 불가 -1)
+     * 벽(4)과 안개(5)만 막힌 칸으로 봅니다.
+     */
+    private int[] distanceField(MazeGrid grid, Position start) {
+        int size = grid.getSize();
+        int[] dist = new int[size * size];
+        Arrays.fill(dist, -1);
+        int[] queue = new int[size * size];
+        int head = 0, tail = 0;
+        
+        int origin = grid.index(start.getX(), start.getY());
+        dist[origin] = 0;
+        queue[tail++] = origin;
+        
+        while (head < tail) {
+            int curr = queue[head++];
+            int cx = curr / size, cy = curr % size;
             
             for (int i = 0; i < 4; i++) {
-                int nx = current.getX() + DX[i];
-                int ny = current.getY() + DY[i];
-                String key = nx + "," + ny;
+                int nx = cx + DX[i];
+                int ny = cy + DY[i];
+                if (nx < 0 || nx >= size || ny < 0 || ny >= size) continue;
                 
-                if (maze.isValidPosition(nx, ny) && !distance.containsKey(key)) {
-                    MazeCell cell = maze.getCell(nx, ny);
-                    if (cell.isWalkable() || cell.getCode() == 9 || cell.getCode() == 0) {
-                        distance.put(key, currentDist + 1);
-                        queue.add(new Position(nx, ny));
-                    }
+                int next = nx * size + ny;
+                if (dist[next] >= 0) continue;
+                
+                int code = grid.get(next);
+                if (code != 4 && code != 5) {
+                    dist[next] = dist[curr] + 1;
+                    queue[tail++] = next;
                 }
             }
         }
-        
-        return -1;
+        return dist;
     }
     
-    private boolean validateMinimumPathLength(Maze maze, int size) {
+    private int calculateShortestPath(Maze maze, Position start, Position goal) {
+        MazeGrid grid = maze.getGrid();
+        return distanceField(grid, start)[grid.index(goal.getX(), goal.getY())];
+    }
+    
+    private boolean validateMinimumPathLength(Maze maze, int[][] distances, Position goal, int size) {
         int minimumRequired = size * 2;
         
-        List<Position> starts = new ArrayList<>();
-        Position goal = null;
-        
-        for (int i = 0; i < size; i++) {
-            for (int j = 0; j < size; j++) {
-                MazeCell cell = maze.getCell(i, j);
-                if (cell.getCode() == 0) {
-                    starts.add(new Position(i, j));
-                } else if (cell.getCode() == 9) {
-                    goal = new Position(i, j);
-                }
-            }
-        }
-        
-        if (goal == null || starts.isEmpty()) {
+        if (goal == null || distances.length == 0) {
             return false;
         }
         
-        for (Position start : starts) {
-            int pathLength = calculateShortestPath(maze, start, goal);
+        int cell = maze.getGrid().index(goal.getX(), goal.getY());
+        for (int[] dist : distances) {
+            int pathLength = dist[cell];
             if (pathLength < 0 || pathLength < minimumRequired) {
                 return false;
             }
@@ -375,8 +402,8 @@ public class MazeGenerator {
                 int x = 1 + random.nextInt(size - 2);
                 int y = 1 + random.nextInt(size - 2);
                 
-                MazeCell cell = maze.getCell(x, y);
-                if (cell.getCode() == 3) {
+                int code = maze.getCode(x, y);
+                if (code == 3) {
                     maze.setCell(x, y, 6);
                     break;
                 }
@@ -394,12 +421,13 @@ public class MazeGenerator {
         initializeAllWalls(maze, size);
         List<Position> starts = placeStartPoints(maze, size);
         generateMazeWithPrims(maze, starts, size);
+        int[][] distances = startDistances(maze.getGrid(), starts);
         
         List<Position> walkableCells = new ArrayList<>();
         for (int i = 1; i < size - 1; i++) {
             for (int j = 1; j < size - 1; j++) {
-                MazeCell cell = maze.getCell(i, j);
-                if (cell.getCode() == 3) {
+                int code = maze.getCode(i, j);
+                if (code == 3) {
                     walkableCells.add(new Position(i, j));
                 }
             }
@@ -409,16 +437,16 @@ public class MazeGenerator {
         int bestMinDist = -1;
         
         for (Position cell : walkableCells) {
+            int index = maze.getGrid().index(cell.getX(), cell.getY());
             int minDistFromStarts = Integer.MAX_VALUE;
             boolean reachable = true;
             
-            for (Position start : starts) {
-                int dist = calculateShortestPath(maze, start, cell);
-                if (dist < 0) {
+            for (int[] dist : distances) {
+                if (dist[index] < 0) {
                     reachable = false;
                     break;
                 }
-                minDistFromStarts = Math.min(minDistFromStarts, dist);
+                minDistFromStarts = Math.min(minDistFromStarts, dist[index]);
             }
             
             if (reachable && minDistFromStarts > bestMinDist) {
@@ -0,0 +1,146 @@
+package com.example.secuproject.log;
+
+import java.io.Closeable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 게임 로그 백그라운드 저장기
+ * 끝난 게임의 로그 저장을 요청 스레드 대신 전용 스레드에서 처리하고, 저장된 파일명은 future로 알려줍니다.
+ * 큐가 가득 차면 요청 스레드가 직접 저장(caller-runs)하므로 로그는 버려지지 않습니다.
+ */
+public class AsyncLogWriter implements Closeable {
+    // 쓰기 시간 히스토그램 구간 상한 (밀리초), 마지막 구간은 그 이상
+    private static final long[] LATENCY_BOUNDS_MS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000};
+
+    private final ThreadPoolExecutor executor;
+    private final int capacity;
+
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong callerRuns = new AtomicLong();
+    private final AtomicLong totalWriteNanos = new AtomicLong();
+    private final AtomicLong maxWriteNanos = new AtomicLong();
+    private final AtomicInteger maxQueueDepth = new AtomicInteger();
+    private final AtomicLongArray latencyBuckets = new AtomicLongArray(LATENCY_BOUNDS_MS.length + 1);
+
+    /**
+     * @param capacity 대기 큐 크기 (넘치면 요청 스레드가 직접 저장)
+     */
+    public AsyncLogWriter(int capacity) {
+        this.capacity = Math.max(1, capacity);
+        // 큐가 가득 찼거나 종료 중이면 요청 스레드에서 바로 저장
+        RejectedExecutionHandler callerRunsPolicy = (task, pool) -> {
+            callerRuns.incrementAndGet();
+            task.run();
+        };
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(this.capacity), r -> {
+                Thread t = new Thread(r, "game-log-writer");
+                t.setDaemon(true);
+                return t;
+            }, callerRunsPolicy);
+    }
+
+    /**
+     * 저장 작업을 큐에 넣습니다
+     * @param task 로그를 저장하고 파일명을 돌려주는 작업 (실패 시 null)
+     * @return 저장된 파일명을 담을 future
+     */
+    public CompletableFuture<String> submit(Callable<String> task) {
+        CompletableFuture<String> result = new CompletableFuture<>();
+        submitted.incrementAndGet();
+        Runnable write = () -> {
+            long start = System.nanoTime();
+            try {
+                String file = task.call();
+                if (file == null) {
+                    failed.incrementAndGet();
+                }
+                result.complete(file);
+            } catch (Exception e) {
+                failed.incrementAndGet();
+                result.completeExceptionally(e);
+            } finally {
+                record(System.nanoTime() - start);
+            }
+        };
+        executor.execute(write);
+        int depth = executor.getQueue().size();
+        maxQueueDepth.accumulateAndGet(depth, Math::max);
+        return result;
+    }
+
+    private void record(long nanos) {
+        completed.incrementAndGet();
+        totalWriteNanos.addAndGet(nanos);
+        maxWriteNanos.accumulateAndGet(nanos, Math::max);
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        int bucket = 0;
+        while (bucket < LATENCY_BOUNDS_MS.length && millis >= LATENCY_BOUNDS_MS[bucket]) {
+            bucket++;
+        }
+        latencyBuckets.incrementAndGet(bucket);
+    }
+
+    /**
+     * 현재 대기 중인 저장 작업 수
+     */
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * 백프레셔 지표 (큐 깊이, 쓰기 시간 분포 등)
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        long done = completed.get();
+        stats.put("queueDepth", getQueueDepth());
+        stats.put("maxQueueDepth", maxQueueDepth.get());
+        stats.put("queueCapacity", capacity);
+        stats.put("submitted", submitted.get());
+        stats.put("completed", done);
+        stats.put("failed", failed.get());
+        stats.put("callerRuns", callerRuns.get());
+        stats.put("avgWriteMillis", done == 0 ? 0.0 : totalWriteNanos.get() / 1e6 / done);
+        stats.put("maxWriteMillis", maxWriteNanos.get() / 1e6);
+
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        for (int i = 0; i < latencyBuckets.length(); i++) {
+            String label = i < LATENCY_BOUNDS_MS.length
+                ? "<" + LATENCY_BOUNDS_MS[i] + "ms"
+                : ">=" + LATENCY_BOUNDS_MS[LATENCY_BOUNDS_MS.length - 1] + "ms";
+            histogram.put(label, latencyBuckets.get(i));
+        }
+        stats.put("writeLatency", histogram);
+        return stats;
+    }
+
+    /**
+     * 남은 저장 작업을 모두 끝낸 뒤 종료합니다
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                System.err.println("✗ 로그 저장 대기 시간 초과, 남은 작업: " + executor.getQueue().size());
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
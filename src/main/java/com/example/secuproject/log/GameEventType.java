@@ -0,0 +1,55 @@
+package com.example.secuproject.log;
+
+/**
+ * 이진 로그에서 이벤트 종류를 1바이트로 저장하기 위한 코드표
+ * 코드표에 없는 종류는 OTHER로 저장하고 이름을 문자열 테이블에 남깁니다.
+ */
+public enum GameEventType {
+    OTHER(0),
+    MOVE(1),
+    AI_MOVE(2),
+    ITEM_TORCH(3),
+    ITEM_HAMMER(4),
+    TRAP(5),
+    ARRIVE(6);
+
+    private static final GameEventType[] BY_CODE = new GameEventType[7];
+
+    static {
+        for (GameEventType type : values()) {
+            BY_CODE[type.code] = type;
+        }
+    }
+
+    private final byte code;
+
+    GameEventType(int code) {
+        this.code = (byte) code;
+    }
+
+    public byte getCode() {
+        return code;
+    }
+
+    /**
+     * 이벤트 이름 → 코드 (대소문자 구분, 모르는 이름은 OTHER)
+     */
+    public static GameEventType fromName(String name) {
+        if (name == null) {
+            return OTHER;
+        }
+        for (int i = 1; i < BY_CODE.length; i++) {
+            if (BY_CODE[i].name().equals(name)) {
+                return BY_CODE[i];
+            }
+        }
+        return OTHER;
+    }
+
+    public static GameEventType fromCode(int code) {
+        if (code < 0 || code >= BY_CODE.length) {
+            return OTHER;
+        }
+        return BY_CODE[code];
+    }
+}
@@ -0,0 +1,257 @@
+package com.example.secuproject.log;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * 게임 한 판의 추가 전용(append-only) 이벤트 저널
+ * 이벤트를 메모리에 모으지 않고 GameLogCodec 형식으로 파일에 바로 이어 씁니다.
+ * 쓰기는 버퍼에 모았다가 N개 이벤트 또는 M밀리초마다 한 번에 FileChannel로 내보내는 그룹 커밋 방식입니다.
+ * 파일은 커밋할 때만 열었다 닫으므로, 진행 중인 게임은 파일 핸들 없이 커밋 전 이벤트만큼의 힙 버퍼만 잡습니다.
+ * 서버가 도중에 죽어도 recover()로 마지막으로 커밋된 이벤트까지 GameLog를 복원할 수 있습니다.
+ */
+public class GameJournal implements Closeable {
+    private final Path path;
+    private final PendingOutputStream out;
+    private final GameLogCodec.Writer writer;
+    private final int commitEvents;
+    private final long commitMillis;
+
+    private int pendingEvents;
+    private long lastCommitTime;
+
+    private GameJournal(Path path, int commitEvents, long commitMillis, boolean fsync) {
+        this.path = path;
+        this.out = new PendingOutputStream(path, fsync);
+        this.writer = new GameLogCodec.Writer(out);
+        this.commitEvents = Math.max(1, commitEvents);
+        this.commitMillis = Math.max(0, commitMillis);
+        this.lastCommitTime = System.currentTimeMillis();
+    }
+
+    /**
+     * 새 저널 파일을 만들고 헤더(게임 정보, 초기 미로)를 기록합니다
+     */
+    public static GameJournal create(Path path, GameLog header,
+                                     int commitEvents, long commitMillis, boolean fsync) throws IOException {
+        Files.createDirectories(path.getParent());
+        GameJournal journal = new GameJournal(path, commitEvents, commitMillis, fsync);
+        journal.writer.writeHeader(header);
+        journal.commit();
+        return journal;
+    }
+
+    /**
+     * 이벤트 하나 추가 (커밋 조건을 만족하면 디스크로 내보냄)
+     */
+    public void append(GameEvent event) throws IOException {
+        writer.writeEvent(event);
+        pendingEvents++;
+        if (pendingEvents >= commitEvents) {
+            commit();
+        } else {
+            commitIfDue(System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * 커밋 안 된 이벤트가 있고 마지막 커밋 후 commitMillis가 지났으면 커밋합니다
+     * 입력이 끊긴 게임도 제때 디스크에 남도록 타이머에서도 호출합니다.
+     * @return 커밋했으면 true
+     */
+    public boolean commitIfDue(long now) throws IOException {
+        if (pendingEvents == 0 || now - lastCommitTime < commitMillis) {
+            return false;
+        }
+        commit();
+        return true;
+    }
+
+    /**
+     * 버퍼에 모인 이벤트를 파일로 내보냅니다
+     */
+    public void commit() throws IOException {
+        writer.flush();
+        out.drain();
+        pendingEvents = 0;
+        lastCommitTime = System.currentTimeMillis();
+    }
+
+    /**
+     * 종료 레코드를 쓰고 저널을 닫습니다 (파일은 그대로 완전한 로그가 됨)
+     */
+    public void finish(GameLog log) throws IOException {
+        writer.writeEnd(log);
+        commit();
+    }
+
+    /**
+     * 저장하지 않을 게임의 저널을 지웁니다 (복구 대상에서도 빠짐)
+     */
+    public void discard() throws IOException {
+        out.reset();
+        pendingEvents = 0;
+        Files.deleteIfExists(path);
+    }
+
+    public int getEventCount() {
+        return writer.getEventCount();
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * 남은 버퍼를 파일로 내보냅니다 (열어 둔 파일이 없으므로 그 외에 할 일은 없음)
+     */
+    @Override
+    public void close() throws IOException {
+        writer.flush();
+        out.drain();
+    }
+
+    /**
+     * 파일에 커밋된 부분과 아직 버퍼에 남은 부분을 이어 읽어 지금까지 기록한 GameLog를 복원합니다
+     * 커밋이 실패해 메모리 기록으로 넘어갈 때 쓰며, 버퍼를 다시 내보내지 않으므로
+     * 실패한 쓰기가 파일 끝에 남긴 바이트와 상관없이 이벤트가 빠지거나 겹치지 않습니다.
+     */
+    public GameLog readBack() throws IOException {
+        long length = out.committedLength();
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException("저널이 너무 큽니다: " + length);
+        }
+        byte[] committed = new byte[0];
+        if (length > 0) {
+            try (InputStream in = Files.newInputStream(path)) {
+                committed = in.readNBytes((int) length);
+            }
+            if (committed.length < length) {
+                throw new IOException("커밋된 저널이 잘렸습니다: " + committed.length + " < " + length);
+            }
+        }
+        InputStream in = new SequenceInputStream(new ByteArrayInputStream(committed), out.pendingBytes());
+        return GameLogCodec.read(in, true);
+    }
+
+    /**
+     * 중간에 끊긴 저널에서 GameLog 복원 (마지막 완전한 이벤트까지)
+     */
+    public static GameLog recover(Path path) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(path), 64 * 1024)) {
+            GameLog log = GameLogCodec.read(in, true);
+            if (log.getEndTime() == 0) {
+                // 종료 기록 없이 끊긴 게임: 마지막 이벤트 시각을 종료 시각으로
+                int n = log.getEvents().size();
+                log.setEndTime(n > 0 ? log.getEvents().get(n - 1).getTimestamp() : log.getStartTime());
+            }
+            return log;
+        }
+    }
+
+    /**
+     * 커밋 전 바이트를 힙 배열에 모았다가, drain() 때만 파일을 열어 이어 쓰고 닫는 출력 스트림
+     * 헤더(인라인 미로)처럼 한 번 크게 자란 배열은 내보낸 뒤 기본 크기로 돌려놓습니다.
+     * 항상 마지막으로 다 쓴 위치부터 쓰므로, 도중에 실패한 쓰기를 다시 해도 바이트가 겹치지 않습니다.
+     */
+    private static final class PendingOutputStream extends OutputStream {
+        private static final int INITIAL_CAPACITY = 512;
+        private static final int RETAINED_CAPACITY = 4 * 1024;
+        // 한 번에 모아 둘 최대 크기 (넘으면 커밋 전이라도 파일로 내보냄)
+        private static final int MAX_CAPACITY = 64 * 1024;
+
+        private final Path path;
+        private final boolean fsync;
+        private byte[] buffer = new byte[INITIAL_CAPACITY];
+        private int count;
+        // 첫 번째로 내보낼 때는 같은 이름의 이전 파일을 비우고 씀
+        private boolean created;
+        // 파일에 끝까지 쓰인 바이트 수 (실패한 쓰기가 남긴 꼬리는 포함하지 않음)
+        private long written;
+
+        PendingOutputStream(Path path, boolean fsync) {
+            this.path = path;
+            this.fsync = fsync;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            ensureRoom(1);
+            buffer[count++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                ensureRoom(len);
+                int n = Math.min(len, buffer.length - count);
+                System.arraycopy(b, off, buffer, count, n);
+                count += n;
+                off += n;
+                len -= n;
+            }
+        }
+
+        private void ensureRoom(int len) throws IOException {
+            if (buffer.length - count >= len) {
+                return;
+            }
+            if (buffer.length < MAX_CAPACITY) {
+                buffer = Arrays.copyOf(buffer, Math.min(MAX_CAPACITY, Math.max(buffer.length * 2, count + len)));
+            } else if (count == buffer.length) {
+                drain();
+            }
+        }
+
+        void drain() throws IOException {
+            if (count == 0 && created) {
+                return;
+            }
+            try (FileChannel channel = created
+                    ? FileChannel.open(path, StandardOpenOption.WRITE)
+                    : FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING)) {
+                if (channel.size() > written) {
+                    channel.truncate(written);
+                }
+                channel.position(written);
+                ByteBuffer bytes = ByteBuffer.wrap(buffer, 0, count);
+                while (bytes.hasRemaining()) {
+                    channel.write(bytes);
+                }
+                if (fsync) {
+                    channel.force(false);
+                }
+            }
+            created = true;
+            written += count;
+            reset();
+        }
+
+        long committedLength() {
+            return written;
+        }
+
+        InputStream pendingBytes() {
+            return new ByteArrayInputStream(buffer, 0, count);
+        }
+
+        void reset() {
+            count = 0;
+            if (buffer.length > RETAINED_CAPACITY) {
+                buffer = new byte[INITIAL_CAPACITY];
+            }
+        }
+    }
+}
@@ -11,7 +11,8 @@ public class GameLog implements Serializable {
     private long startTime;             // 게임 시작 시간
     private long endTime;               // 게임 종료 시간
     private int mazeSize;               // 미로 크기
-    private int[][] initialMaze;        // 게임 시작 시 미로 상태
+    private int[][] initialMaze;        // 게임 시작 시 미로 상태 (mazeHash가 있으면 로드할 때만 채워짐)
+    private String mazeHash;            // 미로 저장소(MazeStore)의 초기 미로 해시
     private int initialPlayerX;         // 초기 플레이어 X
     private int initialPlayerY;         // 초기 플레이어 Y
     private int initialEnemyX;          // 초기 AI X
@@ -52,6 +53,9 @@ public class GameLog implements Serializable {
     public int[][] getInitialMaze() { return initialMaze; }
     public void setInitialMaze(int[][] initialMaze) { this.initialMaze = initialMaze; }
 
+    public String getMazeHash() { return mazeHash; }
+    public void setMazeHash(String mazeHash) { this.mazeHash = mazeHash; }
+
     public int getInitialPlayerX() { return initialPlayerX; }
     public void setInitialPlayerX(int initialPlayerX) { this.initialPlayerX = initialPlayerX; }
 
@@ -0,0 +1,464 @@
+package com.example.secuproject.log;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 게임 로그 이진 형식 (버전 2)
+ *
+ * <pre>
+ * 헤더:  "SGLB" | version(1) | gameId | startTime(8) | mazeSize | 초기 좌표 4개 | 미로 참조
+ * 미로 참조: 0 | 미로 (본문을 그대로 씀)  또는  1 | SHA-256(32) (MazeStore에 저장된 미로)
+ * 미로:  rows, cols, encoding(0=4비트 패킹, 1=칸별 varint), 셀 데이터
+ * 레코드: EVENT(1) | type(1) [이름] | direction | Δtimestamp | 좌표 4개 | success | message
+ *        END(0xFF) | endTime(8) | winner 비트 | 이벤트 수
+ * </pre>
+ *
+ * 버전 1은 미로 참조 대신 미로 본문만 있습니다 (읽기만 지원).
+ * 정수는 zigzag varint, 타임스탬프는 직전 이벤트와의 차이로 저장합니다.
+ * 문자열은 처음 나올 때만 본문을 쓰고 이후에는 테이블 번호로 참조하므로
+ * 헤더를 다시 쓰지 않고 이벤트를 한 개씩 이어 쓸 수 있습니다.
+ */
+public final class GameLogCodec {
+    static final byte[] MAGIC = {'S', 'G', 'L', 'B'};
+    static final int VERSION = 2;
+    private static final int VERSION_INLINE_MAZE = 1;
+
+    private static final int RECORD_EVENT = 1;
+    private static final int RECORD_END = 0xFF;
+
+    private static final int MAZE_NIBBLES = 0;
+    private static final int MAZE_VARINTS = 1;
+    private static final int MAX_MAZE_SIDE = 1 << 14;
+    private static final int MAX_STRING_BYTES = 1 << 16;
+
+    private static final int MAZE_REF_INLINE = 0;
+    private static final int MAZE_REF_HASH = 1;
+
+    // 문자열 참조: 0 = null, 1 = 새 문자열 본문이 이어짐, n >= 2 = 테이블[n - 2]
+    private static final int STRING_NULL = 0;
+    private static final int STRING_LITERAL = 1;
+
+    private GameLogCodec() {}
+
+    /**
+     * 로그 전체를 이진 형식으로 씁니다
+     */
+    public static void write(GameLog log, OutputStream out) throws IOException {
+        Writer writer = new Writer(out);
+        writer.writeHeader(log);
+        if (log.getEvents() != null) {
+            for (GameEvent event : log.getEvents()) {
+                writer.writeEvent(event);
+            }
+        }
+        writer.writeEnd(log);
+        writer.flush();
+    }
+
+    /**
+     * 이진 형식 로그를 읽습니다 (END 레코드까지 완전해야 함)
+     */
+    public static GameLog read(InputStream in) throws IOException {
+        return read(in, false);
+    }
+
+    /**
+     * 이진 형식 로그를 읽습니다
+     * @param allowTruncated true면 중간에 끊긴 파일도 마지막 완전한 이벤트까지 복구합니다
+     */
+    public static GameLog read(InputStream in, boolean allowTruncated) throws IOException {
+        Reader reader = new Reader(in);
+        GameLog log = reader.readHeader();
+        while (true) {
+            int tag;
+            try {
+                tag = reader.in.readUnsignedByte();
+            } catch (EOFException e) {
+                if (allowTruncated) {
+                    return log;
+                }
+                throw e;
+            }
+            if (tag == RECORD_END) {
+                try {
+                    reader.readEnd(log);
+                } catch (EOFException e) {
+                    // 종료 기록을 쓰다 끊김: 이벤트는 모두 온전하므로 끝나지 않은 게임으로 돌려줌
+                    if (!allowTruncated) {
+                        throw e;
+                    }
+                }
+                return log;
+            }
+            if (tag != RECORD_EVENT) {
+                if (allowTruncated) {
+                    return log;
+                }
+                throw new IOException("알 수 없는 레코드: " + tag);
+            }
+            GameEvent event;
+            try {
+                event = reader.readEvent();
+            } catch (EOFException e) {
+                if (allowTruncated) {
+                    return log;
+                }
+                throw e;
+            }
+            log.addEvent(event);
+        }
+    }
+
+    /**
+     * 스트림 앞부분이 이진 로그 형식인지 확인합니다 (mark 지원 스트림 필요)
+     */
+    public static boolean isBinaryLog(InputStream in) throws IOException {
+        in.mark(MAGIC.length);
+        try {
+            for (byte b : MAGIC) {
+                if (in.read() != (b & 0xFF)) {
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            in.reset();
+        }
+    }
+
+    /**
+     * 이벤트를 하나씩 이어 쓰는 작성기 (문자열 테이블과 직전 타임스탬프를 유지)
+     */
+    public static final class Writer {
+        private final DataOutputStream out;
+        private final Map<String, Integer> strings = new HashMap<>();
+        private long lastTimestamp;
+        private int eventCount;
+
+        public Writer(OutputStream out) {
+            this.out = out instanceof DataOutputStream ? (DataOutputStream) out : new DataOutputStream(out);
+        }
+
+        public void writeHeader(GameLog log) throws IOException {
+            out.write(MAGIC);
+            out.writeByte(VERSION);
+            writeString(log.getGameId());
+            out.writeLong(log.getStartTime());
+            writeVarInt(log.getMazeSize());
+            writeSignedVarInt(log.getInitialPlayerX());
+            writeSignedVarInt(log.getInitialPlayerY());
+            writeSignedVarInt(log.getInitialEnemyX());
+            writeSignedVarInt(log.getInitialEnemyY());
+            if (MazeStore.isHash(log.getMazeHash())) {
+                out.writeByte(MAZE_REF_HASH);
+                out.write(HexFormat.of().parseHex(log.getMazeHash()));
+            } else {
+                out.writeByte(MAZE_REF_INLINE);
+                writeMaze(log.getInitialMaze());
+            }
+            lastTimestamp = log.getStartTime();
+        }
+
+        public void writeEvent(GameEvent event) throws IOException {
+            out.writeByte(RECORD_EVENT);
+            GameEventType type = GameEventType.fromName(event.getEventType());
+            out.writeByte(type.getCode());
+            if (type == GameEventType.OTHER) {
+                writeString(event.getEventType());
+            }
+            writeVarInt(event.getDirection());
+            writeSignedVarLong(event.getTimestamp() - lastTimestamp);
+            lastTimestamp = event.getTimestamp();
+            writeSignedVarInt(event.getPlayerX());
+            writeSignedVarInt(event.getPlayerY());
+            writeSignedVarInt(event.getEnemyX());
+            writeSignedVarInt(event.getEnemyY());
+            out.writeByte(event.isSuccess() ? 1 : 0);
+            writeString(event.getMessage());
+            eventCount++;
+        }
+
+        public void writeEnd(GameLog log) throws IOException {
+            out.writeByte(RECORD_END);
+            out.writeLong(log.getEndTime());
+            out.writeByte((log.isPlayerWon() ? 1 : 0) | (log.isEnemyWon() ? 2 : 0));
+            writeVarInt(eventCount);
+        }
+
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        public int getEventCount() {
+            return eventCount;
+        }
+
+        private void writeMaze(int[][] maze) throws IOException {
+            if (maze == null || maze.length == 0) {
+                writeVarInt(0);
+                return;
+            }
+            int rows = maze.length;
+            int cols = maze[0].length;
+            boolean nibbles = true;
+            for (int[] row : maze) {
+                if (row.length != cols) {
+                    nibbles = false;
+                    break;
+                }
+                for (int v : row) {
+                    if (v < 0 || v > 15) {
+                        nibbles = false;
+                        break;
+                    }
+                }
+            }
+            writeVarInt(rows);
+            writeVarInt(cols);
+            if (nibbles) {
+                out.writeByte(MAZE_NIBBLES);
+                byte[] packed = new byte[(rows * cols + 1) / 2];
+                int idx = 0;
+                for (int[] row : maze) {
+                    for (int v : row) {
+                        packed[idx >> 1] |= (byte) ((idx & 1) == 0 ? v : v << 4);
+                        idx++;
+                    }
+                }
+                out.write(packed);
+            } else {
+                out.writeByte(MAZE_VARINTS);
+                for (int[] row : maze) {
+                    writeVarInt(row.length);
+                    for (int v : row) {
+                        writeSignedVarInt(v);
+                    }
+                }
+            }
+        }
+
+        private void writeString(String s) throws IOException {
+            if (s == null) {
+                writeVarInt(STRING_NULL);
+                return;
+            }
+            Integer index = strings.get(s);
+            if (index != null) {
+                writeVarInt(index + 2);
+                return;
+            }
+            strings.put(s, strings.size());
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(STRING_LITERAL);
+            writeVarInt(bytes.length);
+            out.write(bytes);
+        }
+
+        private void writeSignedVarInt(int v) throws IOException {
+            writeVarInt((v << 1) ^ (v >> 31));
+        }
+
+        private void writeVarInt(int v) throws IOException {
+            while ((v & ~0x7F) != 0) {
+                out.writeByte((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            out.writeByte(v);
+        }
+
+        private void writeSignedVarLong(long v) throws IOException {
+            long z = (v << 1) ^ (v >> 63);
+            while ((z & ~0x7FL) != 0) {
+                out.writeByte((int) ((z & 0x7F) | 0x80));
+                z >>>= 7;
+            }
+            out.writeByte((int) z);
+        }
+    }
+
+    private static final class Reader {
+        private final DataInputStream in;
+        private final List<String> strings = new ArrayList<>();
+        private long lastTimestamp;
+
+        Reader(InputStream in) {
+            this.in = in instanceof DataInputStream ? (DataInputStream) in : new DataInputStream(in);
+        }
+
+        GameLog readHeader() throws IOException {
+            byte[] magic = new byte[MAGIC.length];
+            in.readFully(magic);
+            for (int i = 0; i < MAGIC.length; i++) {
+                if (magic[i] != MAGIC[i]) {
+                    throw new IOException("게임 로그 형식이 아닙니다");
+                }
+            }
+            int version = in.readUnsignedByte();
+            if (version != VERSION && version != VERSION_INLINE_MAZE) {
+                throw new IOException("지원하지 않는 로그 버전: " + version);
+            }
+            GameLog log = new GameLog();
+            log.setGameId(readString());
+            log.setStartTime(in.readLong());
+            log.setMazeSize(readVarInt());
+            log.setInitialPlayerX(readSignedVarInt());
+            log.setInitialPlayerY(readSignedVarInt());
+            log.setInitialEnemyX(readSignedVarInt());
+            log.setInitialEnemyY(readSignedVarInt());
+            int mazeRef = version == VERSION_INLINE_MAZE ? MAZE_REF_INLINE : in.readUnsignedByte();
+            if (mazeRef == MAZE_REF_HASH) {
+                byte[] hash = new byte[MazeStore.HASH_BYTES];
+                in.readFully(hash);
+                log.setMazeHash(HexFormat.of().formatHex(hash));
+            } else if (mazeRef == MAZE_REF_INLINE) {
+                log.setInitialMaze(readMaze());
+            } else {
+                throw new IOException("알 수 없는 미로 참조: " + mazeRef);
+            }
+            lastTimestamp = log.getStartTime();
+            return log;
+        }
+
+        GameEvent readEvent() throws IOException {
+            GameEventType type = GameEventType.fromCode(in.readUnsignedByte());
+            String typeName = type == GameEventType.OTHER ? readString() : type.name();
+            char direction = (char) readVarInt();
+            long timestamp = lastTimestamp + readSignedVarLong();
+            lastTimestamp = timestamp;
+            int playerX = readSignedVarInt();
+            int playerY = readSignedVarInt();
+            int enemyX = readSignedVarInt();
+            int enemyY = readSignedVarInt();
+            boolean success = in.readUnsignedByte() != 0;
+            String message = readString();
+            return new GameEvent(timestamp, typeName, direction,
+                playerX, playerY, enemyX, enemyY, message, success);
+        }
+
+        /**
+         * 종료 기록을 끝까지 읽은 뒤에만 log에 반영 (도중에 끊기면 log는 그대로)
+         */
+        void readEnd(GameLog log) throws IOException {
+            long endTime = in.readLong();
+            int winners = in.readUnsignedByte();
+            int eventCount = readVarInt();
+            if (eventCount != log.getEvents().size()) {
+                throw new IOException("이벤트 수가 맞지 않습니다: " + eventCount + " != " + log.getEvents().size());
+            }
+            log.setEndTime(endTime);
+            log.setPlayerWon((winners & 1) != 0);
+            log.setEnemyWon((winners & 2) != 0);
+        }
+
+        private int[][] readMaze() throws IOException {
+            int rows = readVarInt();
+            if (rows == 0) {
+                return null;
+            }
+            int cols = readVarInt();
+            if (rows < 0 || cols < 0) {
+                throw new IOException("잘못된 미로 크기: " + rows + "x" + cols);
+            }
+            if (rows > MAX_MAZE_SIDE || cols > MAX_MAZE_SIDE) {
+                throw new IOException("미로 크기가 너무 큽니다: " + rows + "x" + cols);
+            }
+            int encoding = in.readUnsignedByte();
+            int[][] maze = new int[rows][];
+            if (encoding == MAZE_NIBBLES) {
+                // 바이트를 읽는 만큼만 행을 할당 (크기만 큰 손상 파일이 메모리를 미리 잡지 않도록)
+                int idx = 0;
+                int b = 0;
+                for (int i = 0; i < rows; i++) {
+                    int[] row = new int[cols];
+                    for (int j = 0; j < cols; j++, idx++) {
+                        if ((idx & 1) == 0) {
+                            b = in.readUnsignedByte();
+                            row[j] = b & 0x0F;
+                        } else {
+                            row[j] = (b >> 4) & 0x0F;
+                        }
+                    }
+                    maze[i] = row;
+                }
+            } else if (encoding == MAZE_VARINTS) {
+                for (int i = 0; i < rows; i++) {
+                    int length = readVarInt();
+                    if (length < 0 || length > MAX_MAZE_SIDE) {
+                        throw new IOException("잘못된 미로 행 길이: " + length);
+                    }
+                    int[] row = new int[length];
+                    for (int j = 0; j < row.length; j++) {
+                        row[j] = readSignedVarInt();
+                    }
+                    maze[i] = row;
+                }
+            } else {
+                throw new IOException("알 수 없는 미로 인코딩: " + encoding);
+            }
+            return maze;
+        }
+
+        private String readString() throws IOException {
+            int ref = readVarInt();
+            if (ref == STRING_NULL) {
+                return null;
+            }
+            if (ref == STRING_LITERAL) {
+                int length = readVarInt();
+                if (length < 0 || length > MAX_STRING_BYTES) {
+                    throw new IOException("잘못된 문자열 길이: " + length);
+                }
+                byte[] bytes = new byte[length];
+                in.readFully(bytes);
+                String s = new String(bytes, StandardCharsets.UTF_8);
+                strings.add(s);
+                return s;
+            }
+            int index = ref - 2;
+            if (index < 0 || index >= strings.size()) {
+                throw new IOException("잘못된 문자열 참조: " + index);
+            }
+            return strings.get(index);
+        }
+
+        private int readSignedVarInt() throws IOException {
+            int z = readVarInt();
+            return (z >>> 1) ^ -(z & 1);
+        }
+
+        private int readVarInt() throws IOException {
+            int result = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                int b = in.readUnsignedByte();
+                result |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new IOException("잘못된 varint");
+        }
+
+        private long readSignedVarLong() throws IOException {
+            long z = 0;
+            for (int shift = 0; shift < 70; shift += 7) {
+                int b = in.readUnsignedByte();
+                z |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return (z >>> 1) ^ -(z & 1);
+                }
+            }
+            throw new IOException("잘못된 varint");
+        }
+    }
+}
@@ -1,18 +1,91 @@
 package com.example.secuproject.log;
 
+import com.example.secuproject.model.MazeGrid;
+
 import java.io.*;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 public class GameLogger {
     private static final String LOG_DIR = "game_logs";
+    private static final String JOURNAL_DIR = "journal";
+    // 로그에는 미로 해시만 남기고 미로 본문은 여기에 한 번만 저장 (기본 디렉토리용, 모든 로거가 같이 씀)
+    private static final MazeStore MAZES = new MazeStore(LOG_DIR + "/mazes");
+
+    // 예전 직렬화(.log) 파일을 읽을 때 허용하는 클래스 (그 외 클래스는 역직렬화 거부)
+    // Object는 ArrayList 내부 배열(Object[])용이며, 원소는 각각 다시 검사됩니다.
+    private static final Set<Class<?>> LEGACY_CLASSES = Set.of(
+        GameLog.class, GameEvent.class, ArrayList.class, String.class, Object.class);
+    private static final ObjectInputFilter LEGACY_FILTER = info -> {
+        if (info.depth() > 8 || info.references() > 10_000_000 || info.arrayLength() > 1 << 20) {
+            return ObjectInputFilter.Status.REJECTED;
+        }
+        Class<?> clazz = info.serialClass();
+        if (clazz == null) {
+            return ObjectInputFilter.Status.UNDECIDED;
+        }
+        while (clazz.isArray()) {
+            clazz = clazz.getComponentType();
+        }
+        return clazz.isPrimitive() || LEGACY_CLASSES.contains(clazz)
+            ? ObjectInputFilter.Status.ALLOWED
+            : ObjectInputFilter.Status.REJECTED;
+    };
+
+    /**
+     * 로그 파일 저장이 끝났을 때 알림
+     * 저널 모드에서는 이벤트가 GameLog가 아니라 파일에만 있으므로 이벤트 수를 따로 넘깁니다.
+     */
+    public interface SaveListener {
+        void saved(String filename, GameLog log, int eventCount);
+    }
+
+    private final String logDir;
+    private final MazeStore mazes;
     private GameLog currentLog;
 
+    // 저널 모드: 이벤트를 메모리에 모으지 않고 게임별 저널 파일에 바로 기록
+    private final boolean journaling;
+    private final int commitEvents;
+    private final long commitMillis;
+    private GameJournal journal;
+    private volatile SaveListener saveListener;
+
     public GameLogger() {
+        this(false, 0, 0);
+    }
+
+    /**
+     * @param journaling   true면 저널 모드 (게임 길이와 무관하게 메모리 사용량 일정)
+     * @param commitEvents 저널을 디스크로 내보내는 이벤트 개수 간격
+     * @param commitMillis 저널을 디스크로 내보내는 시간 간격 (밀리초)
+     */
+    public GameLogger(boolean journaling, int commitEvents, long commitMillis) {
+        this(LOG_DIR, journaling, commitEvents, commitMillis);
+    }
+
+    /**
+     * @param logDir 로그, 저널(logDir/journal), 미로 저장소(logDir/mazes)를 둘 디렉토리
+     */
+    public GameLogger(String logDir, boolean journaling, int commitEvents, long commitMillis) {
+        this.logDir = logDir;
+        this.mazes = LOG_DIR.equals(logDir) ? MAZES : new MazeStore(logDir + "/mazes");
+        this.journaling = journaling;
+        this.commitEvents = commitEvents;
+        this.commitMillis = commitMillis;
         // 로그 디렉토리 생성
-        File logDir = new File(LOG_DIR);
-        if (!logDir.exists()) {
-            logDir.mkdirs();
+        File dir = new File(logDir);
+        if (!dir.exists()) {
+            dir.mkdirs();
         }
     }
 
@@ -21,13 +94,85 @@ public class GameLogger {
      */
     public void startNewGame(int mazeSize, int[][] maze, 
                            int playerX, int playerY, int enemyX, int enemyY) {
+        if (isPackable(maze)) {
+            startNewGame(mazeSize, MazeGrid.fromArray(maze), playerX, playerY, enemyX, enemyY);
+            return;
+        }
+        // 정사각형이 아니거나 0~15 밖의 코드가 있는 맵은 로그에 그대로 복사
         currentLog = new GameLog();
         currentLog.setMazeSize(mazeSize);
         currentLog.setInitialMaze(copyMaze(maze));
+        startLog(playerX, playerY, enemyX, enemyY);
+    }
+
+    /**
+     * 새 게임 로그 시작 (미로는 미로 저장소에 한 번만 저장하고 로그에는 해시만 기록)
+     */
+    public void startNewGame(int mazeSize, MazeGrid maze,
+                             int playerX, int playerY, int enemyX, int enemyY) {
+        currentLog = new GameLog();
+        currentLog.setMazeSize(mazeSize);
+        try {
+            currentLog.setMazeHash(mazes.put(maze));
+        } catch (IOException e) {
+            System.err.println("✗ 미로 저장 실패, 로그에 미로를 직접 기록: " + e.getMessage());
+            currentLog.setInitialMaze(maze.toArray());
+        }
+        startLog(playerX, playerY, enemyX, enemyY);
+    }
+
+    private void startLog(int playerX, int playerY, int enemyX, int enemyY) {
         currentLog.setInitialPlayerX(playerX);
         currentLog.setInitialPlayerY(playerY);
         currentLog.setInitialEnemyX(enemyX);
         currentLog.setInitialEnemyY(enemyY);
+
+        if (journaling) {
+            openJournal();
+        }
+    }
+
+    private void openJournal() {
+        discardJournal();
+        Path path = Paths.get(logDir, JOURNAL_DIR, currentLog.getGameId() + ".journal");
+        try {
+            journal = GameJournal.create(path, currentLog, commitEvents, commitMillis, false);
+        } catch (IOException e) {
+            // 저널을 열지 못하면 이 게임은 메모리에 기록
+            System.err.println("✗ 저널 생성 실패: " + e.getMessage());
+            journal = null;
+        }
+    }
+
+    /**
+     * 저장하지 않고 새 게임으로 넘어간 이전 게임의 저널은 지웁니다
+     * (메모리 기록일 때 이전 로그를 버리는 것과 같게, 다음 기동 때 복구 로그로 남지 않도록)
+     */
+    private void discardJournal() {
+        if (journal != null) {
+            try {
+                journal.discard();
+            } catch (IOException e) {
+                System.err.println("✗ 저널 삭제 실패: " + e.getMessage());
+            }
+            journal = null;
+        }
+    }
+
+    /**
+     * 마지막 커밋 후 commitMillis가 지난 이벤트가 저널에 남아 있으면 커밋합니다
+     * 입력이 없는 게임도 커밋 주기를 지키도록 AI 틱에서 주기적으로 호출합니다.
+     */
+    public void commitJournalIfDue() {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.commitIfDue(System.currentTimeMillis());
+        } catch (IOException e) {
+            System.err.println("✗ 저널 커밋 실패, 메모리 기록으로 전환: " + e.getMessage());
+            switchToMemory();
+        }
     }
 
     /**
@@ -50,9 +195,48 @@ public class GameLogger {
             message,
             success
         );
+        if (journal != null) {
+            int written = journal.getEventCount();
+            try {
+                journal.append(event);
+                return;
+            } catch (IOException e) {
+                System.err.println("✗ 저널 기록 실패, 메모리 기록으로 전환: " + e.getMessage());
+                switchToMemory();
+            }
+            // 커밋만 실패했으면 이 이벤트는 버퍼에서 이미 복원됨
+            if (currentLog == null || currentLog.getEvents().size() > written) {
+                return;
+            }
+        }
         currentLog.addEvent(event);
     }
 
+    /**
+     * 저널 기록이 실패하면 지금까지의 저널 내용을 메모리로 읽어와 이어서 기록
+     * 실패한 버퍼를 다시 내보내지 않고 커밋된 파일 내용과 버퍼를 그대로 읽으며,
+     * 메모리 로그가 다 채워진 뒤에만 저널 파일을 지웁니다.
+     */
+    private void switchToMemory() {
+        GameJournal failed = journal;
+        journal = null;
+        GameLog restored;
+        try {
+            restored = failed.readBack();
+        } catch (IOException | RuntimeException e) {
+            // 저널 파일은 다음 기동 때 복구되므로, 같은 게임이 두 번 저장되지 않게 이 게임은 더 기록하지 않음
+            System.err.println("✗ 저널 복구 실패, 다음 기동 때 저널에서 복구: " + e.getMessage());
+            currentLog = null;
+            return;
+        }
+        currentLog.setEvents(restored.getEvents());
+        try {
+            failed.discard();
+        } catch (IOException e) {
+            System.err.println("✗ 저널 삭제 실패: " + e.getMessage());
+        }
+    }
+
     /**
      * 게임 종료 및 로그 저장
      */
@@ -61,25 +245,137 @@ public class GameLogger {
             return null;
         }
         currentLog.finishGame(playerWon, enemyWon);
-        return saveLog(currentLog);
+        if (journal != null) {
+            GameJournal finished = journal;
+            journal = null;
+            int events = finished.getEventCount();
+            return notifySaved(finishJournal(finished, currentLog), currentLog, events);
+        }
+        return notifySaved(saveLog(currentLog), currentLog, currentLog.getEvents().size());
     }
 
     /**
-     * 로그를 파일로 저장 (직렬화)
+     * 게임 종료 및 로그 저장을 백그라운드 저장기에 맡깁니다
+     * 이 게임의 로그는 저장기로 넘어가므로 바로 다음 게임을 시작해도 됩니다.
+     * @return 저장된 파일 경로를 담을 future (실패 시 null)
      */
-    private String saveLog(GameLog log) {
+    public CompletableFuture<String> finishAndSaveAsync(boolean playerWon, boolean enemyWon,
+                                                        AsyncLogWriter writer) {
+        if (currentLog == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        currentLog.finishGame(playerWon, enemyWon);
+        GameLog log = currentLog;
+        GameJournal finished = journal;
+        journal = null;
+        if (finished != null) {
+            int events = finished.getEventCount();
+            return writer.submit(() -> notifySaved(finishJournal(finished, log), log, events));
+        }
+        return writer.submit(() -> notifySaved(saveLog(log), log, log.getEvents().size()));
+    }
+
+    /**
+     * 저널에 종료 기록을 쓰고, 완성된 파일을 로그 파일 이름으로 옮깁니다
+     */
+    private String finishJournal(GameJournal finished, GameLog log) {
         try {
-            String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
-            String filename = String.format("%s/game_%s_%s.log", 
-                LOG_DIR, timestamp, log.getGameId().substring(0, 8));
-
-            try (ObjectOutputStream oos = new ObjectOutputStream(
-                    new FileOutputStream(filename))) {
-                oos.writeObject(log);
-                oos.flush();
-                System.out.println("✓ 로그 저장: " + filename);
-                return filename;
+            finished.finish(log);
+            String filename = newLogFileName(logDir, log);
+            moveIntoPlace(finished.getPath(), Paths.get(filename));
+            System.out.println("✓ 로그 저장: " + filename);
+            return filename;
+        } catch (IOException e) {
+            System.err.println("✗ 로그 저장 실패: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 비정상 종료로 남은 저널들을 복원해 일반 로그 파일로 저장합니다
+     * @return 복원된 로그 파일 경로들
+     */
+    public static List<String> recoverJournals() {
+        return recoverJournals(LOG_DIR);
+    }
+
+    /**
+     * logDir/journal에 남은 저널들을 복원해 logDir에 로그 파일로 저장합니다
+     */
+    public static List<String> recoverJournals(String logDir) {
+        List<String> recovered = new ArrayList<>();
+        Path dir = Paths.get(logDir, JOURNAL_DIR);
+        if (!Files.isDirectory(dir)) {
+            return recovered;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "*.journal")) {
+            for (Path path : stream) {
+                try {
+                    GameLog log = GameJournal.recover(path);
+                    String filename = newLogFileName(logDir, log);
+                    writeLogFile(log, filename);
+                    Files.delete(path);
+                    recovered.add(filename);
+                    System.out.println("✓ 저널 복구: " + path + " → " + filename);
+                } catch (IOException e) {
+                    System.err.println("✗ 저널 복구 실패: " + path + " (" + e.getMessage() + ")");
+                }
             }
+        } catch (IOException e) {
+            System.err.println("✗ 저널 디렉토리 읽기 실패: " + e.getMessage());
+        }
+        return recovered;
+    }
+
+    /**
+     * 임시 파일에 다 쓴 뒤 이름을 바꿔, 목록에는 완성된 로그 파일만 보이게 합니다
+     */
+    private static void writeLogFile(GameLog log, String filename) throws IOException {
+        Path tmp = Paths.get(filename + ".tmp");
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(tmp), 64 * 1024)) {
+            GameLogCodec.write(log, out);
+        }
+        moveIntoPlace(tmp, Paths.get(filename));
+    }
+
+    private String notifySaved(String filename, GameLog log, int eventCount) {
+        SaveListener listener = saveListener;
+        if (filename != null && listener != null) {
+            listener.saved(filename, log, eventCount);
+        }
+        return filename;
+    }
+
+    /**
+     * 로그 파일 저장이 끝날 때마다 호출될 콜백 (로그 카탈로그 갱신 등)
+     */
+    public void setSaveListener(SaveListener listener) {
+        this.saveListener = listener;
+    }
+
+    private static String newLogFileName(String logDir, GameLog log) {
+        String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
+        return String.format("%s/game_%s_%s.log",
+            logDir, timestamp, log.getGameId().substring(0, 8));
+    }
+
+    private static void moveIntoPlace(Path from, Path to) throws IOException {
+        try {
+            Files.move(from, to, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Files.move(from, to, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * 로그를 파일로 저장 (이진 형식, GameLogCodec 참고)
+     */
+    private String saveLog(GameLog log) {
+        try {
+            String filename = newLogFileName(logDir, log);
+            writeLogFile(log, filename);
+            System.out.println("✓ 로그 저장: " + filename);
+            return filename;
         } catch (IOException e) {
             System.err.println("✗ 로그 저장 실패: " + e.getMessage());
             return null;
@@ -87,20 +383,64 @@ public class GameLogger {
     }
 
     /**
-     * 파일에서 로그 로드 (역직렬화)
+     * 파일에서 로그 로드
+     * 이진 형식이 아니면 예전 직렬화 형식으로 보고, 허용된 로그 클래스만 역직렬화합니다.
      */
     public GameLog loadLog(String filename) {
-        try (ObjectInputStream ois = new ObjectInputStream(
-                new FileInputStream(filename))) {
-            GameLog log = (GameLog) ois.readObject();
+        try (InputStream in = new BufferedInputStream(new FileInputStream(filename), 64 * 1024)) {
+            GameLog log;
+            if (GameLogCodec.isBinaryLog(in)) {
+                log = GameLogCodec.read(in);
+                resolveMaze(log);
+            } else {
+                log = readLegacyLog(in);
+            }
             System.out.println("✓ 로그 로드: " + filename);
             return log;
-        } catch (IOException | ClassNotFoundException e) {
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
             System.err.println("✗ 로그 로드 실패: " + e.getMessage());
             return null;
         }
     }
 
+    private GameLog readLegacyLog(InputStream in) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream ois = new ObjectInputStream(in)) {
+            ois.setObjectInputFilter(LEGACY_FILTER);
+            return (GameLog) ois.readObject();
+        }
+    }
+
+    /**
+     * 해시로만 기록된 초기 미로를 미로 저장소에서 채웁니다
+     */
+    private void resolveMaze(GameLog log) throws IOException {
+        if (log.getInitialMaze() != null || log.getMazeHash() == null) {
+            return;
+        }
+        MazeGrid grid = mazes.get(log.getMazeHash());
+        if (grid == null) {
+            throw new IOException("미로 저장소에 미로가 없습니다: " + log.getMazeHash());
+        }
+        log.setInitialMaze(grid.toArray());
+    }
+
+    private static boolean isPackable(int[][] maze) {
+        if (maze == null || maze.length == 0) {
+            return false;
+        }
+        for (int[] row : maze) {
+            if (row == null || row.length != maze.length) {
+                return false;
+            }
+            for (int v : row) {
+                if (v < 0 || v > MazeGrid.MAX_CODE) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
     /**
      * 2D 배열 복사 (깊은 복사)
      */
@@ -0,0 +1,450 @@
+package com.example.secuproject.log;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+/**
+ * 저장된 게임 로그 목록(카탈로그)
+ * 로그마다 게임 ID, 시각, 미로 크기, 승자, 이벤트 수를 인덱스 파일(game_logs/catalog.idx)에 기록해 두고,
+ * 목록 조회/필터/페이징은 로그 파일을 열지 않고 메모리의 인덱스로 처리합니다.
+ *
+ * 인덱스 파일은 한 줄에 한 항목인 추가 전용 텍스트 파일입니다 (A: 추가/갱신, D: 삭제).
+ * 시작할 때 인덱스를 읽고 디렉토리와 맞춘 뒤 압축해서 다시 쓰며,
+ * 실행 중에는 저장 알림과 디렉토리 감시로 최신 상태를 유지합니다.
+ */
+public class LogCatalog implements Closeable {
+    private static final String INDEX_FILE = "catalog.idx";
+    private static final String LOG_SUFFIX = ".log";
+
+    public static final String WINNER_PLAYER = "PLAYER";
+    public static final String WINNER_ENEMY = "ENEMY";
+    public static final String WINNER_BOTH = "BOTH";
+    public static final String WINNER_NONE = "NONE";
+
+    /**
+     * 카탈로그 항목 (로그 파일 하나)
+     */
+    public static class Entry {
+        public String path;
+        public String gameId;
+        public long startTime;
+        public long endTime;
+        public int mazeSize;
+        public String winner;
+        public int eventCount;
+        public long fileSize;
+        public long lastModified;
+    }
+
+    /**
+     * 조회 결과 한 페이지
+     */
+    public static class Page {
+        public List<Entry> entries;
+        public int page;
+        public int size;
+        public int total;
+    }
+
+    // 최신 파일이 먼저 (기존 lastModified 역순 정렬과 동일)
+    private static final Comparator<Entry> NEWEST_FIRST =
+        Comparator.comparingLong((Entry e) -> e.lastModified).reversed()
+            .thenComparing(e -> e.path, Comparator.reverseOrder());
+
+    private final Path dir;
+    private final Path indexFile;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    // 정렬된 목록 캐시 (변경 시 무효화)
+    private volatile List<Entry> sorted;
+    private BufferedWriter indexWriter;
+    private WatchService watchService;
+    private Thread watchThread;
+
+    public LogCatalog(String logDir) {
+        this.dir = Paths.get(logDir);
+        this.indexFile = dir.resolve(INDEX_FILE);
+    }
+
+    /**
+     * 인덱스를 읽고 디렉토리와 맞춘 뒤, 필요하면 디렉토리 감시를 시작합니다
+     */
+    public synchronized void open(boolean watch) {
+        try {
+            Files.createDirectories(dir);
+            loadIndex();
+            reconcile();
+            rewriteIndex();
+            indexWriter = Files.newBufferedWriter(indexFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            System.err.println("✗ 로그 카탈로그 초기화 실패: " + e.getMessage());
+        }
+        if (watch) {
+            startWatching();
+        }
+    }
+
+    /**
+     * 저장이 끝난 로그를 카탈로그에 추가합니다 (파일을 다시 읽지 않음)
+     * @param eventCount 파일에 기록된 이벤트 수 (저널 모드에서는 log에 이벤트가 없으므로 따로 받음)
+     */
+    public void add(String path, GameLog log, int eventCount) {
+        if (path == null || log == null) {
+            return;
+        }
+        File file = new File(path);
+        Entry entry = toEntry(normalize(file.toPath()), log, eventCount, file.length(), file.lastModified());
+        put(entry);
+    }
+
+    /**
+     * 조건에 맞는 로그를 최신순으로 한 페이지 조회
+     * @param winner   PLAYER/ENEMY/BOTH/NONE (null이면 전체)
+     * @param mazeSize 미로 크기 (0 이하이면 전체)
+     * @param from     이 시각 이후 시작한 게임 (0 이하이면 제한 없음)
+     * @param to       이 시각 이전 시작한 게임 (0 이하이면 제한 없음)
+     */
+    public Page query(String winner, int mazeSize, long from, long to, int page, int size) {
+        List<Entry> all = sortedEntries();
+        int safeSize = Math.max(1, size);
+        int safePage = Math.max(0, page);
+        int skip = safePage * safeSize;
+
+        List<Entry> result = new ArrayList<>(Math.min(safeSize, all.size()));
+        int total = 0;
+        for (Entry e : all) {
+            if (winner != null && !winner.equalsIgnoreCase(e.winner)) continue;
+            if (mazeSize > 0 && e.mazeSize != mazeSize) continue;
+            if (from > 0 && e.startTime < from) continue;
+            if (to > 0 && e.startTime > to) continue;
+            if (total >= skip && result.size() < safeSize) {
+                result.add(e);
+            }
+            total++;
+        }
+
+        Page p = new Page();
+        p.entries = result;
+        p.page = safePage;
+        p.size = safeSize;
+        p.total = total;
+        return p;
+    }
+
+    /**
+     * 최신순 로그 경로 (최대 limit개)
+     */
+    public List<String> listPaths(int limit) {
+        List<Entry> all = sortedEntries();
+        int n = Math.min(Math.max(0, limit), all.size());
+        List<String> paths = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            paths.add(all.get(i).path);
+        }
+        return paths;
+    }
+
+    public Entry get(String path) {
+        return path == null ? null : entries.get(normalize(Paths.get(path)));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private synchronized List<Entry> sortedEntries() {
+        List<Entry> snapshot = sorted;
+        if (snapshot == null) {
+            snapshot = new ArrayList<>(entries.values());
+            snapshot.sort(NEWEST_FIRST);
+            sorted = snapshot;
+        }
+        return snapshot;
+    }
+
+    private synchronized void put(Entry entry) {
+        entries.put(entry.path, entry);
+        sorted = null;
+        appendIndex("A\t" + format(entry));
+    }
+
+    private synchronized void removePath(String path) {
+        if (entries.remove(path) != null) {
+            sorted = null;
+            appendIndex("D\t" + path);
+        }
+    }
+
+    private synchronized void appendIndex(String line) {
+        if (indexWriter == null) {
+            return;
+        }
+        try {
+            indexWriter.write(line);
+            indexWriter.newLine();
+            indexWriter.flush();
+        } catch (IOException e) {
+            System.err.println("✗ 로그 카탈로그 기록 실패: " + e.getMessage());
+        }
+    }
+
+    // ===== 인덱스 파일 =====
+
+    private void loadIndex() {
+        if (!Files.exists(indexFile)) {
+            return;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(indexFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("A\t")) {
+                    Entry e = parse(line.substring(2));
+                    if (e != null) {
+                        entries.put(e.path, e);
+                    }
+                } else if (line.startsWith("D\t")) {
+                    entries.remove(line.substring(2));
+                }
+            }
+        } catch (IOException e) {
+            // 인덱스가 깨졌으면 디렉토리에서 다시 만듦
+            System.err.println("✗ 로그 카탈로그 읽기 실패, 다시 만듭니다: " + e.getMessage());
+            entries.clear();
+        }
+        sorted = null;
+    }
+
+    /**
+     * 인덱스와 실제 디렉토리를 맞춥니다
+     * 크기/수정 시각이 그대로인 파일은 열지 않고, 새로 생겼거나 바뀐 파일만 읽습니다.
+     */
+    private void reconcile() throws IOException {
+        Set<String> seen = new HashSet<>();
+        GameLogger reader = newReader();
+        int indexed = 0;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "*" + LOG_SUFFIX)) {
+            for (Path p : stream) {
+                String path = normalize(p);
+                seen.add(path);
+                File file = p.toFile();
+                Entry known = entries.get(path);
+                if (known != null && known.fileSize == file.length() && known.lastModified == file.lastModified()) {
+                    continue;
+                }
+                Entry fresh = readEntry(reader, p);
+                if (fresh != null) {
+                    entries.put(path, fresh);
+                    indexed++;
+                } else {
+                    entries.remove(path);
+                }
+            }
+        }
+        entries.keySet().retainAll(seen);
+        sorted = null;
+        if (indexed > 0) {
+            System.out.println("✓ 로그 카탈로그: " + indexed + "개 파일 새로 색인 (전체 " + entries.size() + "개)");
+        }
+    }
+
+    private void rewriteIndex() throws IOException {
+        Path tmp = dir.resolve(INDEX_FILE + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            for (Entry e : entries.values()) {
+                writer.write("A\t" + format(e));
+                writer.newLine();
+            }
+        }
+        try {
+            Files.move(tmp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Files.move(tmp, indexFile, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static String format(Entry e) {
+        return e.path + "\t" + e.gameId + "\t" + e.startTime + "\t" + e.endTime + "\t" + e.mazeSize
+            + "\t" + e.winner + "\t" + e.eventCount + "\t" + e.fileSize + "\t" + e.lastModified;
+    }
+
+    private static Entry parse(String line) {
+        String[] f = line.split("\t", -1);
+        if (f.length != 9) {
+            return null;
+        }
+        try {
+            Entry e = new Entry();
+            e.path = f[0];
+            e.gameId = f[1];
+            e.startTime = Long.parseLong(f[2]);
+            e.endTime = Long.parseLong(f[3]);
+            e.mazeSize = Integer.parseInt(f[4]);
+            e.winner = f[5];
+            e.eventCount = Integer.parseInt(f[6]);
+            e.fileSize = Long.parseLong(f[7]);
+            e.lastModified = Long.parseLong(f[8]);
+            return e;
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    private Entry readEntry(GameLogger reader, Path p) {
+        File file = p.toFile();
+        GameLog log = reader.loadLog(file.getPath());
+        if (log == null) {
+            return null;
+        }
+        int eventCount = log.getEvents() == null ? 0 : log.getEvents().size();
+        return toEntry(normalize(p), log, eventCount, file.length(), file.lastModified());
+    }
+
+    // 해시로 기록된 미로를 이 디렉토리의 미로 저장소에서 찾도록 같은 디렉토리로 읽음
+    private GameLogger newReader() {
+        return new GameLogger(dir.toString(), false, 0, 0);
+    }
+
+    private static Entry toEntry(String path, GameLog log, int eventCount, long fileSize, long lastModified) {
+        Entry e = new Entry();
+        e.path = path;
+        e.gameId = log.getGameId();
+        e.startTime = log.getStartTime();
+        e.endTime = log.getEndTime();
+        e.mazeSize = log.getMazeSize();
+        e.winner = winnerOf(log);
+        e.eventCount = eventCount;
+        e.fileSize = fileSize;
+        e.lastModified = lastModified;
+        return e;
+    }
+
+    private static String winnerOf(GameLog log) {
+        if (log.isPlayerWon() && log.isEnemyWon()) return WINNER_BOTH;
+        if (log.isPlayerWon()) return WINNER_PLAYER;
+        if (log.isEnemyWon()) return WINNER_ENEMY;
+        return WINNER_NONE;
+    }
+
+    // 기존 목록과 같은 형식의 경로 (game_logs/xxx.log)
+    private String normalize(Path p) {
+        return dir.resolve(p.getFileName()).toString();
+    }
+
+    // ===== 디렉토리 감시 =====
+
+    private void startWatching() {
+        try {
+            watchService = dir.getFileSystem().newWatchService();
+            dir.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
+        } catch (IOException e) {
+            System.err.println("✗ 로그 디렉토리 감시 실패: " + e.getMessage());
+            return;
+        }
+        watchThread = new Thread(this::watchLoop, "log-catalog-watch");
+        watchThread.setDaemon(true);
+        watchThread.start();
+    }
+
+    private void watchLoop() {
+        GameLogger reader = newReader();
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean overflow = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == OVERFLOW) {
+                        overflow = true;
+                        continue;
+                    }
+                    Path name = (Path) event.context();
+                    if (!name.toString().endsWith(LOG_SUFFIX)) {
+                        continue;
+                    }
+                    Path p = dir.resolve(name);
+                    if (event.kind() == ENTRY_DELETE) {
+                        removePath(normalize(p));
+                    } else {
+                        refresh(reader, p);
+                    }
+                }
+                if (overflow) {
+                    // 놓친 이벤트가 있으면 디렉토리 전체를 다시 맞춤
+                    synchronized (this) {
+                        reconcile();
+                    }
+                }
+                if (!key.reset()) {
+                    break;
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // 종료
+        } catch (IOException e) {
+            System.err.println("✗ 로그 디렉토리 감시 중단: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 외부에서 생기거나 바뀐 파일을 다시 색인 (이미 같은 상태로 등록돼 있으면 건너뜀)
+     */
+    private void refresh(GameLogger reader, Path p) {
+        File file = p.toFile();
+        Entry known = entries.get(normalize(p));
+        if (known != null && known.fileSize == file.length() && known.lastModified == file.lastModified()) {
+            return;
+        }
+        // 아직 쓰는 중인 파일은 읽기에 실패하므로 완성된 뒤의 이벤트나 저장 알림으로 등록됨
+        Entry fresh = readEntry(reader, p);
+        if (fresh != null) {
+            put(fresh);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException ignored) {
+                // 종료 중
+            }
+        }
+        if (watchThread != null) {
+            watchThread.interrupt();
+        }
+        if (indexWriter != null) {
+            try {
+                indexWriter.close();
+            } catch (IOException ignored) {
+                // 종료 중
+            }
+            indexWriter = null;
+        }
+    }
+}
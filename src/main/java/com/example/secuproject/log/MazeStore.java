@@ -0,0 +1,169 @@
+package com.example.secuproject.log;
+
+import com.example.secuproject.model.MazeGrid;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 내용 주소 미로 저장소
+ * 미로를 SHA-256(크기 + 압축 셀 코드)으로 이름 붙여 한 번만 저장하고, 게임 로그에는 해시만 남깁니다.
+ * 같은 맵으로 수천 판을 해도 미로 파일은 하나이며, 로그 크기는 미로 크기와 무관해집니다.
+ *
+ * <pre>
+ * 파일: dir/해시.maze = "SGMZ" | version(1) | size(4) | 압축 셀 코드 (MazeGrid.packed)
+ * </pre>
+ */
+public class MazeStore {
+    static final byte[] MAGIC = {'S', 'G', 'M', 'Z'};
+    static final int VERSION = 1;
+    public static final int HASH_BYTES = 32;
+
+    // 최근에 읽은 미로 (리플레이가 같은 맵을 반복해서 읽음)
+    private static final int CACHE_ENTRIES = 32;
+
+    private final Path dir;
+    // 이미 디스크에 있는 것으로 확인된 해시
+    private final Set<String> stored = ConcurrentHashMap.newKeySet();
+    private final Map<String, MazeGrid> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, MazeGrid> eldest) {
+            return size() > CACHE_ENTRIES;
+        }
+    };
+
+    public MazeStore(String dir) {
+        this.dir = Paths.get(dir);
+    }
+
+    /**
+     * 미로의 내용 해시 (64자리 16진수, 가시성은 포함하지 않음)
+     */
+    public static String hash(MazeGrid grid) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            int size = grid.getSize();
+            digest.update(new byte[]{(byte) (size >>> 24), (byte) (size >>> 16), (byte) (size >>> 8), (byte) size});
+            digest.update(grid.packed());
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다", e);
+        }
+    }
+
+    /**
+     * 미로를 저장하고 해시를 돌려줍니다 (같은 미로가 이미 있으면 쓰지 않음)
+     */
+    public String put(MazeGrid grid) throws IOException {
+        String hash = hash(grid);
+        if (stored.contains(hash)) {
+            return hash;
+        }
+        Path file = pathOf(hash);
+        if (!Files.exists(file)) {
+            Files.createDirectories(dir);
+            Path tmp = Files.createTempFile(dir, hash, ".tmp");
+            try {
+                try (DataOutputStream out = new DataOutputStream(
+                        new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                    out.write(MAGIC);
+                    out.writeByte(VERSION);
+                    out.writeInt(grid.getSize());
+                    out.write(grid.packed());
+                }
+                try {
+                    Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE);
+                } catch (IOException e) {
+                    // 같은 미로를 동시에 저장한 경우 내용이 같으므로 덮어써도 됨
+                    Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        }
+        stored.add(hash);
+        return hash;
+    }
+
+    /**
+     * 해시로 미로를 읽습니다 (없으면 null, 내용이 해시와 다르면 IOException)
+     */
+    public MazeGrid get(String hash) throws IOException {
+        if (!isHash(hash)) {
+            return null;
+        }
+        synchronized (cache) {
+            MazeGrid cached = cache.get(hash);
+            if (cached != null) {
+                return cached.copy();
+            }
+        }
+        MazeGrid grid;
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(pathOf(hash))))) {
+            byte[] magic = new byte[MAGIC.length];
+            in.readFully(magic);
+            for (int i = 0; i < MAGIC.length; i++) {
+                if (magic[i] != MAGIC[i]) {
+                    throw new IOException("미로 파일 형식이 아닙니다: " + hash);
+                }
+            }
+            int version = in.readUnsignedByte();
+            if (version != VERSION) {
+                throw new IOException("지원하지 않는 미로 파일 버전: " + version);
+            }
+            int size = in.readInt();
+            if (size < 0 || size > 1 << 14) {
+                throw new IOException("미로 크기가 잘못되었습니다: " + size);
+            }
+            byte[] packed = new byte[(int) (((long) size * size + 1) / 2)];
+            in.readFully(packed);
+            grid = MazeGrid.fromPacked(size, packed);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+        if (!hash(grid).equals(hash)) {
+            throw new IOException("미로 파일 내용이 해시와 다릅니다: " + hash);
+        }
+        stored.add(hash);
+        synchronized (cache) {
+            cache.put(hash, grid);
+        }
+        return grid.copy();
+    }
+
+    /**
+     * 64자리 소문자 16진수인지 (파일 이름으로 쓰기 전에 확인)
+     */
+    public static boolean isHash(String hash) {
+        if (hash == null || hash.length() != HASH_BYTES * 2) {
+            return false;
+        }
+        for (int i = 0; i < hash.length(); i++) {
+            char c = hash.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Path pathOf(String hash) {
+        return dir.resolve(hash + ".maze");
+    }
+}
@@ -5,45 +5,53 @@ import java.util.List;
 
 /**
  * 미로 맵을 나타내는 클래스
- * N × N 크기의 2차원 배열로 미로를 저장합니다
+ * N × N 크기의 비트 압축 격자(MazeGrid)로 미로를 저장합니다
  */
 public class Maze {
     private int size; // 미로 크기 (N)
-    private MazeCell[][] cells; // 미로 셀 배열
+    private MazeGrid grid; // 미로 셀 격자
     private List<Position> startPositions; // 스타트 지점들 (0)
     private Position goalPosition; // 도착지점 (9)
 
     public Maze(int size) {
         this.size = size;
-        this.cells = new MazeCell[size][size];
-        this.startPositions = new ArrayList<>();
-        
         // 모든 칸을 벽(4)으로 초기화
-        for (int i = 0; i < size; i++) {
-            for (int j = 0; j < size; j++) {
-                cells[i][j] = new MazeCell(4);
-            }
-        }
+        this.grid = new MazeGrid(size, 4);
+        this.startPositions = new ArrayList<>();
     }
 
     public int getSize() {
         return size;
     }
 
+    /**
+     * 셀 격자 (칸 단위 순회는 getCode보다 격자를 직접 쓰는 편이 빠름)
+     */
+    public MazeGrid getGrid() {
+        return grid;
+    }
+
     public MazeCell getCell(int x, int y) {
         if (isValidPosition(x, y)) {
-            return cells[x][y];
+            return new MazeCell(grid, grid.index(x, y));
         }
         return null;
     }
 
+    /**
+     * 칸의 코드 (범위 밖이면 -1)
+     */
+    public int getCode(int x, int y) {
+        return isValidPosition(x, y) ? grid.get(x, y) : -1;
+    }
+
     public MazeCell getCell(Position pos) {
         return getCell(pos.getX(), pos.getY());
     }
 
     public void setCell(int x, int y, int code) {
         if (isValidPosition(x, y)) {
-            cells[x][y].setCode(code);
+            grid.set(x, y, code);
             
             // 스타트 지점이나 도착지점 추적
             if (code == 0) {
@@ -79,7 +87,8 @@ public class Maze {
         if (!isValidPosition(x, y)) {
             return false;
         }
-        return getCell(x, y).isWalkable();
+        int code = grid.get(x, y);
+        return code != 4 && code != 5;
     }
 
     public boolean isWalkable(Position pos) {
@@ -100,11 +109,7 @@ public class Maze {
      */
     public void updateVisibility(Position playerPos, boolean hasItem) {
         // 먼저 모든 칸을 안개로 가립니다
-        for (int i = 0; i < size; i++) {
-            for (int j = 0; j < size; j++) {
-                cells[i][j].setVisible(false);
-            }
-        }
+        grid.clearVisibility();
 
         // 기본: 플레이어 기준 양옆앞뒤대각선으로 1칸씩 (3×3 범위, range = 1)
         // 아이템 있을 때: 5×5 범위 (range = 2)
@@ -116,7 +121,7 @@ public class Maze {
                 int x = playerPos.getX() + dx;
                 int y = playerPos.getY() + dy;
                 if (isValidPosition(x, y)) {
-                    cells[x][y].setVisible(true);
+                    grid.setVisible(x, y, true);
                 }
             }
         }
@@ -127,11 +132,7 @@ public class Maze {
      */
     public void updateVisibilityForAll(List<Position> playerPositions, List<Boolean> hasItems) {
         // 먼저 모든 칸을 안개로 가립니다
-        for (int i = 0; i < size; i++) {
-            for (int j = 0; j < size; j++) {
-                cells[i][j].setVisible(false);
-            }
-        }
+        grid.clearVisibility();
         
         // 각 플레이어의 시야를 합칩니다
         for (int idx = 0; idx < playerPositions.size(); idx++) {
@@ -146,7 +147,7 @@ public class Maze {
                     int x = playerPos.getX() + dx;
                     int y = playerPos.getY() + dy;
                     if (isValidPosition(x, y)) {
-                        cells[x][y].setVisible(true);
+                        grid.setVisible(x, y, true);
                     }
                 }
             }
@@ -4,30 +4,38 @@ package com.example.secuproject.model;
  * 미로의 한 칸을 나타내는 클래스
  * 각 칸은 숫자 코드로 구분됩니다:
  * 0: 스타트 지점, 1: 나 플레이어, 2: 너 플레이어, 3: 길, 4: 벽, 5: 안개, 6: 아이템, 9: 도착지점
+ *
+ * 값은 MazeGrid에 저장되며 이 객체는 그 한 칸을 가리키는 가벼운 뷰입니다 (변경은 격자에 바로 반영).
  */
 public class MazeCell {
-    private int code;
-    private boolean visible; // 안개 시스템을 위한 가시성
+    private final MazeGrid grid;
+    private final int index;
 
     public MazeCell(int code) {
-        this.code = code;
-        this.visible = false; // 기본적으로 안개로 가려져 있음
+        this.grid = new MazeGrid(1);
+        this.index = 0;
+        grid.set(0, code); // 기본적으로 안개로 가려져 있음
+    }
+
+    MazeCell(MazeGrid grid, int index) {
+        this.grid = grid;
+        this.index = index;
     }
 
     public int getCode() {
-        return code;
+        return grid.get(index);
     }
 
     public void setCode(int code) {
-        this.code = code;
+        grid.set(index, code);
     }
 
     public boolean isVisible() {
-        return visible;
+        return grid.isVisible(index);
     }
 
     public void setVisible(boolean visible) {
-        this.visible = visible;
+        grid.setVisible(index, visible);
     }
 
     /**
@@ -38,6 +46,7 @@ public class MazeCell {
      */
     public boolean isWalkable() {
         // 벽(4)과 안개(5)만 이동 불가
+        int code = getCode();
         return code != 4 && code != 5;
     }
 
@@ -45,6 +54,7 @@ public class MazeCell {
      * 플레이어가 있는지 확인합니다
      */
     public boolean hasPlayer() {
+        int code = getCode();
         return code == 1 || code == 2;
     }
 
@@ -52,7 +62,7 @@ public class MazeCell {
      * 아이템이 있는지 확인합니다
      */
     public boolean hasItem() {
-        return code == 6;
+        return getCode() == 6;
     }
 }
 
@@ -0,0 +1,123 @@
+package com.example.secuproject.model;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * 미로 내용의 128비트 지문 (크기 + 압축 셀 코드, 가시성은 포함하지 않음)
+ * 압축 바이트를 8바이트씩 한 번만 훑는 MurmurHash3 x64 128 방식이라 MazeStore의 SHA-256보다 훨씬 빠르며,
+ * 메모리 캐시 키처럼 디스크에 남지 않는 곳에 씁니다.
+ */
+public final class MazeFingerprint {
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+
+    private final long high;
+    private final long low;
+
+    public MazeFingerprint(long high, long low) {
+        this.high = high;
+        this.low = low;
+    }
+
+    public static MazeFingerprint of(MazeGrid grid) {
+        return of(grid, 0L);
+    }
+
+    /**
+     * seed가 다르면 다른 지문 (외부에서 만든 맵이 일부러 충돌하지 않도록 캐시마다 임의 seed를 씀)
+     */
+    public static MazeFingerprint of(MazeGrid grid, long seed) {
+        byte[] data = grid.cells();
+        int length = data.length;
+        long h1 = seed;
+        long h2 = seed ^ grid.getSize();
+
+        int blocks = length >>> 4;
+        for (int i = 0; i < blocks; i++) {
+            long k1 = (long) LONGS.get(data, i << 4);
+            long k2 = (long) LONGS.get(data, (i << 4) + 8);
+
+            h1 ^= mixK1(k1);
+            h1 = Long.rotateLeft(h1, 27) + h2;
+            h1 = h1 * 5 + 0x52dce729;
+
+            h2 ^= mixK2(k2);
+            h2 = Long.rotateLeft(h2, 31) + h1;
+            h2 = h2 * 5 + 0x38495ab5;
+        }
+
+        // 남은 15바이트 이하
+        int tail = blocks << 4;
+        long k1 = 0, k2 = 0;
+        for (int i = length - 1; i >= tail; i--) {
+            if (i - tail >= 8) {
+                k2 = (k2 << 8) | (data[i] & 0xFF);
+            } else {
+                k1 = (k1 << 8) | (data[i] & 0xFF);
+            }
+        }
+        h1 ^= mixK1(k1);
+        h2 ^= mixK2(k2);
+
+        h1 ^= length;
+        h2 ^= length;
+        h1 += h2;
+        h2 += h1;
+        h1 = fmix(h1);
+        h2 = fmix(h2);
+        h1 += h2;
+        h2 += h1;
+        return new MazeFingerprint(h1, h2);
+    }
+
+    private static long mixK1(long k1) {
+        k1 *= C1;
+        k1 = Long.rotateLeft(k1, 31);
+        return k1 * C2;
+    }
+
+    private static long mixK2(long k2) {
+        k2 *= C2;
+        k2 = Long.rotateLeft(k2, 33);
+        return k2 * C1;
+    }
+
+    private static long fmix(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+
+    public long getHigh() {
+        return high;
+    }
+
+    public long getLow() {
+        return low;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof MazeFingerprint)) return false;
+        MazeFingerprint other = (MazeFingerprint) o;
+        return high == other.high && low == other.low;
+    }
+
+    @Override
+    public int hashCode() {
+        // 이미 고르게 섞인 값이므로 하위 비트만 써도 충분
+        return (int) low;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%016x%016x", high, low);
+    }
+}
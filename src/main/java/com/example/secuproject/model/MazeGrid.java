@@ -0,0 +1,229 @@
+package com.example.secuproject.model;
+
+import java.util.Arrays;
+
+/**
+ * 비트 압축된 N × N 미로 격자
+ * 셀 코드(0~15)를 4비트씩 byte[]에 두 칸씩 담고, 안개 가시성은 별도의 long[] 비트셋에 담습니다.
+ * 칸은 행 우선 1차원 인덱스(index = x * size + y)로도 접근할 수 있어 전체 순회가 연속 메모리 접근이 됩니다.
+ * 1001×1001 미로가 약 0.5MB (코드) + 0.125MB (가시성)입니다.
+ */
+public final class MazeGrid {
+    public static final int MAX_CODE = 15;
+
+    private final int size;
+    private final byte[] cells;
+    private final long[] visible;
+
+    public MazeGrid(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("미로 크기는 음수일 수 없습니다: " + size);
+        }
+        this.size = size;
+        long area = (long) size * size;
+        if (area > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("미로가 너무 큽니다: " + size);
+        }
+        this.cells = new byte[(int) ((area + 1) / 2)];
+        this.visible = new long[(int) ((area + 63) / 64)];
+    }
+
+    /**
+     * 모든 칸을 code로 채운 격자
+     */
+    public MazeGrid(int size, int code) {
+        this(size);
+        fill(code);
+    }
+
+    private MazeGrid(int size, byte[] cells, long[] visible) {
+        this.size = size;
+        this.cells = cells;
+        this.visible = visible;
+    }
+
+    /**
+     * int[][] 맵을 격자로 변환합니다 (0~15 밖의 코드는 벽으로 처리)
+     */
+    public static MazeGrid fromArray(int[][] map) {
+        int n = map == null ? 0 : map.length;
+        MazeGrid grid = new MazeGrid(n);
+        for (int i = 0; i < n; i++) {
+            int[] row = map[i];
+            int cols = row == null ? 0 : Math.min(row.length, n);
+            for (int j = 0; j < cols; j++) {
+                int code = row[j];
+                grid.set(i, j, code >= 0 && code <= MAX_CODE ? code : 4);
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * packed()로 얻은 바이트로 격자를 복원합니다
+     */
+    public static MazeGrid fromPacked(int size, byte[] packed) {
+        MazeGrid grid = new MazeGrid(size);
+        if (packed == null || packed.length != grid.cells.length) {
+            throw new IllegalArgumentException("압축 데이터 길이가 맞지 않습니다");
+        }
+        System.arraycopy(packed, 0, grid.cells, 0, packed.length);
+        return grid;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * 전체 칸 수 (size * size)
+     */
+    public int area() {
+        return size * size;
+    }
+
+    public int index(int x, int y) {
+        return x * size + y;
+    }
+
+    public int rowOf(int index) {
+        return index / size;
+    }
+
+    public int colOf(int index) {
+        return index % size;
+    }
+
+    public boolean isValidPosition(int x, int y) {
+        return x >= 0 && x < size && y >= 0 && y < size;
+    }
+
+    public int get(int x, int y) {
+        return get(x * size + y);
+    }
+
+    public int get(int index) {
+        int b = cells[index >> 1];
+        return (index & 1) == 0 ? b & 0x0F : (b >> 4) & 0x0F;
+    }
+
+    public void set(int x, int y, int code) {
+        set(x * size + y, code);
+    }
+
+    public void set(int index, int code) {
+        if (code < 0 || code > MAX_CODE) {
+            throw new IllegalArgumentException("셀 코드는 0~15 사이여야 합니다: " + code);
+        }
+        int i = index >> 1;
+        int b = cells[i];
+        if ((index & 1) == 0) {
+            cells[i] = (byte) ((b & 0xF0) | code);
+        } else {
+            cells[i] = (byte) ((b & 0x0F) | (code << 4));
+        }
+    }
+
+    public void fill(int code) {
+        if (code < 0 || code > MAX_CODE) {
+            throw new IllegalArgumentException("셀 코드는 0~15 사이여야 합니다: " + code);
+        }
+        Arrays.fill(cells, (byte) (code | (code << 4)));
+        if ((area() & 1) == 1) {
+            // 홀수 칸이면 마지막 바이트의 남는 4비트는 0으로 유지 (equals/packed 일관성)
+            cells[cells.length - 1] &= 0x0F;
+        }
+    }
+
+    public boolean isVisible(int x, int y) {
+        return isVisible(x * size + y);
+    }
+
+    public boolean isVisible(int index) {
+        return (visible[index >>> 6] & (1L << index)) != 0;
+    }
+
+    public void setVisible(int x, int y, boolean value) {
+        setVisible(x * size + y, value);
+    }
+
+    public void setVisible(int index, boolean value) {
+        if (value) {
+            visible[index >>> 6] |= 1L << index;
+        } else {
+            visible[index >>> 6] &= ~(1L << index);
+        }
+    }
+
+    /**
+     * 모든 칸을 안개로 가립니다
+     */
+    public void clearVisibility() {
+        Arrays.fill(visible, 0L);
+    }
+
+    /**
+     * code인 칸의 개수
+     */
+    public int count(int code) {
+        int n = 0;
+        int area = area();
+        for (int i = 0; i < area; i++) {
+            if (get(i) == code) n++;
+        }
+        return n;
+    }
+
+    /**
+     * code인 첫 칸의 인덱스 (없으면 -1)
+     */
+    public int indexOf(int code) {
+        int area = area();
+        for (int i = 0; i < area; i++) {
+            if (get(i) == code) return i;
+        }
+        return -1;
+    }
+
+    public MazeGrid copy() {
+        return new MazeGrid(size, cells.clone(), visible.clone());
+    }
+
+    public int[][] toArray() {
+        int[][] map = new int[size][size];
+        for (int i = 0; i < size; i++) {
+            int base = i * size;
+            for (int j = 0; j < size; j++) {
+                map[i][j] = get(base + j);
+            }
+        }
+        return map;
+    }
+
+    /**
+     * 셀 코드의 압축 바이트 복사본 (칸 2개당 1바이트, 짝수 인덱스가 하위 4비트)
+     */
+    public byte[] packed() {
+        return cells.clone();
+    }
+
+    /**
+     * 복사하지 않은 압축 바이트 (같은 패키지의 읽기 전용 용도)
+     */
+    byte[] cells() {
+        return cells;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof MazeGrid)) return false;
+        MazeGrid other = (MazeGrid) o;
+        return size == other.size && Arrays.equals(cells, other.cells);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * size + Arrays.hashCode(cells);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.secuproject.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * 생성 미로 참조 (크기 + 시드)
+ * 같은 (size, seed)로 MazeGenerator를 돌리면 항상 같은 미로가 나오므로, 미로 전체 대신 이 값만 저장하면 됩니다.
+ */
+public final class MazeRef {
+    private final int size;
+    private final long seed;
+
+    public MazeRef(int size, long seed) {
+        this.size = size;
+        this.seed = seed;
+    }
+
+    /**
+     * baseSeed에서 이어지는 count개의 참조 (같은 baseSeed면 항상 같은 목록)
+     */
+    public static List<MazeRef> series(int size, long baseSeed, int count) {
+        SplittableRandom seeds = new SplittableRandom(baseSeed);
+        List<MazeRef> refs = new ArrayList<>(Math.max(0, count));
+        for (int i = 0; i < count; i++) {
+            refs.add(new MazeRef(size, seeds.nextLong()));
+        }
+        return refs;
+    }
+
+    /**
+     * toString() 형식("size:seed16진수")을 읽습니다
+     */
+    public static MazeRef parse(String text) {
+        int sep = text == null ? -1 : text.indexOf(':');
+        if (sep <= 0) {
+            throw new IllegalArgumentException("미로 참조 형식이 아닙니다: " + text);
+        }
+        try {
+            int size = Integer.parseInt(text.substring(0, sep));
+            long seed = Long.parseUnsignedLong(text.substring(sep + 1), 16);
+            return new MazeRef(size, seed);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("미로 참조 형식이 아닙니다: " + text, e);
+        }
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof MazeRef)) return false;
+        MazeRef other = (MazeRef) o;
+        return size == other.size && seed == other.seed;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * size + Long.hashCode(seed);
+    }
+
+    @Override
+    public String toString() {
+        return size + ":" + Long.toHexString(seed);
+    }
+}
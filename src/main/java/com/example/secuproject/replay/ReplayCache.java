@@ -0,0 +1,196 @@
+package com.example.secuproject.replay;
+
+import com.example.secuproject.log.GameLog;
+
+import java.io.File;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * 리플레이 인덱스 캐시 (LRU)
+ * 로그 파일 경로 + 수정 시각 + 크기를 키로 디코딩/재생 결과를 보관하므로, 같은 리플레이를 여러 명이 봐도 한 번만 읽습니다.
+ * 항목 수와 추정 메모리 양 두 가지로 제한하며, 같은 파일에 대한 동시 요청은 하나의 로드를 함께 기다립니다.
+ */
+public class ReplayCache {
+    private final int maxEntries;
+    private final long maxWeight;
+    private final Function<String, GameLog> loader;
+
+    // 접근 순서 LinkedHashMap: 맨 앞이 가장 오래 쓰지 않은 항목
+    private final LinkedHashMap<Key, ReplayIndex> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight;
+    // 로드 중인 키 (동시 요청은 같은 future를 기다림)
+    private final Map<Key, CompletableFuture<ReplayIndex>> loading = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong loadFailures = new AtomicLong();
+
+    /**
+     * @param maxEntries 최대 항목 수
+     * @param maxWeight  최대 추정 메모리 (바이트)
+     * @param loader     로그 파일 경로 → GameLog (실패 시 null)
+     */
+    public ReplayCache(int maxEntries, long maxWeight, Function<String, GameLog> loader) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.maxWeight = Math.max(1, maxWeight);
+        this.loader = loader;
+    }
+
+    /**
+     * 로그 파일의 리플레이 인덱스 (캐시에 없으면 읽어서 저장, 실패 시 null)
+     * 파일이 바뀌면 수정 시각/크기가 달라지므로 새로 읽습니다.
+     */
+    public ReplayIndex get(String path) {
+        if (path == null || path.isBlank()) {
+            return null;
+        }
+        File file = new File(path);
+        if (!file.isFile()) {
+            return null;
+        }
+        Key key = new Key(file.getPath(), file.lastModified(), file.length());
+
+        synchronized (this) {
+            ReplayIndex cached = entries.get(key);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached;
+            }
+        }
+
+        CompletableFuture<ReplayIndex> mine = new CompletableFuture<>();
+        CompletableFuture<ReplayIndex> existing = loading.putIfAbsent(key, mine);
+        if (existing != null) {
+            // 다른 요청이 같은 파일을 읽는 중
+            hits.incrementAndGet();
+            return existing.join();
+        }
+
+        synchronized (this) {
+            // 앞의 확인 뒤에 다른 요청이 로드를 끝냈을 수 있음
+            ReplayIndex cached = entries.get(key);
+            if (cached != null) {
+                hits.incrementAndGet();
+                mine.complete(cached);
+                loading.remove(key, mine);
+                return cached;
+            }
+        }
+
+        misses.incrementAndGet();
+        ReplayIndex index = null;
+        try {
+            GameLog log = loader.apply(key.path);
+            index = ReplayIndex.build(log);
+            if (index == null) {
+                loadFailures.incrementAndGet();
+            } else {
+                put(key, index);
+            }
+        } catch (RuntimeException e) {
+            loadFailures.incrementAndGet();
+            System.err.println("✗ 리플레이 로드 실패: " + key.path + " (" + e.getMessage() + ")");
+        } finally {
+            mine.complete(index);
+            loading.remove(key, mine);
+        }
+        return index;
+    }
+
+    private synchronized void put(Key key, ReplayIndex index) {
+        long w = index.estimateBytes();
+        if (w > maxWeight) {
+            // 한도보다 큰 리플레이는 캐시하지 않음
+            return;
+        }
+        // 같은 경로의 이전 버전은 제거
+        Iterator<Map.Entry<Key, ReplayIndex>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Key, ReplayIndex> e = it.next();
+            if (e.getKey().path.equals(key.path)) {
+                weight -= e.getValue().estimateBytes();
+                it.remove();
+            }
+        }
+        entries.put(key, index);
+        weight += w;
+        evictIfNeeded();
+    }
+
+    private void evictIfNeeded() {
+        Iterator<Map.Entry<Key, ReplayIndex>> it = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || weight > maxWeight) && it.hasNext()) {
+            Map.Entry<Key, ReplayIndex> eldest = it.next();
+            weight -= eldest.getValue().estimateBytes();
+            it.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    /**
+     * 경로의 캐시 항목 제거 (로그 삭제 시)
+     */
+    public synchronized void invalidate(String path) {
+        Iterator<Map.Entry<Key, ReplayIndex>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Key, ReplayIndex> e = it.next();
+            if (e.getKey().path.equals(path)) {
+                weight -= e.getValue().estimateBytes();
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * 캐시 지표 (적중/실패/제거 횟수, 사용량)
+     */
+    public synchronized Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        long h = hits.get();
+        long m = misses.get();
+        stats.put("entries", entries.size());
+        stats.put("maxEntries", maxEntries);
+        stats.put("weightBytes", weight);
+        stats.put("maxWeightBytes", maxWeight);
+        stats.put("hits", h);
+        stats.put("misses", m);
+        stats.put("hitRate", h + m == 0 ? 0.0 : (double) h / (h + m));
+        stats.put("evictions", evictions.get());
+        stats.put("loadFailures", loadFailures.get());
+        return stats;
+    }
+
+    private static final class Key {
+        final String path;
+        final long lastModified;
+        final long length;
+
+        Key(String path, long lastModified, long length) {
+            this.path = path;
+            this.lastModified = lastModified;
+            this.length = length;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key k = (Key) o;
+            return lastModified == k.lastModified && length == k.length && path.equals(k.path);
+        }
+
+        @Override
+        public int hashCode() {
+            int h = path.hashCode();
+            h = 31 * h + Long.hashCode(lastModified);
+            return 31 * h + Long.hashCode(length);
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.secuproject.replay;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class ReplayFrame {
     public int index;
     public long offsetMillis;   // 시작 프레임 대비 경과 시간
@@ -11,7 +14,8 @@ public class ReplayFrame {
     public int enemyY;
     public String message;
     public boolean success;
-    public String mazeView;
+    public String mazeView;     // 전체 화면 (구간의 첫 프레임)
+    public int[] cells;         // 직전 프레임 대비 바뀐 칸 [행, 열, 문자] 묶음
 
     public ReplayFrame() {}
 }
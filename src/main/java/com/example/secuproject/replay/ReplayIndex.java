@@ -0,0 +1,401 @@
+package com.example.secuproject.replay;
+
+import com.example.secuproject.Maze_two;
+import com.example.secuproject.log.GameEvent;
+import com.example.secuproject.log.GameLog;
+import com.example.secuproject.model.MazeGrid;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 탐색 가능한 리플레이 인덱스 (키프레임 + 델타)
+ * 게임을 한 번만 재생하면서 K 이벤트마다 맵 전체 스냅샷(키프레임)을, 그 사이에는 바뀐 칸만 기록합니다.
+ * 프레임 화면은 요청한 구간만 그때 만들어지므로 메모리와 응답 크기가 게임 길이가 아니라 구간 길이에 비례합니다.
+ */
+public class ReplayIndex {
+    public static final int DEFAULT_KEYFRAME_INTERVAL = 256;
+
+    private final int size;
+    private final int keyframeInterval;
+    private final int frameCount;
+
+    // 프레임별 이벤트 정보 (0번은 시작 프레임이라 null)
+    private final GameEvent[] events;
+    private final long[] offsetMillis;
+    // 프레임별 화면상의 플레이어/Enemy 위치
+    private final int[] viewPlayerX;
+    private final int[] viewPlayerY;
+    private final int[] viewEnemyX;
+    private final int[] viewEnemyY;
+    // 프레임 f에서 바뀐 맵 칸: changeCell/changeCode[changeStart[f] .. changeStart[f + 1])
+    private final int[] changeStart;
+    private final int[] changeCell;
+    private final byte[] changeCode;
+    // keyframes[k] = 프레임 k * keyframeInterval 시점의 맵 (행 우선 셀 코드)
+    private final byte[][] keyframes;
+
+    private final int initialPlayerX;
+    private final int initialPlayerY;
+    private final int initialEnemyX;
+    private final int initialEnemyY;
+
+    private ReplayIndex(Builder b) {
+        this.size = b.size;
+        this.keyframeInterval = b.keyframeInterval;
+        this.frameCount = b.frames;
+        this.events = Arrays.copyOf(b.events, b.frames);
+        this.offsetMillis = Arrays.copyOf(b.offsetMillis, b.frames);
+        this.viewPlayerX = Arrays.copyOf(b.viewPlayerX, b.frames);
+        this.viewPlayerY = Arrays.copyOf(b.viewPlayerY, b.frames);
+        this.viewEnemyX = Arrays.copyOf(b.viewEnemyX, b.frames);
+        this.viewEnemyY = Arrays.copyOf(b.viewEnemyY, b.frames);
+        this.changeStart = Arrays.copyOf(b.changeStart, b.frames + 1);
+        this.changeCell = Arrays.copyOf(b.changeCell, b.changes);
+        this.changeCode = Arrays.copyOf(b.changeCode, b.changes);
+        this.keyframes = b.keyframes.toArray(new byte[0][]);
+        this.initialPlayerX = b.initialPlayerX;
+        this.initialPlayerY = b.initialPlayerY;
+        this.initialEnemyX = b.initialEnemyX;
+        this.initialEnemyY = b.initialEnemyY;
+    }
+
+    public static ReplayIndex build(GameLog log) {
+        return build(log, DEFAULT_KEYFRAME_INTERVAL);
+    }
+
+    /**
+     * 로그를 한 번 재생해 인덱스를 만듭니다 (로그가 비어 있으면 null)
+     * @param keyframeInterval 키프레임 간격 (이벤트 수)
+     */
+    public static ReplayIndex build(GameLog log, int keyframeInterval) {
+        if (log == null || log.getInitialMaze() == null) {
+            return null;
+        }
+
+        Maze_two maze = new Maze_two(log.getInitialMaze());
+        MazeGrid map = maze.getGrid();
+        int n = maze.getSize();
+
+        List<GameEvent> events = new ArrayList<>(log.getEvents() == null ? List.of() : log.getEvents());
+        events.removeIf(e -> e == null);
+        events.sort(Comparator.comparingLong(GameEvent::getTimestamp));
+        long baseTs = !events.isEmpty() ? events.get(0).getTimestamp() : log.getStartTime();
+
+        Builder b = new Builder(n, Math.max(1, keyframeInterval), events.size() + 1);
+        b.initialPlayerX = log.getInitialPlayerX();
+        b.initialPlayerY = log.getInitialPlayerY();
+        b.initialEnemyX = log.getInitialEnemyX();
+        b.initialEnemyY = log.getInitialEnemyY();
+
+        byte[] codes = new byte[n * n];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = (byte) map.get(i);
+        }
+
+        int enemyX = log.getInitialEnemyX();
+        int enemyY = log.getInitialEnemyY();
+
+        // 초기 프레임
+        b.addFrame(null, 0, maze.getPlayerX(), maze.getPlayerY(), enemyX, enemyY, codes);
+
+        for (GameEvent e : events) {
+            String type = e.getEventType() == null ? "" : e.getEventType();
+            if ("MOVE".equalsIgnoreCase(type)) {
+                maze.move(e.getDirection());
+                // 이동으로 바뀔 수 있는 칸은 플레이어가 들어간 칸뿐 (아이템/함정 소모, 망치로 깬 벽)
+                int px = maze.getPlayerX();
+                int py = maze.getPlayerY();
+                int cell = px * n + py;
+                if (codes[cell] != (byte) map.get(cell)) {
+                    codes[cell] = (byte) map.get(cell);
+                    b.addChange(cell, codes[cell]);
+                }
+            } else if ("AI_MOVE".equalsIgnoreCase(type)) {
+                enemyX = e.getEnemyX();
+                enemyY = e.getEnemyY();
+            }
+            b.addFrame(e, Math.max(0, e.getTimestamp() - baseTs),
+                maze.getPlayerX(), maze.getPlayerY(), enemyX, enemyY, codes);
+        }
+        return new ReplayIndex(b);
+    }
+
+    public int getFrameCount() {
+        return frameCount;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * 대략적인 메모리 사용량 (바이트, 캐시 가중치용)
+     */
+    public long estimateBytes() {
+        long bytes = 128;
+        bytes += (long) frameCount * (8 + 4 * 4 + 4);          // 오프셋, 위치, 변경 시작점
+        bytes += (long) frameCount * 8;                        // 이벤트 참조
+        bytes += (long) frameCount * 96;                       // 이벤트 객체와 메시지 (추정)
+        bytes += (long) changeCell.length * 5;
+        bytes += (long) keyframes.length * (16 + (long) size * size);
+        return bytes;
+    }
+
+    /**
+     * 한 프레임으로 바로 이동 (전체 화면 포함)
+     */
+    public ReplayFrame frame(int index) {
+        List<ReplayFrame> frames = window(index, 1, false);
+        return frames.isEmpty() ? null : frames.get(0);
+    }
+
+    /**
+     * [from, from + count) 구간의 프레임
+     * 첫 프레임만 전체 화면(mazeView)을 담고, 나머지는 직전 프레임 대비 바뀐 칸(cells)만 담습니다.
+     */
+    public List<ReplayFrame> window(int from, int count) {
+        return window(from, count, false);
+    }
+
+    /**
+     * @param fullViews true면 모든 프레임에 전체 화면을 담음 (이전 방식과 호환)
+     */
+    public List<ReplayFrame> window(int from, int count, boolean fullViews) {
+        int start = Math.max(0, from);
+        int end = (int) Math.min((long) start + Math.max(0, count), frameCount);
+        if (start >= end) {
+            return List.of();
+        }
+
+        byte[] codes = mapAt(start);
+        List<ReplayFrame> frames = new ArrayList<>(end - start);
+        int[] touched = new int[8];
+        for (int f = start; f < end; f++) {
+            if (f > start) {
+                applyChanges(codes, f);
+            }
+            ReplayFrame frame = describe(f);
+            if (f == start || fullViews) {
+                frame.mazeView = render(codes, f);
+            } else {
+                frame.cells = diff(codes, f, touched);
+            }
+            frames.add(frame);
+        }
+        return frames;
+    }
+
+    /**
+     * 프레임 index 시점의 맵: 가장 가까운 앞쪽 키프레임에서 시작해 변경분을 적용
+     */
+    private byte[] mapAt(int index) {
+        int k = index / keyframeInterval;
+        byte[] codes = keyframes[k].clone();
+        for (int f = k * keyframeInterval + 1; f <= index; f++) {
+            applyChanges(codes, f);
+        }
+        return codes;
+    }
+
+    private void applyChanges(byte[] codes, int frame) {
+        for (int c = changeStart[frame]; c < changeStart[frame + 1]; c++) {
+            codes[changeCell[c]] = changeCode[c];
+        }
+    }
+
+    private ReplayFrame describe(int f) {
+        ReplayFrame frame = new ReplayFrame();
+        frame.index = f;
+        frame.offsetMillis = offsetMillis[f];
+        GameEvent e = events[f];
+        if (e == null) {
+            frame.eventType = "START";
+            frame.direction = ' ';
+            frame.playerX = initialPlayerX;
+            frame.playerY = initialPlayerY;
+            frame.enemyX = initialEnemyX;
+            frame.enemyY = initialEnemyY;
+            frame.message = "리플레이 시작";
+            frame.success = true;
+        } else {
+            frame.eventType = e.getEventType() == null ? "" : e.getEventType();
+            frame.direction = e.getDirection();
+            frame.playerX = e.getPlayerX();
+            frame.playerY = e.getPlayerY();
+            frame.enemyX = e.getEnemyX();
+            frame.enemyY = e.getEnemyY();
+            frame.message = e.getMessage();
+            frame.success = e.isSuccess();
+        }
+        return frame;
+    }
+
+    private String render(byte[] codes, int f) {
+        StringBuilder sb = new StringBuilder(size * (size * 2 + 1));
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                sb.append(' ').append(symbol(codes, i, j, f));
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 직전 프레임 대비 바뀐 칸 [행, 열, 문자] 묶음
+     * 바뀔 수 있는 칸은 이전/현재 플레이어, 이전/현재 Enemy 위치와 이번 프레임의 맵 변경 칸뿐입니다.
+     */
+    private int[] diff(byte[] codes, int f, int[] touched) {
+        int count = 0;
+        count = touch(touched, count, viewPlayerX[f - 1], viewPlayerY[f - 1]);
+        count = touch(touched, count, viewPlayerX[f], viewPlayerY[f]);
+        count = touch(touched, count, viewEnemyX[f - 1], viewEnemyY[f - 1]);
+        count = touch(touched, count, viewEnemyX[f], viewEnemyY[f]);
+        int mapChanges = changeStart[f + 1] - changeStart[f];
+        if (count + mapChanges > touched.length) {
+            touched = Arrays.copyOf(touched, count + mapChanges);
+        }
+        for (int c = changeStart[f]; c < changeStart[f + 1]; c++) {
+            count = touch(touched, count, changeCell[c] / size, changeCell[c] % size);
+        }
+
+        int[] cells = new int[count * 3];
+        int out = 0;
+        for (int t = 0; t < count; t++) {
+            int i = touched[t] / size;
+            int j = touched[t] % size;
+            char now = symbol(codes, i, j, f);
+            // 맵이 바뀌지 않았고 위치 표시도 그대로인 칸은 생략
+            if (now == previousSymbol(codes, i, j, f)) {
+                continue;
+            }
+            cells[out++] = i;
+            cells[out++] = j;
+            cells[out++] = now;
+        }
+        return Arrays.copyOf(cells, out);
+    }
+
+    private int touch(int[] touched, int count, int i, int j) {
+        if (i < 0 || j < 0 || i >= size || j >= size) {
+            return count;
+        }
+        int cell = i * size + j;
+        for (int t = 0; t < count; t++) {
+            if (touched[t] == cell) {
+                return count;
+            }
+        }
+        touched[count] = cell;
+        return count + 1;
+    }
+
+    // Maze_two.cellSymbol과 같은 규칙 (플레이어 > Enemy > 셀)
+    private char symbol(byte[] codes, int i, int j, int f) {
+        return symbolAt(codes[i * size + j], i, j, viewPlayerX[f], viewPlayerY[f], viewEnemyX[f], viewEnemyY[f]);
+    }
+
+    private char previousSymbol(byte[] codes, int i, int j, int f) {
+        int cell = i * size + j;
+        byte code = codes[cell];
+        for (int c = changeStart[f]; c < changeStart[f + 1]; c++) {
+            if (changeCell[c] == cell) {
+                code = previousCode(cell, f);
+                break;
+            }
+        }
+        return symbolAt(code, i, j, viewPlayerX[f - 1], viewPlayerY[f - 1], viewEnemyX[f - 1], viewEnemyY[f - 1]);
+    }
+
+    /**
+     * 프레임 f 직전의 셀 코드 (드물게 맵이 바뀐 칸에서만 호출)
+     */
+    private byte previousCode(int cell, int f) {
+        for (int g = f - 1; g > 0; g--) {
+            for (int c = changeStart[g + 1] - 1; c >= changeStart[g]; c--) {
+                if (changeCell[c] == cell) {
+                    return changeCode[c];
+                }
+            }
+            if (g % keyframeInterval == 0) {
+                return keyframes[g / keyframeInterval][cell];
+            }
+        }
+        return keyframes[0][cell];
+    }
+
+    private static char symbolAt(byte code, int i, int j, int px, int py, int ex, int ey) {
+        if (i == px && j == py) {
+            return 'P';
+        } else if (ex >= 0 && ey >= 0 && i == ex && j == ey) {
+            return 'E';
+        }
+        return Maze_two.codeSymbol(code);
+    }
+
+    /**
+     * 재생하면서 프레임 정보를 기본형 배열에 쌓는 도우미
+     */
+    private static class Builder {
+        final int size;
+        final int keyframeInterval;
+        int frames;
+        int changes;
+        GameEvent[] events;
+        long[] offsetMillis;
+        int[] viewPlayerX;
+        int[] viewPlayerY;
+        int[] viewEnemyX;
+        int[] viewEnemyY;
+        int[] changeStart;
+        int[] changeCell = new int[16];
+        byte[] changeCode = new byte[16];
+        final List<byte[]> keyframes = new ArrayList<>();
+        int initialPlayerX;
+        int initialPlayerY;
+        int initialEnemyX;
+        int initialEnemyY;
+
+        Builder(int size, int keyframeInterval, int expectedFrames) {
+            this.size = size;
+            this.keyframeInterval = keyframeInterval;
+            events = new GameEvent[expectedFrames];
+            offsetMillis = new long[expectedFrames];
+            viewPlayerX = new int[expectedFrames];
+            viewPlayerY = new int[expectedFrames];
+            viewEnemyX = new int[expectedFrames];
+            viewEnemyY = new int[expectedFrames];
+            changeStart = new int[expectedFrames + 1];
+        }
+
+        void addChange(int cell, byte code) {
+            if (changes == changeCell.length) {
+                changeCell = Arrays.copyOf(changeCell, changes * 2);
+                changeCode = Arrays.copyOf(changeCode, changes * 2);
+            }
+            changeCell[changes] = cell;
+            changeCode[changes] = code;
+            changes++;
+        }
+
+        /**
+         * 현재 프레임을 마감합니다 (이 프레임의 맵 변경은 addChange로 먼저 기록)
+         */
+        void addFrame(GameEvent e, long offset, int px, int py, int ex, int ey, byte[] codes) {
+            int f = frames++;
+            events[f] = e;
+            offsetMillis[f] = offset;
+            viewPlayerX[f] = px;
+            viewPlayerY[f] = py;
+            viewEnemyX[f] = ex;
+            viewEnemyY[f] = ey;
+            changeStart[f + 1] = changes;
+            if (f % keyframeInterval == 0) {
+                keyframes.add(codes.clone());
+            }
+        }
+    }
+}
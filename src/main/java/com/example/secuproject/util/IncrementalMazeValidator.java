@@ -0,0 +1,631 @@
+package com.example.secuproject.util;
+
+import com.example.secuproject.model.MazeGrid;
+
+import java.util.Arrays;
+
+/**
+ * 맵 편집기용 증분 검증기
+ * 도착지점 거리 배열과 벽 영역 수를 호출 사이에 유지하고, 칸 하나가 바뀔 때 영향을 받는 부분만 다시 계산합니다.
+ * 결과(검사 순서, 메시지)는 같은 격자에 MazeValidator.validate를 돌린 것과 같습니다.
+ *
+ * <ul>
+ *   <li>벽 → 길: 새 칸에서 거리가 줄어드는 칸으로만 BFS</li>
+ *   <li>길 → 벽: 그 칸을 거쳐야만 하던 칸들만 지우고 경계의 거리에서 다시 BFS</li>
+ *   <li>벽 추가: 벽 칸마다 붙인 영역 번호를 union-find로 합침</li>
+ *   <li>벽 제거: 주변 벽(최대 4개)이 아직 이어져 있는지만 확인하고, 갈라졌으면 작은 쪽에 새 번호</li>
+ *   <li>도착지점이 바뀌면 거리 배열 전체를 다시 계산</li>
+ * </ul>
+ *
+ * 스레드 안전하지 않습니다 (편집 세션마다 하나씩).
+ */
+public class IncrementalMazeValidator {
+    private static final int WALL = 4;
+    private static final int START = 0;
+    private static final int GOAL = 9;
+    private static final int NO_REGION = -1;
+
+    private final MazeGrid map;
+    private final int size;
+    // 도착지점까지 거리 (도달 불가 UNVISITED)
+    private final int[] dist;
+    // 작업별 방문 표시 (stamp가 같으면 이번 작업에서 방문), owner는 벽 탐색에서 어느 이웃에서 출발했는지
+    private final int[] seen;
+    private final byte[] owner;
+    private int stamp;
+
+    // 행 우선 순서로 정렬된 스타트/도착지점 칸 (도착지점은 첫 번째 것)
+    private int[] starts = new int[4];
+    private int startCount;
+    private int[] goals = new int[1];
+    private int goalCount;
+
+    // 벽 칸의 영역 번호 (번호끼리는 regionParent로 합쳐짐, 벽이 아닌 칸의 값은 의미 없음)
+    private final int[] label;
+    private int[] regionParent = new int[16];
+    private int regionCount;
+    private int wallCount;
+    private int wallRegions;
+
+    // 재사용 버퍼
+    private int[] queue = new int[64];
+    private int[] region = new int[64];
+    private long[] seeds = new long[64];
+    private final int[][] wallQueues = new int[4][16];
+    private final int[] wallHeads = new int[4];
+    private final int[] wallTails = new int[4];
+    private final int[] around = new int[4];
+    private final int[] groupOf = new int[4];
+
+    private MazeValidator.ValidationResult result;
+
+    /**
+     * map을 복사해 전체 검증 상태를 만듭니다
+     */
+    public IncrementalMazeValidator(MazeGrid map) {
+        this.map = map.copy();
+        this.size = map.getSize();
+        int area = map.area();
+        this.dist = new int[area];
+        this.seen = new int[area];
+        this.owner = new byte[area];
+        for (int i = 0; i < area; i++) {
+            int code = this.map.get(i);
+            if (code == START) {
+                starts = insert(starts, startCount++, i);
+            } else if (code == GOAL) {
+                goals = insert(goals, goalCount++, i);
+            } else if (code == WALL) {
+                wallCount++;
+            }
+        }
+        this.label = new int[area];
+        wallRegions = labelWallRegions();
+        recomputeDistances();
+    }
+
+    public IncrementalMazeValidator(int[][] map) {
+        this(MazeGrid.fromArray(map));
+    }
+
+    /**
+     * 칸 하나를 바꾸고 검증 결과를 돌려줍니다
+     * 좌표나 코드가 잘못되면 아무 상태도 바꾸지 않고 예외를 던집니다.
+     */
+    public MazeValidator.ValidationResult set(int x, int y, int code) {
+        if (!map.isValidPosition(x, y)) {
+            throw new IndexOutOfBoundsException("미로 범위를 벗어났습니다: (" + x + ", " + y + ")");
+        }
+        if (code < 0 || code > MazeGrid.MAX_CODE) {
+            throw new IllegalArgumentException("셀 코드는 0~15 사이여야 합니다: " + code);
+        }
+        int cell = map.index(x, y);
+        int old = map.get(cell);
+        if (old == code) {
+            return result();
+        }
+
+        int oldGoal = goal();
+        if (old == START) startCount = remove(starts, startCount, cell);
+        if (old == GOAL) goalCount = remove(goals, goalCount, cell);
+        if (code == START) starts = insert(starts, startCount++, cell);
+        if (code == GOAL) goals = insert(goals, goalCount++, cell);
+
+        boolean wasWall = old == WALL;
+        boolean isWall = code == WALL;
+        map.set(cell, code);
+        if (isWall && !wasWall) {
+            // 새 벽이 이웃 벽 영역들을 하나로 합침
+            wallRegions += 1 - wallAdded(cell);
+            wallCount++;
+        } else if (wasWall && !isWall) {
+            // 빠진 벽 때문에 이웃 벽들이 갈라질 수 있음
+            wallRegions += wallRemoved(cell) - 1;
+            wallCount--;
+            if (regionCount > map.area() + 16) {
+                // 갈라질 때마다 번호가 늘어나므로 가끔 처음부터 다시 붙임
+                labelWallRegions();
+            }
+        }
+
+        if (goal() != oldGoal) {
+            recomputeDistances();
+        } else if (wasWall && !isWall) {
+            opened(cell);
+        } else if (isWall && !wasWall) {
+            closed(cell);
+        }
+        result = null;
+        return result();
+    }
+
+    /**
+     * 현재 격자의 검증 결과 (MazeValidator.validate와 같은 결과)
+     */
+    public MazeValidator.ValidationResult result() {
+        if (result == null) {
+            if (size == 0) {
+                result = new MazeValidator.ValidationResult(false, "미로가 비어있습니다.");
+            } else {
+                result = MazeValidator.evaluate(map, starts, startCount, goal(), dist,
+                    () -> wallCount == 0 || wallRegions == 1);
+            }
+        }
+        return result;
+    }
+
+    public int getCode(int x, int y) {
+        return map.get(x, y);
+    }
+
+    /**
+     * 현재 격자의 복사본
+     */
+    public MazeGrid getGrid() {
+        return map.copy();
+    }
+
+    /**
+     * 도착지점까지 거리 (벽이거나 도달 불가면 -1)
+     */
+    public int distanceToGoal(int x, int y) {
+        return dist[map.index(x, y)];
+    }
+
+    private int goal() {
+        return goalCount == 0 ? -1 : goals[0];
+    }
+
+    private boolean isOpen(int cell) {
+        return map.get(cell) != WALL;
+    }
+
+    private void recomputeDistances() {
+        Arrays.fill(dist, MazeValidator.UNVISITED);
+        int goal = goal();
+        if (goal >= 0) {
+            queue = ensure(queue, map.area());
+            MazeValidator.distancesFrom(map, goal, dist, queue);
+        }
+    }
+
+    // ---------- 거리 배열 ----------
+
+    /**
+     * 벽이던 칸이 열림: 이웃 중 가장 가까운 거리 + 1에서 시작해 거리가 줄어드는 칸으로만 퍼짐
+     */
+    private void opened(int cell) {
+        int best = MazeValidator.UNVISITED;
+        int x = cell / size, y = cell % size;
+        if (x > 0) best = closer(best, dist[cell - size]);
+        if (x < size - 1) best = closer(best, dist[cell + size]);
+        if (y > 0) best = closer(best, dist[cell - 1]);
+        if (y < size - 1) best = closer(best, dist[cell + 1]);
+        if (best < 0) {
+            return;
+        }
+        dist[cell] = best + 1;
+        int head = 0, tail = 0;
+        queue[tail++] = cell;
+        while (head < tail) {
+            int curr = queue[head++];
+            int cx = curr / size, cy = curr % size;
+            int next = dist[curr] + 1;
+            if (cx > 0) tail = relax(curr - size, next, tail);
+            if (cx < size - 1) tail = relax(curr + size, next, tail);
+            if (cy > 0) tail = relax(curr - 1, next, tail);
+            if (cy < size - 1) tail = relax(curr + 1, next, tail);
+        }
+    }
+
+    private static int closer(int best, int d) {
+        return d >= 0 && (best < 0 || d < best) ? d : best;
+    }
+
+    private int relax(int cell, int d, int tail) {
+        int current = dist[cell];
+        if ((current < 0 || current > d) && isOpen(cell)) {
+            dist[cell] = d;
+            queue = ensure(queue, tail + 1);
+            queue[tail++] = cell;
+        }
+        return tail;
+    }
+
+    /**
+     * 길이던 칸이 막힘: 그 칸을 거치는 최단 경로밖에 없던 칸들(영향 영역)을 찾아 지우고,
+     * 영역 바깥 이웃의 거리에서 시작하는 BFS로 영역 안만 다시 채웁니다
+     */
+    private void closed(int cell) {
+        int from = dist[cell];
+        if (from < 0) {
+            return;
+        }
+        int mark = nextStamp();
+        seen[cell] = mark;
+        region[0] = cell;
+        int count = 1;
+        // 거리 순서대로 훑으므로 칸 v(거리 d)를 볼 때 거리 d-1 칸들의 영향 여부는 이미 정해져 있음
+        for (int head = 0; head < count; head++) {
+            int curr = region[head];
+            int cx = curr / size, cy = curr % size;
+            int next = dist[curr] + 1;
+            if (cx > 0) count = collect(curr - size, next, mark, count);
+            if (cx < size - 1) count = collect(curr + size, next, mark, count);
+            if (cy > 0) count = collect(curr - 1, next, mark, count);
+            if (cy < size - 1) count = collect(curr + 1, next, mark, count);
+        }
+        for (int k = 0; k < count; k++) {
+            dist[region[k]] = MazeValidator.UNVISITED;
+        }
+
+        // 영역 안 각 칸의 후보 거리 = 영역 바깥 이웃 거리 + 1 (작은 순서로 정렬)
+        int seedCount = 0;
+        for (int k = 1; k < count; k++) {
+            int v = region[k];
+            int vx = v / size, vy = v % size;
+            int best = MazeValidator.UNVISITED;
+            if (vx > 0) best = closer(best, outside(v - size, mark));
+            if (vx < size - 1) best = closer(best, outside(v + size, mark));
+            if (vy > 0) best = closer(best, outside(v - 1, mark));
+            if (vy < size - 1) best = closer(best, outside(v + 1, mark));
+            if (best >= 0) {
+                seeds = ensure(seeds, seedCount + 1);
+                seeds[seedCount++] = ((long) (best + 1) << 32) | v;
+            }
+        }
+        Arrays.sort(seeds, 0, seedCount);
+
+        // 정렬된 후보와 BFS 큐를 거리 순서로 합치며 진행
+        int head = 0, tail = 0, s = 0;
+        while (s < seedCount || head < tail) {
+            int curr;
+            if (head == tail || (s < seedCount && (int) (seeds[s] >>> 32) <= dist[queue[head]])) {
+                curr = (int) seeds[s];
+                int d = (int) (seeds[s++] >>> 32);
+                if (dist[curr] >= 0 && dist[curr] <= d) {
+                    continue;
+                }
+                dist[curr] = d;
+            } else {
+                curr = queue[head++];
+            }
+            int cx = curr / size, cy = curr % size;
+            int next = dist[curr] + 1;
+            if (cx > 0) tail = relaxIn(curr - size, next, mark, tail);
+            if (cx < size - 1) tail = relaxIn(curr + size, next, mark, tail);
+            if (cy > 0) tail = relaxIn(curr - 1, next, mark, tail);
+            if (cy < size - 1) tail = relaxIn(curr + 1, next, mark, tail);
+        }
+    }
+
+    /**
+     * cell(거리 d)이 영향 영역에 드는지: 영역 밖에 거리 d-1인 길 이웃이 없으면 영향 받음
+     */
+    private int collect(int cell, int d, int mark, int count) {
+        if (seen[cell] == mark || dist[cell] != d || !isOpen(cell)) {
+            return count;
+        }
+        int x = cell / size, y = cell % size;
+        int parent = d - 1;
+        if ((x > 0 && supports(cell - size, parent, mark))
+                || (x < size - 1 && supports(cell + size, parent, mark))
+                || (y > 0 && supports(cell - 1, parent, mark))
+                || (y < size - 1 && supports(cell + 1, parent, mark))) {
+            return count;
+        }
+        seen[cell] = mark;
+        region = ensure(region, count + 1);
+        region[count++] = cell;
+        return count;
+    }
+
+    private boolean supports(int cell, int d, int mark) {
+        return dist[cell] == d && seen[cell] != mark && isOpen(cell);
+    }
+
+    private int outside(int cell, int mark) {
+        return seen[cell] == mark ? MazeValidator.UNVISITED : dist[cell];
+    }
+
+    private int relaxIn(int cell, int d, int mark, int tail) {
+        if (seen[cell] != mark || !isOpen(cell)) {
+            return tail;
+        }
+        int current = dist[cell];
+        if (current < 0 || current > d) {
+            dist[cell] = d;
+            queue = ensure(queue, tail + 1);
+            queue[tail++] = cell;
+        }
+        return tail;
+    }
+
+    // ---------- 벽 연결 ----------
+
+    /**
+     * 벽 칸마다 영역 번호를 새로 붙입니다 (영역 수를 돌려줌)
+     */
+    private int labelWallRegions() {
+        regionCount = 0;
+        Arrays.fill(label, NO_REGION);
+        int regions = 0;
+        queue = ensure(queue, map.area());
+        int[] q = queue;
+        for (int i = 0; i < map.area(); i++) {
+            if (label[i] != NO_REGION || map.get(i) != WALL) {
+                continue;
+            }
+            regions++;
+            int id = newRegion();
+            int head = 0, tail = 0;
+            label[i] = id;
+            q[tail++] = i;
+            while (head < tail) {
+                int curr = q[head++];
+                int x = curr / size, y = curr % size;
+                if (x > 0) tail = labelWall(curr - size, id, q, tail);
+                if (x < size - 1) tail = labelWall(curr + size, id, q, tail);
+                if (y > 0) tail = labelWall(curr - 1, id, q, tail);
+                if (y < size - 1) tail = labelWall(curr + 1, id, q, tail);
+            }
+        }
+        return regions;
+    }
+
+    private int labelWall(int cell, int id, int[] q, int tail) {
+        if (label[cell] == NO_REGION && map.get(cell) == WALL) {
+            label[cell] = id;
+            q[tail++] = cell;
+        }
+        return tail;
+    }
+
+    /**
+     * cell이 벽이 됨: 이웃 벽 영역들을 하나로 합칩니다 (합쳐진 영역 수를 돌려줌)
+     */
+    private int wallAdded(int cell) {
+        int x = cell / size, y = cell % size;
+        int[] around = aroundOf(cell, x, y);
+        int root = NO_REGION;
+        int joined = 0;
+        for (int nb : around) {
+            if (nb < 0 || map.get(nb) != WALL) {
+                continue;
+            }
+            int r = findRegion(label[nb]);
+            if (root == NO_REGION) {
+                root = r;
+                joined = 1;
+            } else if (r != root) {
+                root = unionRegions(root, r);
+                joined++;
+            }
+        }
+        label[cell] = root == NO_REGION ? newRegion() : root;
+        return joined;
+    }
+
+    /**
+     * cell(이제 벽이 아님)의 네 이웃 벽이 몇 개의 영역으로 갈라졌는지
+     * 대각선 벽으로 바로 이어진 이웃은 먼저 묶고, 남은 묶음끼리는 이웃마다 BFS를 번갈아 한 칸씩 진행해
+     * 서로 만나거나 한 묶음만 남기고 모두 다 돌 때까지 확인합니다 (비용은 작은 쪽 영역 크기 정도).
+     * 갈라졌으면 다 돈 쪽 영역에 새 번호를 붙입니다.
+     */
+    private int wallRemoved(int cell) {
+        int x = cell / size, y = cell % size;
+        int[] around = aroundOf(cell, x, y);
+        int n = 0;
+        for (int d = 0; d < 4; d++) {
+            if (around[d] >= 0 && map.get(around[d]) == WALL) {
+                groupOf[d] = d;
+                n++;
+            } else {
+                around[d] = -1;
+            }
+        }
+        if (n <= 1) {
+            return n;
+        }
+        int groups = n;
+        for (int d = 0; d < 4; d++) {
+            int e = (d + 1) & 3;
+            if (around[d] >= 0 && around[e] >= 0) {
+                // 위+오른쪽이면 오른쪽 위 대각선 등 (두 이웃의 좌표 합 - cell)
+                int diagonal = around[d] + around[e] - cell;
+                if (map.get(diagonal) == WALL && union(d, e)) {
+                    groups--;
+                }
+            }
+        }
+        if (groups == 1) {
+            return 1;
+        }
+
+        int mark = nextStamp();
+        for (int d = 0; d < 4; d++) {
+            wallHeads[d] = 0;
+            wallTails[d] = 0;
+            if (around[d] >= 0) {
+                seen[around[d]] = mark;
+                owner[around[d]] = (byte) d;
+                wallQueues[d][wallTails[d]++] = around[d];
+            }
+        }
+        boolean progressing = true;
+        while (progressing) {
+            progressing = false;
+            for (int d = 0; d < 4; d++) {
+                if (wallHeads[d] == wallTails[d]) {
+                    continue;
+                }
+                progressing = true;
+                int curr = wallQueues[d][wallHeads[d]++];
+                int cx = curr / size, cy = curr % size;
+                if (cx > 0) groups -= expandWall(d, curr - size, mark);
+                if (cx < size - 1) groups -= expandWall(d, curr + size, mark);
+                if (cy > 0) groups -= expandWall(d, curr - 1, mark);
+                if (cy < size - 1) groups -= expandWall(d, curr + 1, mark);
+                if (groups == 1) {
+                    return 1;
+                }
+                if (wallHeads[d] == wallTails[d] && closedGroups(around) >= groups - 1) {
+                    progressing = false;
+                    break;
+                }
+            }
+        }
+        relabelClosed(around, closedGroups(around) == groups);
+        return groups;
+    }
+
+    /**
+     * 위, 오른쪽, 아래, 왼쪽 이웃 칸 (범위 밖은 -1, 이웃한 두 방향 사이 대각선으로 연결 확인)
+     */
+    private int[] aroundOf(int cell, int x, int y) {
+        around[0] = x > 0 ? cell - size : -1;
+        around[1] = y < size - 1 ? cell + 1 : -1;
+        around[2] = x < size - 1 ? cell + size : -1;
+        around[3] = y > 0 ? cell - 1 : -1;
+        return around;
+    }
+
+    /**
+     * 벽 탐색 d가 cell로 한 칸 진행 (다른 탐색 영역을 만나 묶음이 합쳐지면 1)
+     */
+    private int expandWall(int d, int cell, int mark) {
+        if (map.get(cell) != WALL) {
+            return 0;
+        }
+        if (seen[cell] == mark) {
+            return union(d, owner[cell]) ? 1 : 0;
+        }
+        seen[cell] = mark;
+        owner[cell] = (byte) d;
+        // 다 돈 뒤 번호를 다시 붙이므로 큐 앞부분도 버리지 않음
+        wallQueues[d] = ensure(wallQueues[d], wallTails[d] + 1);
+        wallQueues[d][wallTails[d]++] = cell;
+        return 0;
+    }
+
+    /**
+     * 모든 탐색이 끝난 묶음 수 (끝난 묶음은 영역 전체를 다 돌았으므로 다른 묶음과 떨어져 있음)
+     */
+    private int closedGroups(int[] around) {
+        int closed = 0;
+        for (int d = 0; d < 4; d++) {
+            if (around[d] >= 0 && find(d) == d && isClosed(around, d)) {
+                closed++;
+            }
+        }
+        return closed;
+    }
+
+    private boolean isClosed(int[] around, int group) {
+        for (int e = 0; e < 4; e++) {
+            if (around[e] >= 0 && find(e) == group && wallHeads[e] != wallTails[e]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 다 돈 묶음마다 새 영역 번호 (모두 다 돌았으면 첫 묶음은 원래 번호 유지)
+     */
+    private void relabelClosed(int[] around, boolean keepFirst) {
+        boolean kept = !keepFirst;
+        for (int d = 0; d < 4; d++) {
+            if (around[d] < 0 || find(d) != d || !isClosed(around, d)) {
+                continue;
+            }
+            if (!kept) {
+                kept = true;
+                continue;
+            }
+            int id = newRegion();
+            for (int e = 0; e < 4; e++) {
+                if (around[e] >= 0 && find(e) == d) {
+                    int[] q = wallQueues[e];
+                    for (int k = 0; k < wallTails[e]; k++) {
+                        label[q[k]] = id;
+                    }
+                }
+            }
+        }
+    }
+
+    private int find(int d) {
+        while (groupOf[d] != d) {
+            d = groupOf[d];
+        }
+        return d;
+    }
+
+    private boolean union(int a, int b) {
+        int ra = find(a), rb = find(b);
+        if (ra == rb) {
+            return false;
+        }
+        groupOf[Math.max(ra, rb)] = Math.min(ra, rb);
+        return true;
+    }
+
+    private int newRegion() {
+        regionParent = ensure(regionParent, regionCount + 1);
+        regionParent[regionCount] = regionCount;
+        return regionCount++;
+    }
+
+    private int findRegion(int id) {
+        while (regionParent[id] != id) {
+            regionParent[id] = regionParent[regionParent[id]];
+            id = regionParent[id];
+        }
+        return id;
+    }
+
+    private int unionRegions(int a, int b) {
+        regionParent[b] = a;
+        return a;
+    }
+
+    // ---------- 보조 ----------
+
+    private int nextStamp() {
+        if (++stamp == Integer.MAX_VALUE) {
+            Arrays.fill(seen, 0);
+            stamp = 1;
+        }
+        return stamp;
+    }
+
+    private static int[] ensure(int[] array, int length) {
+        return array.length >= length ? array : Arrays.copyOf(array, Math.max(length, array.length * 2));
+    }
+
+    private static long[] ensure(long[] array, int length) {
+        return array.length >= length ? array : Arrays.copyOf(array, Math.max(length, array.length * 2));
+    }
+
+    /**
+     * 정렬된 array의 앞 count개에 value를 끼워 넣음 (필요하면 늘린 배열을 돌려줌)
+     */
+    private static int[] insert(int[] array, int count, int value) {
+        array = ensure(array, count + 1);
+        int at = Arrays.binarySearch(array, 0, count, value);
+        at = at < 0 ? -at - 1 : at;
+        System.arraycopy(array, at, array, at + 1, count - at);
+        array[at] = value;
+        return array;
+    }
+
+    private static int remove(int[] array, int count, int value) {
+        int at = Arrays.binarySearch(array, 0, count, value);
+        if (at < 0) {
+            return count;
+        }
+        System.arraycopy(array, at + 1, array, at, count - at - 1);
+        return count - 1;
+    }
+}
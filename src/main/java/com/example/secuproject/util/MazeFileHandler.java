@@ -2,68 +2,311 @@ package com.example.secuproject.util;
 
 import com.example.secuproject.model.Maze;
 import com.example.secuproject.model.MazeCell;
+import com.example.secuproject.model.MazeGrid;
 import com.example.secuproject.model.Position;
 
 import java.io.*;
-import java.util.ArrayList;
-import java.util.List;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
 
 /**
  * 미로 파일을 읽고 쓰는 클래스
- * 텍스트 파일 형식으로 미로를 저장하고 불러옵니다
+ * 텍스트 파일 형식과 바이너리 형식(칸당 4비트 + CRC32)으로 미로를 저장하고, 읽을 때는 형식을 자동으로 알아봅니다
  */
 public class MazeFileHandler {
     
+    // 이보다 작은 파일은 매핑하지 않고 한 번에 읽음 (작은 파일은 매핑 비용이 더 큼)
+    private static final int MAP_THRESHOLD = 1 << 20;
+    
+    // 바이너리 미로 파일 (saveGridBinary 참고)
+    public static final String BINARY_EXTENSION = ".mazb";
+    private static final byte[] BINARY_MAGIC = {'S', 'G', 'M', 'F'};
+    private static final int BINARY_VERSION = 1;
+    // magic(4) + version(1) + size(4) + 스타트 수(4)
+    private static final int BINARY_HEADER = 13;
+    private static final int MAX_BINARY_SIZE = 1 << 14;
+    
     /**
      * 텍스트 파일에서 미로를 읽어옵니다
      * @param filePath 파일 경로
      * @return 읽어온 미로 객체
      */
     public static Maze loadMaze(String filePath) throws IOException {
-        List<String> lines = new ArrayList<>();
+        MazeGrid grid = loadGrid(filePath, 4);
+        int size = grid.getSize();
+        Maze maze = new Maze(size);
         
-        try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                lines.add(line.trim());
+        // 스타트/도착지점 추적을 위해 벽이 아닌 칸만 setCell (Maze는 벽으로 초기화됨)
+        int area = grid.area();
+        for (int k = 0; k < area; k++) {
+            int code = grid.get(k);
+            if (code != 4) {
+                maze.setCell(k / size, k % size, code);
             }
         }
         
-        if (lines.isEmpty()) {
-            throw new IOException("파일이 비어있습니다");
+        return maze;
+    }
+    
+    /**
+     * 미로 파일을 줄/토큰 문자열 없이 바이트에서 바로 격자로 읽습니다
+     * 파일이 BINARY_MAGIC으로 시작하면 바이너리 형식으로 읽습니다 (missing은 쓰지 않음).
+     * 큰 파일은 메모리 매핑(MappedByteBuffer)해서 읽으며, 줄 수가 미로 크기입니다.
+     * 공백으로 구분된 형식("4 4 0 3")과 숫자를 붙여 쓴 형식("4403", 줄에 토큰이 하나이고 길이가 크기와 같을 때)을 모두 처리합니다.
+     * 숫자가 아니거나 0~15 밖의 값은 벽(4), 줄에 값이 모자란 칸은 missing으로 남습니다.
+     * @param missing 파일에 값이 없는 칸의 코드
+     */
+    public static MazeGrid loadGrid(String filePath, int missing) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length == 0) {
+                throw new IOException("파일이 비어있습니다");
+            }
+            if (length > Integer.MAX_VALUE) {
+                throw new IOException("미로 파일이 너무 큽니다: " + length + " bytes");
+            }
+            ByteBuffer buf;
+            if (length < MAP_THRESHOLD) {
+                buf = ByteBuffer.allocate((int) length);
+                while (buf.hasRemaining() && channel.read(buf) >= 0) {
+                    // 끝까지 읽기
+                }
+                buf.flip();
+            } else {
+                buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+            }
+            if (isBinary(buf, buf.limit())) {
+                return readBinary(buf, buf.limit());
+            }
+            return parseGrid(buf, buf.limit(), missing);
         }
+    }
+    
+    private static MazeGrid parseGrid(ByteBuffer buf, int length, int missing) {
+        // 1회차: 줄 수 (BufferedReader.readLine처럼 \n, \r, \r\n이 줄 끝, 마지막 줄바꿈 뒤는 줄로 세지 않음)
+        int size = 0;
+        boolean pending = false;
+        for (int i = 0; i < length; i++) {
+            byte b = buf.get(i);
+            if (b == '\n') {
+                size++;
+                pending = false;
+            } else if (b == '\r') {
+                size++;
+                pending = false;
+                if (i + 1 < length && buf.get(i + 1) == '\n') i++;
+            } else {
+                pending = true;
+            }
+        }
+        if (pending) size++;
         
-        int size = lines.size();
-        Maze maze = new Maze(size);
+        // 2회차: 줄마다 바로 격자에 기록
+        MazeGrid grid = new MazeGrid(size, missing);
+        int pos = 0;
+        for (int x = 0; x < size; x++) {
+            pos = parseLine(buf, pos, length, grid, x);
+            if (pos < length) {
+                pos += buf.get(pos) == '\r' && pos + 1 < length && buf.get(pos + 1) == '\n' ? 2 : 1;
+            }
+        }
+        return grid;
+    }
+    
+    /**
+     * x번째 줄을 읽고 줄 끝 위치(줄바꿈 문자 또는 파일 끝)를 돌려줍니다
+     */
+    private static int parseLine(ByteBuffer buf, int from, int length, MazeGrid grid, int x) {
+        int size = grid.getSize();
+        int p = skipBlank(buf, from, length);
+        if (isLineEnd(buf, p, length)) {
+            // 빈 줄은 예전처럼 첫 칸만 "숫자가 아님"(벽)으로 처리
+            grid.set(x, 0, 4);
+            return p;
+        }
+        int tokenEnd = skipToken(buf, p, length);
+        int next = skipBlank(buf, tokenEnd, length);
+        if (tokenEnd - p == size && isLineEnd(buf, next, length)) {
+            // 한 줄에 숫자가 붙어있는 경우 (예: "4444444", a~f는 10~15)
+            for (int y = 0; y < size; y++) {
+                int code = Character.digit(buf.get(p + y), 16);
+                grid.set(x, y, code < 0 ? 4 : code);
+            }
+            return next;
+        }
+        // 공백으로 구분된 경우
+        for (int y = 0; ; ) {
+            grid.set(x, y++, parseCode(buf, p, tokenEnd));
+            p = next;
+            if (y == size || isLineEnd(buf, p, length)) {
+                break;
+            }
+            tokenEnd = skipToken(buf, p, length);
+            next = skipBlank(buf, tokenEnd, length);
+        }
+        // 크기보다 많은 값은 무시
+        while (!isLineEnd(buf, p, length)) p++;
+        return p;
+    }
+    
+    /**
+     * Integer.parseInt와 같은 규칙(부호 허용)으로 읽되, 숫자가 아니거나 0~15 밖이면 벽(4)
+     */
+    private static int parseCode(ByteBuffer buf, int from, int to) {
+        int p = from;
+        byte first = buf.get(p);
+        boolean negative = first == '-';
+        if (negative || first == '+') {
+            p++;
+        }
+        if (p == to) {
+            return 4;
+        }
+        int value = 0;
+        for (; p < to; p++) {
+            int digit = buf.get(p) - '0';
+            if (digit < 0 || digit > 9) {
+                return 4;
+            }
+            // 15를 넘으면 어차피 벽이므로 더 키우지 않음 (오버플로 방지)
+            value = Math.min(value * 10 + digit, MazeGrid.MAX_CODE + 1);
+        }
+        if (value > MazeGrid.MAX_CODE || (negative && value != 0)) {
+            return 4;
+        }
+        return value;
+    }
+    
+    private static boolean isLineEnd(ByteBuffer buf, int p, int length) {
+        return p == length || buf.get(p) == '\n' || buf.get(p) == '\r';
+    }
+    
+    /**
+     * 줄바꿈이 아닌 공백 문자를 건너뜀
+     */
+    private static int skipBlank(ByteBuffer buf, int p, int to) {
+        while (p < to) {
+            int b = buf.get(p) & 0xFF;
+            if (b > ' ' || b == '\n' || b == '\r') break;
+            p++;
+        }
+        return p;
+    }
+    
+    private static int skipToken(ByteBuffer buf, int p, int to) {
+        while (p < to && (buf.get(p) & 0xFF) > ' ') p++;
+        return p;
+    }
+    
+    /**
+     * 바이너리 미로 파일인지 (파일 앞 4바이트가 BINARY_MAGIC)
+     */
+    private static boolean isBinary(ByteBuffer buf, int length) {
+        if (length < BINARY_MAGIC.length) {
+            return false;
+        }
+        for (int i = 0; i < BINARY_MAGIC.length; i++) {
+            if (buf.get(i) != BINARY_MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * 바이너리 미로 읽기: 헤더 확인 → CRC32 확인 → 압축 셀 코드를 한 번에 복사
+     */
+    private static MazeGrid readBinary(ByteBuffer buf, int length) throws IOException {
+        if (length < BINARY_HEADER + 8) {
+            throw new IOException("바이너리 미로 파일이 잘렸습니다");
+        }
+        int version = buf.get(4) & 0xFF;
+        if (version != BINARY_VERSION) {
+            throw new IOException("지원하지 않는 바이너리 미로 버전: " + version);
+        }
+        int size = buf.getInt(5);
+        int startCount = buf.getInt(9);
+        if (size < 0 || size > MAX_BINARY_SIZE) {
+            throw new IOException("미로 크기가 잘못되었습니다: " + size);
+        }
+        int area = size * size;
+        if (startCount < 0 || startCount > area) {
+            throw new IOException("스타트 지점 수가 잘못되었습니다: " + startCount);
+        }
+        int packedAt = BINARY_HEADER + 4 * startCount + 4;
+        int packedLength = (area + 1) / 2;
+        if ((long) packedAt + packedLength + 4 != length) {
+            throw new IOException("바이너리 미로 파일 길이가 맞지 않습니다: " + length);
+        }
         
-        // 각 줄을 읽어서 미로를 구성합니다
-        for (int i = 0; i < size; i++) {
-            String line = lines.get(i);
-            // 공백이나 구분자 없이 숫자만 있는 경우와 공백으로 구분된 경우 모두 처리
-            String[] parts = line.split("\\s+");
-            
-            if (parts.length == 1 && parts[0].length() == size) {
-                // 한 줄에 숫자가 붙어있는 경우 (예: "4444444")
-                String numbers = parts[0];
-                for (int j = 0; j < size && j < numbers.length(); j++) {
-                    int code = Character.getNumericValue(numbers.charAt(j));
-                    maze.setCell(i, j, code);
-                }
-            } else {
-                // 공백으로 구분된 경우
-                for (int j = 0; j < parts.length && j < size; j++) {
-                    try {
-                        int code = Integer.parseInt(parts[j]);
-                        maze.setCell(i, j, code);
-                    } catch (NumberFormatException e) {
-                        // 숫자가 아니면 벽(4)으로 처리
-                        maze.setCell(i, j, 4);
-                    }
-                }
+        CRC32 crc = new CRC32();
+        crc.update(buf.duplicate().position(0).limit(length - 4));
+        if ((int) crc.getValue() != buf.getInt(length - 4)) {
+            throw new IOException("바이너리 미로 파일이 손상되었습니다 (CRC 불일치)");
+        }
+        
+        byte[] packed = new byte[packedLength];
+        buf.get(packedAt, packed);
+        MazeGrid grid = MazeGrid.fromPacked(size, packed);
+        
+        // 헤더의 스타트/도착지점 위치가 셀 코드와 맞는지
+        for (int k = 0; k < startCount; k++) {
+            int start = buf.getInt(BINARY_HEADER + 4 * k);
+            if (start < 0 || start >= area || grid.get(start) != 0) {
+                throw new IOException("스타트 지점 위치가 셀 코드와 맞지 않습니다: " + start);
+            }
+        }
+        int goal = buf.getInt(packedAt - 4);
+        if (goal != -1 && (goal < 0 || goal >= area || grid.get(goal) != 9)) {
+            throw new IOException("도착지점 위치가 셀 코드와 맞지 않습니다: " + goal);
+        }
+        return grid;
+    }
+    
+    /**
+     * 미로를 바이너리 파일로 저장합니다 (loadMaze/Maze_two.fromFile이 형식을 자동으로 알아봄)
+     */
+    public static void saveMazeBinary(Maze maze, String filePath) throws IOException {
+        saveGridBinary(maze.getGrid(), filePath);
+    }
+    
+    /**
+     * 격자를 바이너리 파일로 저장합니다
+     * <pre>
+     * "SGMF" | version(1) | size(4) | 스타트 수(4) | 스타트 위치(4 × n) | 도착지점 위치(4, 없으면 -1)
+     *        | 압축 셀 코드((size² + 1) / 2, MazeGrid.packed) | CRC32(4, 앞의 모든 바이트)
+     * </pre>
+     * 위치는 행 우선 칸 인덱스(x * size + y)이며, 정수는 빅 엔디언입니다.
+     */
+    public static void saveGridBinary(MazeGrid grid, String filePath) throws IOException {
+        int area = grid.area();
+        int startCount = grid.count(0);
+        byte[] packed = grid.packed();
+        ByteBuffer out = ByteBuffer.allocate(BINARY_HEADER + 4 * startCount + 4 + packed.length + 4);
+        out.put(BINARY_MAGIC);
+        out.put((byte) BINARY_VERSION);
+        out.putInt(grid.getSize());
+        out.putInt(startCount);
+        for (int k = 0; k < area; k++) {
+            if (grid.get(k) == 0) {
+                out.putInt(k);
             }
         }
+        out.putInt(grid.indexOf(9));
+        out.put(packed);
+        CRC32 crc = new CRC32();
+        crc.update(out.array(), 0, out.position());
+        out.putInt((int) crc.getValue());
         
-        return maze;
+        File parentDir = new File(filePath).getParentFile();
+        if (parentDir != null && !parentDir.exists()) {
+            parentDir.mkdirs();
+        }
+        Files.write(Paths.get(filePath), out.array());
     }
     
     /**
@@ -81,17 +324,20 @@ public class MazeFileHandler {
             parentDir.mkdirs();
         }
         
-        try (PrintWriter writer = new PrintWriter(new FileWriter(filePath))) {
-            int size = maze.getSize();
+        try (PrintWriter writer = new PrintWriter(new BufferedWriter(new FileWriter(filePath)))) {
+            MazeGrid grid = maze.getGrid();
+            int size = grid.getSize();
+            // 한 줄씩 모아서 쓰기
+            StringBuilder row = new StringBuilder(size * 3);
             for (int i = 0; i < size; i++) {
+                row.setLength(0);
                 for (int j = 0; j < size; j++) {
-                    MazeCell cell = maze.getCell(i, j);
-                    writer.print(cell.getCode());
-                    if (j < size - 1) {
-                        writer.print(" ");
+                    if (j > 0) {
+                        row.append(' ');
                     }
+                    row.append(grid.get(i, j));
                 }
-                writer.println();
+                writer.println(row);
             }
         }
     }
@@ -1,40 +1,91 @@
 package com.example.secuproject.util;
 
+import com.example.secuproject.model.MazeGrid;
+import com.example.secuproject.model.MazeRef;
+
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.random.RandomGenerator;
+import java.util.stream.Collectors;
 
 public class MazeGenerator {
-    private Random random;
+    private final RandomGenerator random;
     
     private static final int[] DX = {-1, 1, 0, 0};
     private static final int[] DY = {0, 0, -1, 1};
     private static final int MAX_GENERATION_ATTEMPTS = 50;
     
     public MazeGenerator() {
-        this.random = new Random();
+        this(new Random());
+    }
+    
+    /**
+     * 시드 고정 생성기 (같은 시드 + 같은 크기면 항상 같은 미로)
+     */
+    public MazeGenerator(long seed) {
+        this(new SplittableRandom(seed));
+    }
+    
+    public MazeGenerator(RandomGenerator random) {
+        this.random = random;
+    }
+    
+    /**
+     * 참조의 (size, seed)로 미로를 다시 만듭니다
+     */
+    public static MazeGrid generateGrid(MazeRef ref) {
+        return new MazeGenerator(ref.getSeed()).generateGrid(ref.getSize());
+    }
+    
+    /**
+     * 여러 미로를 공용 ForkJoin 풀에서 병렬로 생성합니다 (결과는 refs와 같은 순서)
+     */
+    public static List<MazeGrid> generateBatch(List<MazeRef> refs) {
+        return generateBatch(refs, ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * 여러 미로를 pool에서 병렬로 생성합니다
+     * 작업마다 자기 시드의 SplittableRandom을 쓰므로 스레드 수/실행 순서와 관계없이 결과가 같습니다.
+     */
+    public static List<MazeGrid> generateBatch(List<MazeRef> refs, ForkJoinPool pool) {
+        return pool.submit(() -> refs.parallelStream()
+                .map(MazeGenerator::generateGrid)
+                .collect(Collectors.toList()))
+            .join();
     }
     
     public int[][] generateMaze(int size) {
+        return generateGrid(size).toArray();
+    }
+
+    /**
+     * 압축 격자로 미로 생성 (generateMaze와 같은 규칙)
+     */
+    public MazeGrid generateGrid(int size) {
         if (size < 5) {
             size = 5;
         }
         
         for (int attempt = 0; attempt < MAX_GENERATION_ATTEMPTS; attempt++) {
-            int[][] map = initializeAllWalls(size);
+            MazeGrid map = initializeAllWalls(size);
             
             int[][] starts = placeStartPoints(map, size);
             
             generateMazeWithPrims(map, starts, size);
             
-            int[] goal = placeGoalAtDepth(map, starts, size);
+            int[][] distances = startDistances(map, starts);
+            
+            int[] goal = placeGoalAtDepth(map, distances, size);
             if (goal == null) {
                 continue;
             }
             
-            if (validateMinimumPathLength(map, starts, goal, size)) {
+            if (validateMinimumPathLength(map, distances, goal, size)) {
                 placeItems(map, size);
                 return map;
             }
@@ -43,17 +94,11 @@ public class MazeGenerator {
         return generateFallbackMaze(size);
     }
     
-    private int[][] initializeAllWalls(int size) {
-        int[][] map = new int[size][size];
-        for (int i = 0; i < size; i++) {
-            for (int j = 0; j < size; j++) {
-                map[i][j] = 4;
-            }
-        }
-        return map;
+    private MazeGrid initializeAllWalls(int size) {
+        return new MazeGrid(size, 4);
     }
     
-    private int[][] placeStartPoints(int[][] map, int size) {
+    private int[][] placeStartPoints(MazeGrid map, int size) {
         int[][] starts = new int[2][2];
         
         // 랜덤 위치에 스타트 배치
@@ -67,10 +112,10 @@ public class MazeGenerator {
             candidates.add(new int[]{1, i});
         }
         
-        Collections.shuffle(candidates, random);
+        shuffle(candidates);
         
         int[] start1 = candidates.get(0);
-        map[start1[0]][start1[1]] = 0;
+        map.set(start1[0], start1[1], 0);
         starts[0][0] = start1[0];
         starts[0][1] = start1[1];
         
@@ -84,215 +129,250 @@ public class MazeGenerator {
             candidates2.add(new int[]{size - 2, i});
         }
         
-        Collections.shuffle(candidates2, random);
+        shuffle(candidates2);
         
         int[] start2 = candidates2.get(0);
-        map[start2[0]][start2[1]] = 0;
+        map.set(start2[0], start2[1], 0);
         starts[1][0] = start2[0];
         starts[1][1] = start2[1];
         
         return starts;
     }
     
-    private void generateMazeWithPrims(int[][] map, int[][] starts, int size) {
-        Set<String> visited = new HashSet<>();
+    /**
+     * Fisher-Yates 셔플 (Collections.shuffle과 같은 순서로 난수를 씀)
+     */
+    private <T> void shuffle(List<T> list) {
+        for (int i = list.size(); i > 1; i--) {
+            Collections.swap(list, i - 1, random.nextInt(i));
+        }
+    }
+    
+    private void generateMazeWithPrims(MazeGrid map, int[][] starts, int size) {
+        BitSet visited = new BitSet(size * size);
         
-        visited.add(starts[0][0] + "," + starts[0][1]);
-        visited.add(starts[1][0] + "," + starts[1][1]);
+        visited.set(map.index(starts[0][0], starts[0][1]));
+        visited.set(map.index(starts[1][0], starts[1][1]));
         
         carveMazeDFS(map, starts[0][0], starts[0][1], size, visited, -1);
         
-        String key2 = starts[1][0] + "," + starts[1][1];
-        if (!visited.contains(key2) || calculateShortestPath(map, starts[0][0], starts[0][1], starts[1][0], starts[1][1]) < 0) {
+        if (!visited.get(map.index(starts[1][0], starts[1][1])) || calculateShortestPath(map, starts[0][0], starts[0][1], starts[1][0], starts[1][1]) < 0) {
             carvePathBetweenStarts(map, starts, visited, size);
         }
     }
     
-    private void carveMazeDFS(int[][] map, int x, int y, int size, Set<String> visited, int lastDir) {
-        Stack<int[]> stack = new Stack<>();
-        stack.push(new int[]{x, y, lastDir});
-        
-        while (!stack.isEmpty()) {
-            int[] current = stack.peek();
-            int cx = current[0], cy = current[1], prevDir = current[2];
+    /**
+     * 2칸 간격 DFS로 통로를 팝니다
+     * 방문 여부는 평면 인덱스(x * size + y) 비트셋, 스택은 (칸 인덱스, 직전 방향) 쌍을 담는 int 배열이라
+     * 칸마다 객체를 만들지 않습니다. 난수 호출 순서는 그대로라 같은 시드면 같은 미로가 나옵니다.
+     */
+    private void carveMazeDFS(MazeGrid map, int x, int y, int size, BitSet visited, int lastDir) {
+        int[] stack = new int[64];
+        int top = 0;
+        stack[top++] = map.index(x, y);
+        stack[top++] = lastDir;
+        
+        int[] neighborDirs = new int[4];
+        
+        while (top > 0) {
+            int cell = stack[top - 2];
+            int prevDir = stack[top - 1];
+            int cx = cell / size, cy = cell % size;
             
-            List<int[]> neighbors = new ArrayList<>();
+            int neighborCount = 0;
             for (int dir = 0; dir < 4; dir++) {
                 int nx = cx + DX[dir] * 2;
                 int ny = cy + DY[dir] * 2;
                 
-                if (nx > 0 && nx < size - 1 && ny > 0 && ny < size - 1) {
-                    String key = nx + "," + ny;
-                    if (!visited.contains(key)) {
-                        neighbors.add(new int[]{nx, ny, dir});
-                    }
+                if (nx > 0 && nx < size - 1 && ny > 0 && ny < size - 1 && !visited.get(nx * size + ny)) {
+                    neighborDirs[neighborCount++] = dir;
                 }
             }
             
-            if (neighbors.isEmpty()) {
-                stack.pop();
+            if (neighborCount == 0) {
+                top -= 2;
                 continue;
             }
             
-        int[] chosen = null;
-        if (prevDir >= 0 && random.nextDouble() < 0.3) {
-                for (int[] n : neighbors) {
-                    if (n[2] == prevDir) {
-                        chosen = n;
+            int dir = -1;
+            if (prevDir >= 0 && random.nextDouble() < 0.3) {
+                for (int i = 0; i < neighborCount; i++) {
+                    if (neighborDirs[i] == prevDir) {
+                        dir = prevDir;
                         break;
                     }
                 }
             }
-            if (chosen == null) {
-                chosen = neighbors.get(random.nextInt(neighbors.size()));
+            if (dir < 0) {
+                dir = neighborDirs[random.nextInt(neighborCount)];
             }
             
-            int nx = chosen[0], ny = chosen[1], dir = chosen[2];
-            
-            int wx = cx + DX[dir];
-            int wy = cy + DY[dir];
+            int wall = (cx + DX[dir]) * size + (cy + DY[dir]);
+            int next = (cx + DX[dir] * 2) * size + (cy + DY[dir] * 2);
             
-            map[wx][wy] = 3;
-            map[nx][ny] = 3;
+            map.set(wall, 3);
+            map.set(next, 3);
             
-            visited.add(wx + "," + wy);
-            visited.add(nx + "," + ny);
+            visited.set(wall);
+            visited.set(next);
             
-            stack.push(new int[]{nx, ny, dir});
+            if (top == stack.length) {
+                stack = Arrays.copyOf(stack, stack.length * 2);
+            }
+            stack[top++] = next;
+            stack[top++] = dir;
         }
     }
     
-    private void carvePathBetweenStarts(int[][] map, int[][] starts, Set<String> visited, int size) {
-        int start1X = starts[0][0], start1Y = starts[0][1];
-        int start2X = starts[1][0], start2Y = starts[1][1];
-        
-        Queue<int[]> queue = new LinkedList<>();
-        Map<String, int[]> parent = new HashMap<>();
-        
-        String key2 = start2X + "," + start2Y;
-        queue.add(new int[]{start2X, start2Y});
-        parent.put(key2, null);
-        
-        int[] target = null;
-        while (!queue.isEmpty() && target == null) {
-            int[] curr = queue.poll();
+    private void carvePathBetweenStarts(MazeGrid map, int[][] starts, BitSet visited, int size) {
+        int start2 = map.index(starts[1][0], starts[1][1]);
+        
+        // parent[i]: BFS 부모 칸 인덱스 (-1 = 미방문, 시작 칸은 자기 자신)
+        int[] parent = new int[size * size];
+        Arrays.fill(parent, -1);
+        int[] queue = new int[size * size];
+        int head = 0, tail = 0;
+        
+        queue[tail++] = start2;
+        parent[start2] = start2;
+        
+        int target = -1;
+        while (head < tail && target < 0) {
+            int curr = queue[head++];
+            int cx = curr / size, cy = curr % size;
             
             for (int i = 0; i < 4; i++) {
-                int nx = curr[0] + DX[i];
-                int ny = curr[1] + DY[i];
+                int nx = cx + DX[i];
+                int ny = cy + DY[i];
                 
                 if (nx <= 0 || nx >= size - 1 || ny <= 0 || ny >= size - 1) continue;
                 
-                String nkey = nx + "," + ny;
-                if (parent.containsKey(nkey)) continue;
+                int next = nx * size + ny;
+                if (parent[next] >= 0) continue;
                 
-                parent.put(nkey, curr);
+                parent[next] = curr;
                 
-                if (map[nx][ny] == 3 || map[nx][ny] == 0) {
-                    target = new int[]{nx, ny};
+                int code = map.get(next);
+                if (code == 3 || code == 0) {
+                    target = next;
                     break;
                 }
                 
-                queue.add(new int[]{nx, ny});
+                queue[tail++] = next;
             }
         }
         
-        if (target != null) {
-            int[] curr = target;
-            while (curr != null) {
-                String key = curr[0] + "," + curr[1];
-                if (map[curr[0]][curr[1]] == 4) {
-                    map[curr[0]][curr[1]] = 3;
-                    visited.add(key);
+        if (target >= 0) {
+            int curr = target;
+            while (true) {
+                if (map.get(curr) == 4) {
+                    map.set(curr, 3);
+                    visited.set(curr);
+                }
+                if (parent[curr] == curr) {
+                    break;
                 }
-                curr = parent.get(key);
+                curr = parent[curr];
             }
         }
     }
     
-    private int[] placeGoalAtDepth(int[][] map, int[][] starts, int size) {
+    private int[] placeGoalAtDepth(MazeGrid map, int[][] distances, int size) {
         int minDepth = size * 2;
         
-        List<int[]> walkableCells = new ArrayList<>();
+        // 모든 스타트에서 minDepth 이상 떨어진 통로 칸 (행 우선 순서)
+        int[] candidates = new int[size * size];
+        int candidateCount = 0;
         for (int i = 1; i < size - 1; i++) {
             for (int j = 1; j < size - 1; j++) {
-                if (map[i][j] == 3) {
-                    walkableCells.add(new int[]{i, j});
+                int cell = map.index(i, j);
+                if (map.get(cell) != 3) {
+                    continue;
                 }
-            }
-        }
-        
-        List<int[]> candidates = new ArrayList<>();
-        
-        for (int[] cell : walkableCells) {
-            boolean validForAllStarts = true;
-            
-            for (int[] start : starts) {
-                int dist = calculateShortestPath(map, start[0], start[1], cell[0], cell[1]);
-                if (dist < 0 || dist < minDepth) {
-                    validForAllStarts = false;
-                    break;
+                boolean validForAllStarts = true;
+                for (int[] dist : distances) {
+                    if (dist[cell] < minDepth) {
+                        validForAllStarts = false;
+                        break;
+                    }
+                }
+                if (validForAllStarts) {
+                    candidates[candidateCount++] = cell;
                 }
-            }
-            
-            if (validForAllStarts) {
-                candidates.add(cell);
             }
         }
         
-        if (candidates.isEmpty()) {
+        if (candidateCount == 0) {
             return null;
         }
         
-        int[] goal = candidates.get(random.nextInt(candidates.size()));
-        map[goal[0]][goal[1]] = 9;
-        return goal;
+        int cell = candidates[random.nextInt(candidateCount)];
+        map.set(cell, 9);
+        return new int[]{map.rowOf(cell), map.colOf(cell)};
     }
     
-    private int calculateShortestPath(int[][] map, int startX, int startY, int goalX, int goalY) {
-        int size = map.length;
-        Queue<int[]> queue = new LinkedList<>();
-        Map<String, Integer> distance = new HashMap<>();
-        
-        String startKey = startX + "," + startY;
-        queue.add(new int[]{startX, startY});
-        distance.put(startKey, 0);
-        
-        while (!queue.isEmpty()) {
-            int[] current = queue.poll();
-            String currentKey = current[0] + "," + current[1];
-            int currentDist = distance.get(currentKey);
-            
-            if (current[0] == goalX && current[1] == goalY) {
-                return currentDist;
-            }
+    /**
+     * 스타트마다 한 번씩 BFS를 돌린 거리 배열 (starts와 같은 순서)
+     */
+    private int[][] startDistances(MazeGrid map, int[][] starts) {
+        int[][] distances = new int[starts.length][];
+        for (int k = 0; k < starts.length; k++) {
+            distances[k] = distanceField(map, starts[k][0], starts[k][1]);
+        }
+        return distances;
+    }
+    
+    /**
+     * (startX, startY)에서 각 칸까지의 최단 거리 (평면 인덱스, 도달 불가 -1)
+     * 통로/도착/스타트 칸만 지나갑니다.
+     */
+    private int[] distanceField(MazeGrid map, int startX, int startY) {
+        int size = map.getSize();
+        int[] dist = new int[size * size];
+        Arrays.fill(dist, -1);
+        int[] queue = new int[size * size];
+        int head = 0, tail = 0;
+        
+        int start = map.index(startX, startY);
+        dist[start] = 0;
+        queue[tail++] = start;
+        
+        while (head < tail) {
+            int curr = queue[head++];
+            int cx = curr / size, cy = curr % size;
             
             for (int i = 0; i < 4; i++) {
-                int nx = current[0] + DX[i];
-                int ny = current[1] + DY[i];
-                String key = nx + "," + ny;
+                int nx = cx + DX[i];
+                int ny = cy + DY[i];
+                if (nx < 0 || nx >= size || ny < 0 || ny >= size) continue;
                 
-                if (nx >= 0 && nx < size && ny >= 0 && ny < size && !distance.containsKey(key)) {
-                    if (map[nx][ny] == 3 || map[nx][ny] == 9 || map[nx][ny] == 0) {
-                        distance.put(key, currentDist + 1);
-                        queue.add(new int[]{nx, ny});
-                    }
+                int next = nx * size + ny;
+                if (dist[next] >= 0) continue;
+                
+                int code = map.get(next);
+                if (code == 3 || code == 9 || code == 0) {
+                    dist[next] = dist[curr] + 1;
+                    queue[tail++] = next;
                 }
             }
         }
-        
-        return -1;
+        return dist;
     }
     
-    private boolean validateMinimumPathLength(int[][] map, int[][] starts, int[] goal, int size) {
+    private int calculateShortestPath(MazeGrid map, int startX, int startY, int goalX, int goalY) {
+        return distanceField(map, startX, startY)[map.index(goalX, goalY)];
+    }
+    
+    private boolean validateMinimumPathLength(MazeGrid map, int[][] distances, int[] goal, int size) {
         int minimumRequired = size * 2;
         
         if (goal == null) {
             return false;
         }
         
-        for (int[] start : starts) {
-            int pathLength = calculateShortestPath(map, start[0], start[1], goal[0], goal[1]);
+        int cell = map.index(goal[0], goal[1]);
+        for (int[] dist : distances) {
+            int pathLength = dist[cell];
             if (pathLength < 0 || pathLength < minimumRequired) {
                 return false;
             }
@@ -301,7 +381,7 @@ public class MazeGenerator {
         return true;
     }
     
-    private void placeItems(int[][] map, int size) {
+    private void placeItems(MazeGrid map, int size) {
         int itemCount = size / 3;
         
         for (int i = 0; i < itemCount; i++) {
@@ -310,8 +390,8 @@ public class MazeGenerator {
                 int x = 1 + random.nextInt(size - 2);
                 int y = 1 + random.nextInt(size - 2);
                 
-                if (map[x][y] == 3) {
-                    map[x][y] = 6;
+                if (map.get(x, y) == 3) {
+                    map.set(x, y, 6);
                     break;
                 }
                 attempts++;
@@ -319,15 +399,17 @@ public class MazeGenerator {
         }
     }
     
-    private int[][] generateFallbackMaze(int size) {
-        int[][] map = initializeAllWalls(size);
+    private MazeGrid generateFallbackMaze(int size) {
+        MazeGrid map = initializeAllWalls(size);
         int[][] starts = placeStartPoints(map, size);
         generateMazeWithPrims(map, starts, size);
         
+        int[][] distances = startDistances(map, starts);
+        
         List<int[]> walkableCells = new ArrayList<>();
         for (int i = 1; i < size - 1; i++) {
             for (int j = 1; j < size - 1; j++) {
-                if (map[i][j] == 3) {
+                if (map.get(i, j) == 3) {
                     walkableCells.add(new int[]{i, j});
                 }
             }
@@ -337,16 +419,16 @@ public class MazeGenerator {
         int bestMinDist = -1;
         
         for (int[] cell : walkableCells) {
+            int index = map.index(cell[0], cell[1]);
             int minDistFromStarts = Integer.MAX_VALUE;
             boolean reachable = true;
             
-            for (int[] start : starts) {
-                int dist = calculateShortestPath(map, start[0], start[1], cell[0], cell[1]);
-                if (dist < 0) {
+            for (int[] dist : distances) {
+                if (dist[index] < 0) {
                     reachable = false;
                     break;
                 }
-                minDistFromStarts = Math.min(minDistFromStarts, dist);
+                minDistFromStarts = Math.min(minDistFromStarts, dist[index]);
             }
             
             if (reachable && minDistFromStarts > bestMinDist) {
@@ -356,10 +438,10 @@ public class MazeGenerator {
         }
         
         if (bestGoal != null) {
-            map[bestGoal[0]][bestGoal[1]] = 9;
+            map.set(bestGoal[0], bestGoal[1], 9);
         } else if (!walkableCells.isEmpty()) {
             int[] goal = walkableCells.get(random.nextInt(walkableCells.size()));
-            map[goal[0]][goal[1]] = 9;
+            map.set(goal[0], goal[1], 9);
         }
         
         placeItems(map, size);
@@ -428,7 +510,12 @@ public class MazeGenerator {
         }
         
         try {
-            generator.saveToFile(map, filePath);
+            if (filePath.endsWith(MazeFileHandler.BINARY_EXTENSION)) {
+                // 바이너리 형식 (칸당 4비트)
+                MazeFileHandler.saveGridBinary(MazeGrid.fromArray(map), filePath);
+            } else {
+                generator.saveToFile(map, filePath);
+            }
             System.out.println("미로가 저장되었습니다: " + filePath);
         } catch (IOException e) {
             System.out.println("파일 저장 중 오류 발생: " + e.getMessage());
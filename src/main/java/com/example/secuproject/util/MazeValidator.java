@@ -1,211 +1,184 @@
 package com.example.secuproject.util;
 
+import com.example.secuproject.model.MazeGrid;
+
 import java.util.*;
+import java.util.function.BooleanSupplier;
 
 public class MazeValidator {
+    // 거리 배열 표시값 (0 이상은 도착지점까지 거리)
+    static final int UNVISITED = -1;
+    private static final int WALL_VISITED = -2;
     
     public ValidationResult validate(int[][] map) {
         if (map == null || map.length == 0) {
             return new ValidationResult(false, "미로가 비어있습니다.");
         }
+        return validate(MazeGrid.fromArray(map));
+    }
+
+    /**
+     * 검사 순서와 메시지는 예전과 같지만 격자를 한 번 훑은 뒤
+     * 도착지점에서의 BFS 한 번(모든 스타트까지의 거리)과 벽 flood 한 번으로 끝냅니다.
+     * 거리/방문 표시는 하나의 int 배열, 큐도 int 배열 하나를 같이 씁니다.
+     */
+    public ValidationResult validate(MazeGrid map) {
+        if (map == null || map.getSize() == 0) {
+            return new ValidationResult(false, "미로가 비어있습니다.");
+        }
         
-        int size = map.length;
+        int area = map.area();
         
-        List<int[]> starts = findStarts(map, size);
-        if (starts.size() < 1) {
-            return new ValidationResult(false, "스타트 지점(0)이 없습니다.");
+        // 1회차: 스타트/도착지점/벽 수 집계
+        int[] starts = new int[4];
+        int startCount = 0;
+        int goal = -1;
+        int firstWall = -1;
+        int totalWalls = 0;
+        for (int i = 0; i < area; i++) {
+            int code = map.get(i);
+            if (code == 0) {
+                if (startCount == starts.length) {
+                    starts = Arrays.copyOf(starts, startCount * 2);
+                }
+                starts[startCount++] = i;
+            } else if (code == 9) {
+                if (goal < 0) goal = i;
+            } else if (code == 4) {
+                if (firstWall < 0) firstWall = i;
+                totalWalls++;
+            }
         }
         
-        int[] goal = findGoal(map, size);
-        if (goal == null) {
+        int[] dist = null;
+        int[] queue = null;
+        if (startCount >= 1 && goal >= 0) {
+            // 2회차: 도착지점에서 BFS (벽이 아닌 칸은 양방향으로 이동 가능하므로 각 스타트→도착 거리와 같음)
+            dist = new int[area];
+            Arrays.fill(dist, UNVISITED);
+            queue = new int[area];
+            distancesFrom(map, goal, dist, queue);
+        }
+        int[] mark = dist;
+        int[] wallQueue = queue;
+        int wallStart = firstWall;
+        int walls = totalWalls;
+        // 3회차: 첫 벽에서 벽끼리 flood (경로 검사를 통과했을 때만, BFS가 건드리지 않은 벽 칸을 같은 배열에 표시)
+        return evaluate(map, starts, startCount, goal, dist,
+            () -> wallStart < 0 || floodWalls(map, wallStart, mark, wallQueue) == walls);
+    }
+    
+    /**
+     * 집계 결과로 판정합니다 (검사 순서와 메시지는 IncrementalMazeValidator와 공유)
+     * @param starts     스타트 칸 인덱스 (행 우선 순서, 앞에서 startCount개)
+     * @param goal       도착지점 인덱스 (없으면 -1)
+     * @param dist       도착지점에서의 거리 (도달 불가 음수)
+     * @param wallsConnected 경로 검사를 통과한 뒤에만 호출되는 벽 연결 검사
+     */
+    static ValidationResult evaluate(MazeGrid map, int[] starts, int startCount, int goal, int[] dist,
+                                     BooleanSupplier wallsConnected) {
+        if (startCount < 1) {
+            return new ValidationResult(false, "스타트 지점(0)이 없습니다.");
+        }
+        if (goal < 0) {
             return new ValidationResult(false, "도착지점(9)이 없습니다.");
         }
         
-        for (int[] start : starts) {
-            if (!hasPath(map, start[0], start[1], goal[0], goal[1], size)) {
+        int[] shortest = new int[startCount];
+        int reachable = 0;
+        for (int k = 0; k < startCount; k++) {
+            shortest[k] = dist[starts[k]];
+            if (shortest[k] < 0) {
                 return new ValidationResult(false, 
                     String.format("스타트 지점 (%d, %d)에서 도착지점까지 경로가 없습니다.", 
-                        start[0], start[1]));
+                        map.rowOf(starts[k]), map.colOf(starts[k])));
             }
+            reachable++;
         }
         
-        if (starts.size() >= 2) {
-            int pathCount = 0;
-            for (int[] start : starts) {
-                if (hasPath(map, start[0], start[1], goal[0], goal[1], size)) {
-                    pathCount++;
-                }
-            }
-            if (pathCount < 2) {
-                return new ValidationResult(false, "최소 2개 이상의 경로가 필요합니다.");
-            }
+        if (startCount >= 2 && reachable < 2) {
+            return new ValidationResult(false, "최소 2개 이상의 경로가 필요합니다.");
         }
         
-        if (!areAllWallsConnected(map, size)) {
+        if (!wallsConnected.getAsBoolean()) {
             return new ValidationResult(false, "벽(4)이 여러 개의 분리된 영역으로 나뉘어 있습니다. 모든 벽은 하나로 연결되어야 합니다.");
         }
         
-        int minPathRequired = size * 2;
-        for (int[] start : starts) {
-            int shortestPath = getShortestPathLength(map, start[0], start[1], goal[0], goal[1], size);
-            if (shortestPath < minPathRequired) {
-                return new ValidationResult(false, 
+        int minPathRequired = map.getSize() * 2;
+        for (int k = 0; k < startCount; k++) {
+            if (shortest[k] < minPathRequired) {
+                ValidationResult result = new ValidationResult(false, 
                     String.format("스타트 지점 (%d, %d)에서 도착지점까지의 최단 경로가 %d칸으로, 최소 필요 거리(%d칸)보다 짧습니다.", 
-                        start[0], start[1], shortestPath, minPathRequired));
+                        map.rowOf(starts[k]), map.colOf(starts[k]), shortest[k], minPathRequired));
+                result.shortestPathLengths = shortest;
+                return result;
             }
         }
         
-        return new ValidationResult(true, "미로가 유효합니다.");
+        ValidationResult result = new ValidationResult(true, "미로가 유효합니다.");
+        result.shortestPathLengths = shortest;
+        return result;
     }
     
-    private List<int[]> findStarts(int[][] map, int size) {
-        List<int[]> starts = new ArrayList<>();
-        for (int i = 0; i < size; i++) {
-            for (int j = 0; j < size; j++) {
-                if (map[i][j] == 0) {
-                    starts.add(new int[]{i, j});
-                }
-            }
+    /**
+     * origin에서 벽(4)이 아닌 칸으로만 BFS, dist[i]에 거리를 채웁니다 (도달 못 한 칸은 UNVISITED 그대로)
+     */
+    static void distancesFrom(MazeGrid map, int origin, int[] dist, int[] queue) {
+        int size = map.getSize();
+        int head = 0, tail = 0;
+        dist[origin] = 0;
+        queue[tail++] = origin;
+        while (head < tail) {
+            int curr = queue[head++];
+            int x = curr / size, y = curr % size;
+            int next = dist[curr] + 1;
+            if (x > 0) tail = visitOpen(map, curr - size, next, dist, queue, tail);
+            if (x < size - 1) tail = visitOpen(map, curr + size, next, dist, queue, tail);
+            if (y > 0) tail = visitOpen(map, curr - 1, next, dist, queue, tail);
+            if (y < size - 1) tail = visitOpen(map, curr + 1, next, dist, queue, tail);
         }
-        return starts;
     }
     
-    private int[] findGoal(int[][] map, int size) {
-        for (int i = 0; i < size; i++) {
-            for (int j = 0; j < size; j++) {
-                if (map[i][j] == 9) {
-                    return new int[]{i, j};
-                }
-            }
-        }
-        return null;
-    }
-    
-    private boolean hasPath(int[][] map, int startX, int startY, int goalX, int goalY, int size) {
-        Queue<int[]> queue = new LinkedList<>();
-        boolean[][] visited = new boolean[size][size];
-        
-        queue.add(new int[]{startX, startY});
-        visited[startX][startY] = true;
-        
-        int[] dx = {-1, 1, 0, 0};
-        int[] dy = {0, 0, -1, 1};
-        
-        while (!queue.isEmpty()) {
-            int[] current = queue.poll();
-            int x = current[0];
-            int y = current[1];
-            
-            if (x == goalX && y == goalY) {
-                return true;
-            }
-            
-            for (int i = 0; i < 4; i++) {
-                int nx = x + dx[i];
-                int ny = y + dy[i];
-                
-                if (nx >= 0 && nx < size && ny >= 0 && ny < size && !visited[nx][ny]) {
-                    if (map[nx][ny] != 4) {
-                        visited[nx][ny] = true;
-                        queue.add(new int[]{nx, ny});
-                    }
-                }
-            }
+    private static int visitOpen(MazeGrid map, int cell, int d, int[] dist, int[] queue, int tail) {
+        if (dist[cell] == UNVISITED && map.get(cell) != 4) {
+            dist[cell] = d;
+            queue[tail++] = cell;
         }
-        
-        return false;
+        return tail;
     }
     
-    private boolean areAllWallsConnected(int[][] map, int size) {
-        int[] dx = {-1, 1, 0, 0};
-        int[] dy = {0, 0, -1, 1};
-        
-        boolean[][] visited = new boolean[size][size];
-        
-        int firstWallX = -1, firstWallY = -1;
-        outer:
-        for (int i = 0; i < size; i++) {
-            for (int j = 0; j < size; j++) {
-                if (map[i][j] == 4) {
-                    firstWallX = i;
-                    firstWallY = j;
-                    break outer;
-                }
-            }
+    /**
+     * first에서 이어진 벽 칸 수 (mark에 WALL_VISITED 표시)
+     */
+    private static int floodWalls(MazeGrid map, int first, int[] mark, int[] queue) {
+        int size = map.getSize();
+        int head = 0, tail = 0;
+        mark[first] = WALL_VISITED;
+        queue[tail++] = first;
+        while (head < tail) {
+            int curr = queue[head++];
+            int x = curr / size, y = curr % size;
+            if (x > 0) tail = visitWall(map, curr - size, mark, queue, tail);
+            if (x < size - 1) tail = visitWall(map, curr + size, mark, queue, tail);
+            if (y > 0) tail = visitWall(map, curr - 1, mark, queue, tail);
+            if (y < size - 1) tail = visitWall(map, curr + 1, mark, queue, tail);
         }
-        
-        if (firstWallX == -1) return true;
-        
-        Queue<int[]> queue = new LinkedList<>();
-        queue.add(new int[]{firstWallX, firstWallY});
-        visited[firstWallX][firstWallY] = true;
-        int wallsFound = 0;
-        
-        while (!queue.isEmpty()) {
-            int[] current = queue.poll();
-            wallsFound++;
-            
-            for (int i = 0; i < 4; i++) {
-                int nx = current[0] + dx[i];
-                int ny = current[1] + dy[i];
-                
-                if (nx >= 0 && nx < size && ny >= 0 && ny < size 
-                    && !visited[nx][ny] && map[nx][ny] == 4) {
-                    visited[nx][ny] = true;
-                    queue.add(new int[]{nx, ny});
-                }
-            }
-        }
-        
-        int totalWalls = 0;
-        for (int i = 0; i < size; i++) {
-            for (int j = 0; j < size; j++) {
-                if (map[i][j] == 4) totalWalls++;
-            }
-        }
-        
-        return wallsFound == totalWalls;
+        return tail;
     }
     
-    private int getShortestPathLength(int[][] map, int startX, int startY, int goalX, int goalY, int size) {
-        Queue<int[]> queue = new LinkedList<>();
-        boolean[][] visited = new boolean[size][size];
-        
-        queue.add(new int[]{startX, startY, 0});
-        visited[startX][startY] = true;
-        
-        int[] dx = {-1, 1, 0, 0};
-        int[] dy = {0, 0, -1, 1};
-        
-        while (!queue.isEmpty()) {
-            int[] current = queue.poll();
-            int x = current[0];
-            int y = current[1];
-            int dist = current[2];
-            
-            if (x == goalX && y == goalY) {
-                return dist;
-            }
-            
-            for (int i = 0; i < 4; i++) {
-                int nx = x + dx[i];
-                int ny = y + dy[i];
-                
-                if (nx >= 0 && nx < size && ny >= 0 && ny < size && !visited[nx][ny]) {
-                    if (map[nx][ny] != 4) {
-                        visited[nx][ny] = true;
-                        queue.add(new int[]{nx, ny, dist + 1});
-                    }
-                }
-            }
+    private static int visitWall(MazeGrid map, int cell, int[] mark, int[] queue, int tail) {
+        if (mark[cell] != WALL_VISITED && map.get(cell) == 4) {
+            mark[cell] = WALL_VISITED;
+            queue[tail++] = cell;
         }
-        
-        return -1;
+        return tail;
     }
     
     public static class ValidationResult {
         public boolean valid;
         public String message;
+        // 스타트 지점별 도착지점까지 최단 거리 (행 우선 순서, 경로 검사를 통과했을 때만 채워짐)
+        public int[] shortestPathLengths;
         
         public ValidationResult(boolean valid, String message) {
             this.valid = valid;
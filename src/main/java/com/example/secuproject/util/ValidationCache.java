@@ -0,0 +1,88 @@
+package com.example.secuproject.util;
+
+import com.example.secuproject.model.MazeFingerprint;
+import com.example.secuproject.model.MazeGrid;
+
+import java.security.SecureRandom;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 미로 검증 결과 캐시 (LRU)
+ * 미로 내용의 128비트 지문을 키로 검증 결과(스타트별 최단 거리 포함)를 보관하므로,
+ * 같은 maze.txt로 게임을 계속 시작하거나 같은 맵을 다시 검증할 때는 지문 계산 + 조회로 끝납니다.
+ */
+public class ValidationCache {
+    private final int maxEntries;
+    private final MazeValidator validator = new MazeValidator();
+    // 프로세스마다 다른 seed (외부 맵으로 지문 충돌을 노리기 어렵게)
+    private final long seed = new SecureRandom().nextLong();
+
+    // 접근 순서 LinkedHashMap: 맨 앞이 가장 오래 쓰지 않은 항목
+    private final Map<MazeFingerprint, MazeValidator.ValidationResult> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public ValidationCache(int maxEntries) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<MazeFingerprint, MazeValidator.ValidationResult> eldest) {
+                return size() > ValidationCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * MazeValidator.validate와 같은 결과 (처음 보는 미로만 실제로 검증)
+     * 돌려주는 결과는 복사본이므로 호출한 쪽에서 바꿔도 캐시에는 영향이 없습니다.
+     */
+    public MazeValidator.ValidationResult validate(MazeGrid map) {
+        if (map == null || map.getSize() == 0) {
+            return validator.validate(map);
+        }
+        MazeFingerprint key = MazeFingerprint.of(map, seed);
+        MazeValidator.ValidationResult cached;
+        synchronized (entries) {
+            cached = entries.get(key);
+        }
+        if (cached != null) {
+            hits.incrementAndGet();
+            return copyOf(cached);
+        }
+        misses.incrementAndGet();
+        // 검증은 잠금 밖에서 (같은 미로를 동시에 처음 보면 두 번 검증할 수 있지만 결과는 같음)
+        MazeValidator.ValidationResult result = validator.validate(map);
+        synchronized (entries) {
+            entries.put(key, copyOf(result));
+        }
+        return result;
+    }
+
+    /**
+     * 캐시 지표 (항목 수, 적중/부족 횟수)
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        long h = hits.get();
+        long m = misses.get();
+        synchronized (entries) {
+            stats.put("entries", entries.size());
+        }
+        stats.put("maxEntries", maxEntries);
+        stats.put("hits", h);
+        stats.put("misses", m);
+        stats.put("hitRate", h + m == 0 ? 0.0 : (double) h / (h + m));
+        return stats;
+    }
+
+    private static MazeValidator.ValidationResult copyOf(MazeValidator.ValidationResult result) {
+        MazeValidator.ValidationResult copy = new MazeValidator.ValidationResult(result.valid, result.message);
+        if (result.shortestPathLengths != null) {
+            copy.shortestPathLengths = result.shortestPathLengths.clone();
+        }
+        return copy;
+    }
+}
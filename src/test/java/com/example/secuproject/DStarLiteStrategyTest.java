@@ -0,0 +1,146 @@
+package com.example.secuproject;
+
+import com.example.secuproject.model.MazeGrid;
+import com.example.secuproject.util.MazeGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DStarLiteStrategyTest {
+
+	@Test
+	void plannedDistanceMatchesBfsOnRememberedMap() {
+		Random random = new Random(4);
+		int reached = 0;
+		for (int t = 0; t < 150; t++) {
+			MazeGrid grid = maze(t + 77, 7 + random.nextInt(40), random, 30);
+			if (walk(grid, false, "maze " + t, new Walk())) {
+				reached++;
+			}
+		}
+		assertTrue(reached > 140, "reached: " + reached);
+	}
+
+	@Test
+	void hammerPlanMatchesLayeredBfs() {
+		Random random = new Random(9);
+		int reached = 0;
+		long wallsBroken = 0;
+		for (int t = 0; t < 150; t++) {
+			MazeGrid grid = maze(t + 500, 7 + random.nextInt(40), random, 25);
+			Walk walk = new Walk();
+			if (walk(grid, true, "maze " + t, walk)) {
+				reached++;
+			}
+			wallsBroken += walk.wallsBroken;
+		}
+		assertTrue(reached > 140, "reached: " + reached);
+		// 두 층 사이 이동(망치 줍기, 벽 깨기)을 실제로 거쳤는지
+		assertTrue(wallsBroken > 50, "walls broken: " + wallsBroken);
+	}
+
+	/**
+	 * 한 판 진행 중에 센 값
+	 */
+	private static final class Walk {
+		long wallsBroken;
+	}
+
+	/**
+	 * 한 판을 진행하면서 매 걸음 계획한 시작 상태의 거리를 기억 기준 BFS와 비교합니다
+	 * @return 도착지점에 닿았으면 true
+	 */
+	private static boolean walk(MazeGrid grid, boolean hammerAware, String context, Walk walk) {
+		Maze_two maze = new Maze_two(grid);
+		int start = grid.indexOf(0);
+		DStarLiteStrategy strategy = new DStarLiteStrategy(hammerAware);
+		Enemy enemy = new Enemy(maze, grid.rowOf(start), grid.colOf(start),
+			EnemyMemory.DEFAULT_PATH_WINDOW, strategy);
+		MazeGrid map = maze.getGrid();
+		int goal = enemy.goalCell();
+		for (long step = 0; step < 20L * grid.area(); step++) {
+			int x = enemy.getX(), y = enemy.getY();
+			boolean hammer = enemy.hasHammer();
+			enemy.step();
+			if (hammer && !enemy.hasHammer()) {
+				walk.wallsBroken++;
+			}
+			// 결정 뒤에는 기억이 바뀌지 않으므로 걸음 직후 기억으로 그 걸음의 계획을 검사
+			int expected = distance(enemy.getMemory(), goal, x, y, hammerAware && hammer, hammerAware);
+			assertEquals(expected, strategy.plannedDistance(x, y, hammer), context + ", step " + step);
+			if (!hammerAware) {
+				assertNotEquals(4, map.get(enemy.getX(), enemy.getY()), context + ", step " + step);
+			}
+			if (map.get(enemy.getX(), enemy.getY()) == 9) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * 못 본 칸은 길로 보는 기억 위에서 (x, y)부터 도착지점까지 BFS (도달 불가면 -1)
+	 * 망치 모드면 상태는 (칸, 망치): 아는 벽은 망치가 있을 때만 깨고 들어가며 망치를 잃고, 망치 칸에 들어서면 망치를 얻습니다.
+	 */
+	private static int distance(EnemyMemory memory, int goal, int x, int y, boolean hammer, boolean hammerAware) {
+		int n = memory.getSize();
+		int[] dist = new int[n * n * 2];
+		Arrays.fill(dist, -1);
+		int from = (x * n + y) * 2 + (hammer ? 1 : 0);
+		dist[from] = 0;
+		ArrayDeque<Integer> queue = new ArrayDeque<>();
+		queue.add(from);
+		while (!queue.isEmpty()) {
+			int state = queue.poll();
+			int cell = state / 2, h = state % 2;
+			if (cell == goal) {
+				return dist[state];
+			}
+			for (int d = 0; d < 4; d++) {
+				int nx = cell / n + Enemy.DX[d], ny = cell % n + Enemy.DY[d];
+				if (nx < 0 || ny < 0 || nx >= n || ny >= n) {
+					continue;
+				}
+				int next = nx * n + ny;
+				int remembered = memory.getRememberedCell(next);
+				int nextState;
+				if (remembered == 4) {
+					if (h == 0) {
+						continue;
+					}
+					nextState = next * 2;
+				} else if (hammerAware && remembered == 7) {
+					nextState = next * 2 + 1;
+				} else {
+					nextState = next * 2 + h;
+				}
+				if (dist[nextState] < 0) {
+					dist[nextState] = dist[state] + 1;
+					queue.add(nextState);
+				}
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * 생성 미로 (함정은 벽시계로 멈추므로 길로, 길 칸 중 1/itemRate에 망치나 횃불)
+	 */
+	private static MazeGrid maze(long seed, int size, Random random, int itemRate) {
+		MazeGrid grid = new MazeGenerator(seed).generateGrid(size);
+		for (int i = 0; i < grid.area(); i++) {
+			if (grid.get(i) == 8) {
+				grid.set(i, 3);
+			} else if (grid.get(i) == 3 && random.nextInt(itemRate) == 0) {
+				grid.set(i, random.nextBoolean() ? 7 : 6);
+			}
+		}
+		return grid;
+	}
+}
@@ -0,0 +1,167 @@
+package com.example.secuproject;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EnemyMemoryTest {
+
+	private static final int SIZE = 5;
+
+	@Test
+	void pathRingMatchesReferenceDeque() {
+		Random random = new Random(22);
+		for (int round = 0; round < 200; round++) {
+			int window = 2 + random.nextInt(7);
+			EnemyMemory memory = new EnemyMemory(SIZE, window);
+			// 구간 (칸, 횟수)의 덱: 창을 넘으면 가장 오래된 구간을 통째로 버림
+			ArrayDeque<int[]> runs = new ArrayDeque<>();
+			int cell = random.nextInt(SIZE * SIZE);
+			for (int op = 0; op < 2_000; op++) {
+				int k = random.nextInt(10);
+				String context = "round " + round + ", op " + op;
+				if (k < 6) {
+					// 같은 칸을 자주 다시 기록해 연속 구간을 만듦
+					if (random.nextInt(3) > 0) {
+						cell = random.nextInt(SIZE * SIZE);
+					}
+					memory.recordPosition(cell / SIZE, cell % SIZE);
+					int[] last = runs.peekLast();
+					if (last != null && last[0] == cell) {
+						last[1]++;
+					} else {
+						if (runs.size() == window) {
+							runs.pollFirst();
+						}
+						runs.addLast(new int[] {cell, 1});
+					}
+				} else if (k < 9) {
+					EnemyMemory.Position back = memory.backtrack();
+					if (total(runs) > 1) {
+						int[] last = runs.peekLast();
+						if (--last[1] == 0) {
+							runs.pollLast();
+						}
+						assertEquals(position(runs.peekLast()[0]), back, context);
+					} else {
+						assertNull(back, context);
+					}
+				} else {
+					memory.recordPosition(-1, SIZE);
+				}
+				assertEquals(total(runs), memory.getPathSize(), context);
+				assertEquals(runs.isEmpty() ? null : position(runs.peekLast()[0]), memory.getLastPosition(), context);
+			}
+			assertEquals(expand(runs), memory.getFullPath(), "round " + round);
+		}
+	}
+
+	@Test
+	void pathWithinWindowMatchesPlainList() {
+		// 창을 넘지 않으면 예전의 위치 리스트와 같은 동작
+		Random random = new Random(5);
+		EnemyMemory memory = new EnemyMemory(SIZE, 4_096);
+		List<EnemyMemory.Position> path = new ArrayList<>();
+		for (int op = 0; op < 3_000; op++) {
+			if (random.nextInt(4) > 0) {
+				int x = random.nextInt(2), y = random.nextInt(2);
+				memory.recordPosition(x, y);
+				path.add(new EnemyMemory.Position(x, y));
+			} else {
+				EnemyMemory.Position back = memory.backtrack();
+				if (path.size() > 1) {
+					path.remove(path.size() - 1);
+					assertEquals(path.get(path.size() - 1), back);
+				} else {
+					assertNull(back);
+				}
+			}
+			assertEquals(path.size(), memory.getPathSize());
+		}
+		assertEquals(path, memory.getFullPath());
+	}
+
+	@Test
+	void cellMemoryMatchesReferenceMap() {
+		Random random = new Random(9);
+		EnemyMemory memory = new EnemyMemory(SIZE);
+		Map<Integer, Integer> remembered = new HashMap<>();
+		List<int[]> notifications = new ArrayList<>();
+		memory.setCellListener((cell, oldValue, newValue) -> notifications.add(new int[] {cell, oldValue, newValue}));
+		int firstGoal = -1;
+		for (int op = 0; op < 2_000; op++) {
+			int x = random.nextInt(SIZE + 2) - 1, y = random.nextInt(SIZE + 2) - 1;
+			int value = new int[] {3, 4, 6, 7, 9}[random.nextInt(5)];
+			notifications.clear();
+			memory.rememberCell(x, y, value);
+			if (x < 0 || y < 0 || x >= SIZE || y >= SIZE) {
+				assertTrue(notifications.isEmpty());
+				assertEquals(-1, memory.getRememberedCell(x, y));
+				continue;
+			}
+			int cell = x * SIZE + y;
+			Integer old = remembered.put(cell, value);
+			int oldValue = old == null ? -1 : old;
+			if (oldValue == value) {
+				assertTrue(notifications.isEmpty());
+			} else {
+				assertEquals(1, notifications.size());
+				assertEquals(cell, notifications.get(0)[0]);
+				assertEquals(oldValue, notifications.get(0)[1]);
+				assertEquals(value, notifications.get(0)[2]);
+			}
+			if (value == 9 && firstGoal < 0) {
+				firstGoal = cell;
+			}
+			assertEquals(firstGoal, memory.getGoalCell());
+			for (int c = 0; c < SIZE * SIZE; c++) {
+				assertEquals((int) remembered.getOrDefault(c, -1), memory.getRememberedCell(c));
+				assertEquals(remembered.containsKey(c), memory.hasExplored(c / SIZE, c % SIZE));
+			}
+		}
+
+		memory.markAsDeadEnd(1, 2);
+		memory.markAsDeadEnd(1, 2);
+		assertTrue(memory.isDeadEnd(1, 2));
+		assertFalse(memory.isDeadEnd(2, 1));
+		assertFalse(memory.isDeadEnd(-1, 0));
+		memory.clear();
+		assertFalse(memory.isDeadEnd(1, 2));
+		assertFalse(memory.hasExplored(0, 0));
+		assertEquals(-1, memory.getGoalCell());
+	}
+
+	private static long total(ArrayDeque<int[]> runs) {
+		long total = 0;
+		for (int[] run : runs) {
+			total += run[1];
+		}
+		return total;
+	}
+
+	private static List<EnemyMemory.Position> expand(ArrayDeque<int[]> runs) {
+		List<EnemyMemory.Position> path = new ArrayList<>();
+		for (Iterator<int[]> it = runs.iterator(); it.hasNext(); ) {
+			int[] run = it.next();
+			for (int r = 0; r < run[1]; r++) {
+				path.add(position(run[0]));
+			}
+		}
+		return path;
+	}
+
+	private static EnemyMemory.Position position(int cell) {
+		return new EnemyMemory.Position(cell / SIZE, cell % SIZE);
+	}
+}
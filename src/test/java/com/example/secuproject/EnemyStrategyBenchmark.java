@@ -0,0 +1,79 @@
+package com.example.secuproject;
+
+import com.example.secuproject.model.MazeGrid;
+import com.example.secuproject.util.MazeGenerator;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Enemy 전략 벤치마크
+ * 크기별로 같은 시드의 미로를 만들어 전략마다 도착지점까지 걸린 걸음 수와 걸음당 CPU 시간을 비교합니다.
+ * 함정(8)은 벽시계 기준으로 멈추므로 길(3)로 바꾸고, 20 × 칸 수 걸음 안에 못 가면 실패로 셉니다.
+ *
+ * 앱 jar에 들어가지 않도록 테스트 소스에 두고, 테스트 클래스패스에서 실행합니다.
+ *
+ * 사용법: ./gradlew enemyStrategyBenchmark --args="[크기,크기,...] [크기별 미로 수]"
+ */
+public class EnemyStrategyBenchmark {
+    private static final String[] STRATEGIES = {"right-hand", "frontier", "dstar-lite", "hammer-aware"};
+
+    public static void main(String[] args) {
+        int[] sizes = {21, 51, 101, 201};
+        int mazes = 10;
+        if (args.length > 0) {
+            String[] parts = args[0].split(",");
+            sizes = new int[parts.length];
+            for (int i = 0; i < parts.length; i++) {
+                sizes[i] = Integer.parseInt(parts[i].trim());
+            }
+        }
+        if (args.length > 1) {
+            mazes = Integer.parseInt(args[1]);
+        }
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        System.out.printf("%-6s %-12s %8s %12s %12s%n", "크기", "전략", "도착", "평균 걸음", "걸음당 µs");
+        for (int size : sizes) {
+            MazeGrid[] grids = new MazeGrid[mazes];
+            for (int m = 0; m < mazes; m++) {
+                grids[m] = new MazeGenerator(size * 1000L + m).generateGrid(size);
+                for (int i = 0; i < grids[m].area(); i++) {
+                    if (grids[m].get(i) == 8) {
+                        grids[m].set(i, 3);
+                    }
+                }
+            }
+            for (String name : STRATEGIES) {
+                int reached = 0;
+                long reachedSteps = 0;
+                long totalSteps = 0;
+                long cpuNanos = 0;
+                for (MazeGrid grid : grids) {
+                    Maze_two maze = new Maze_two(grid);
+                    int start = grid.indexOf(0);
+                    Enemy enemy = new Enemy(maze, grid.rowOf(start), grid.colOf(start),
+                        EnemyMemory.DEFAULT_PATH_WINDOW, EnemyStrategy.create(name));
+                    MazeGrid map = maze.getGrid();
+                    long limit = 20L * grid.area();
+
+                    long begin = threads.getCurrentThreadCpuTime();
+                    long steps = 0;
+                    while (steps < limit && map.get(enemy.getX(), enemy.getY()) != 9) {
+                        enemy.step();
+                        steps++;
+                    }
+                    cpuNanos += threads.getCurrentThreadCpuTime() - begin;
+                    totalSteps += steps;
+                    if (map.get(enemy.getX(), enemy.getY()) == 9) {
+                        reached++;
+                        reachedSteps += steps;
+                    }
+                }
+                System.out.printf("%-6d %-12s %5d/%-2d %12.1f %12.3f%n", size, name, reached, mazes,
+                    reached == 0 ? 0.0 : (double) reachedSteps / reached,
+                    totalSteps == 0 ? 0.0 : cpuNanos / 1000.0 / totalSteps);
+            }
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.secuproject.log;
+
+import com.example.secuproject.model.MazeGrid;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GameJournalTest {
+
+	private static final int[][] MAZE = {
+		{0, 3, 4, 3, 9},
+		{4, 3, 4, 3, 4},
+		{3, 3, 3, 3, 4},
+		{3, 4, 4, 3, 3},
+		{3, 3, 3, 4, 3}
+	};
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void recoversCommittedEventsAfterCrash() throws IOException {
+		Path path = dir.resolve("crash.journal");
+		GameJournal journal = GameJournal.create(path, header(), 2, 60_000, false);
+		for (int i = 1; i <= 5; i++) {
+			journal.append(event(i));
+		}
+		// 저널을 닫지 않고 버림 (서버가 죽은 상황): 2개씩 커밋했으므로 4개까지 남음
+		GameLog recovered = GameJournal.recover(path);
+		assertEquals("game-1", recovered.getGameId());
+		assertEquals(5, recovered.getMazeSize());
+		assertEquals(4, recovered.getEvents().size());
+		assertEquals(4, recovered.getEvents().get(3).getPlayerY());
+		assertEquals(1_004, recovered.getEndTime());
+	}
+
+	@Test
+	void ignoresTornRecordAtEndOfJournal() throws IOException {
+		Path path = dir.resolve("torn.journal");
+		GameJournal journal = GameJournal.create(path, header(), 1, 60_000, false);
+		for (int i = 1; i <= 3; i++) {
+			journal.append(event(i));
+		}
+		long complete = Files.size(path);
+		journal.append(event(4));
+		// 마지막 이벤트를 쓰다 끊긴 것처럼 끝을 잘라냄
+		try (var channel = Files.newByteChannel(path, StandardOpenOption.WRITE)) {
+			channel.truncate(complete + 2);
+		}
+		try (OutputStream out = Files.newOutputStream(path, StandardOpenOption.APPEND)) {
+			out.write(0x7f);
+		}
+		GameLog recovered = GameJournal.recover(path);
+		assertEquals(3, recovered.getEvents().size());
+	}
+
+	@Test
+	void commitIfDueFlushesIdleJournal() throws IOException {
+		Path path = dir.resolve("idle.journal");
+		GameJournal journal = GameJournal.create(path, header(), 64, 1_000, false);
+		journal.append(event(1));
+		assertEquals(0, GameJournal.recover(path).getEvents().size());
+
+		long now = System.currentTimeMillis();
+		assertFalse(journal.commitIfDue(now));
+		assertTrue(journal.commitIfDue(now + 1_000));
+		assertEquals(1, GameJournal.recover(path).getEvents().size());
+		// 새 이벤트가 없으면 다시 커밋하지 않음
+		assertFalse(journal.commitIfDue(now + 10_000));
+	}
+
+	@Test
+	void finishedJournalIsCompleteLog() throws IOException {
+		Path path = dir.resolve("done.journal");
+		GameJournal journal = GameJournal.create(path, header(), 64, 60_000, false);
+		for (int i = 1; i <= 3; i++) {
+			journal.append(event(i));
+		}
+		GameLog log = header();
+		log.setEndTime(5_000);
+		log.setPlayerWon(true);
+		journal.finish(log);
+
+		GameLog recovered = GameJournal.recover(path);
+		assertEquals(3, recovered.getEvents().size());
+		assertEquals(5_000, recovered.getEndTime());
+		assertTrue(recovered.isPlayerWon());
+		assertEquals(3, journal.getEventCount());
+	}
+
+	@Test
+	void restartingGameDiscardsUnsavedJournal() throws IOException {
+		String logDir = dir.toString();
+		GameLogger logger = new GameLogger(logDir, true, 1, 60_000);
+		logger.startNewGame(5, MazeGrid.fromArray(MAZE), 0, 0, 4, 4);
+		logger.logEvent("MOVE", 'd', 0, 1, 4, 4, "이동", true);
+		logger.startNewGame(5, MazeGrid.fromArray(MAZE), 0, 0, 4, 4);
+		assertEquals(1, journals(logDir).size());
+
+		// 남은 저널은 지금 진행 중인 게임 것뿐이므로 복구해도 로그 하나
+		assertEquals(1, GameLogger.recoverJournals(logDir).size());
+		assertEquals(0, journals(logDir).size());
+	}
+
+	@Test
+	void readBackIgnoresTornTailAndKeepsPendingEvents() throws IOException {
+		Path path = dir.resolve("retry.journal");
+		GameJournal journal = GameJournal.create(path, header(), 2, 60_000, false);
+		for (int i = 1; i <= 3; i++) {
+			journal.append(event(i));
+		}
+		// 세 번째 이벤트를 내보내다 실패해 일부 바이트만 파일 끝에 남은 상황
+		try (OutputStream out = Files.newOutputStream(path, StandardOpenOption.APPEND)) {
+			out.write(new byte[] {1, 0, 100, 2});
+		}
+		GameLog restored = journal.readBack();
+		assertEquals(3, restored.getEvents().size());
+		for (int i = 1; i <= 3; i++) {
+			assertEquals(i, restored.getEvents().get(i - 1).getPlayerY());
+		}
+
+		// 다시 커밋하면 남은 꼬리를 덮어쓰므로 파일에 이벤트가 겹치지 않음
+		journal.append(event(4));
+		GameLog recovered = GameJournal.recover(path);
+		assertEquals(4, recovered.getEvents().size());
+		assertEquals(4, recovered.getEvents().get(3).getPlayerY());
+	}
+
+	@Test
+	void unreadableJournalStopsLoggingInsteadOfSavingTwice() throws IOException {
+		String logDir = dir.toString();
+		GameLogger logger = new GameLogger(logDir, true, 1, 60_000);
+		logger.startNewGame(5, MazeGrid.fromArray(MAZE), 0, 0, 4, 4);
+		logger.logEvent("MOVE", 'd', 0, 1, 4, 4, "이동", true);
+		Path journal = journals(logDir).get(0);
+		// 저널 자리에 디렉토리가 생겨 쓰기도 다시 읽기도 실패
+		Files.delete(journal);
+		Files.createDirectory(journal);
+
+		logger.logEvent("MOVE", 'd', 0, 2, 4, 4, "이동", true);
+		assertNull(logger.getCurrentLog());
+		assertNull(logger.finishAndSave(true, false));
+		assertTrue(Files.exists(journal));
+	}
+
+	private static List<Path> journals(String logDir) throws IOException {
+		try (Stream<Path> files = Files.list(Path.of(logDir, "journal"))) {
+			return files.toList();
+		}
+	}
+
+	private static GameLog header() {
+		GameLog log = new GameLog();
+		log.setGameId("game-1");
+		log.setStartTime(1_000);
+		log.setMazeSize(5);
+		log.setInitialMaze(MAZE);
+		log.setInitialEnemyX(4);
+		log.setInitialEnemyY(4);
+		return log;
+	}
+
+	private static GameEvent event(int i) {
+		return new GameEvent(1_000 + i, "MOVE", 'd', 0, i, 4, 4, "이동", true);
+	}
+}
@@ -0,0 +1,259 @@
+package com.example.secuproject.log;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GameLogCodecTest {
+
+	private static final int[][] MAZE = {
+		{0, 3, 4, 3, 9},
+		{4, 3, 4, 3, 4},
+		{3, 3, 3, 3, 4},
+		{3, 4, 4, 3, 3},
+		{3, 3, 3, 4, 3}
+	};
+
+	@Test
+	void roundTripsVersion2WithInlineMaze() throws IOException {
+		GameLog log = sampleLog();
+		GameLog read = read(write(log), false);
+		assertSameLog(log, read);
+		assertNull(read.getMazeHash());
+	}
+
+	@Test
+	void roundTripsVersion2WithMazeHash() throws IOException {
+		GameLog log = sampleLog();
+		log.setInitialMaze(null);
+		log.setMazeHash("ab".repeat(MazeStore.HASH_BYTES));
+		GameLog read = read(write(log), false);
+		assertSameLog(log, read);
+		assertEquals(log.getMazeHash(), read.getMazeHash());
+		assertNull(read.getInitialMaze());
+	}
+
+	@Test
+	void roundTripsMazeThatDoesNotFitNibbles() throws IOException {
+		GameLog log = sampleLog();
+		log.setInitialMaze(new int[][] {{0, 3, 20}, {-1, 9}, {4, 4, 4, 4}});
+		assertSameLog(log, read(write(log), false));
+	}
+
+	@Test
+	void readsVersion1Log() throws IOException {
+		GameLog log = sampleLog();
+		byte[] v1 = toVersion1(write(log), log);
+		assertEquals(1, v1[GameLogCodec.MAGIC.length]);
+		GameLog read = read(v1, false);
+		assertSameLog(log, read);
+		assertNull(read.getMazeHash());
+	}
+
+	@Test
+	void truncatedLogRecoversEveryCompleteEvent() throws IOException {
+		GameLog log = sampleLog();
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		GameLogCodec.Writer writer = new GameLogCodec.Writer(bytes);
+		writer.writeHeader(log);
+		int headerEnd = bytes.size();
+		List<Integer> eventEnds = new ArrayList<>();
+		for (GameEvent event : log.getEvents()) {
+			writer.writeEvent(event);
+			eventEnds.add(bytes.size());
+		}
+		writer.writeEnd(log);
+		byte[] full = bytes.toByteArray();
+
+		for (int cut = headerEnd; cut < full.length; cut++) {
+			byte[] truncated = Arrays.copyOf(full, cut);
+			int complete = 0;
+			while (complete < eventEnds.size() && eventEnds.get(complete) <= cut) {
+				complete++;
+			}
+			GameLog recovered = read(truncated, true);
+			assertEquals(complete, recovered.getEvents().size(), "cut at " + cut);
+			for (int i = 0; i < complete; i++) {
+				assertSameEvent(log.getEvents().get(i), recovered.getEvents().get(i));
+			}
+			assertEquals(0, recovered.getEndTime());
+			assertThrows(IOException.class, () -> read(truncated, false));
+		}
+	}
+
+	@Test
+	void rejectsMismatchedEventCount() throws IOException {
+		GameLog log = sampleLog();
+		byte[] bytes = write(log);
+		// END 레코드 마지막 바이트가 이벤트 수 (varint 한 바이트)
+		bytes[bytes.length - 1]++;
+		assertThrows(IOException.class, () -> read(bytes, false));
+	}
+
+	@Test
+	void rejectsUnknownVersion() throws IOException {
+		byte[] bytes = write(sampleLog());
+		bytes[GameLogCodec.MAGIC.length] = 3;
+		assertThrows(IOException.class, () -> read(bytes, true));
+	}
+
+	@Test
+	void rejectsNegativeAndOversizedLengths() throws IOException {
+		byte[] magic = {'S', 'G', 'L', 'B', 2};
+		// 문자열 본문 길이 -1, 문자열 참조 -1, 상한을 넘는 문자열 길이
+		assertRejected(concat(magic, 0x01, 0xFF, 0xFF, 0xFF, 0xFF, 0x0F));
+		assertRejected(concat(magic, 0xFF, 0xFF, 0xFF, 0xFF, 0x0F));
+		assertRejected(concat(magic, 0x01, 0xFF, 0xFF, 0xFF, 0xFF, 0x07));
+
+		byte[] inline = headerUpToMazeRows();
+		// rows -1, cols -1, 칸별 varint 행 길이 -1 / 상한 초과
+		assertRejected(concat(inline, 0xFF, 0xFF, 0xFF, 0xFF, 0x0F, 0x05));
+		assertRejected(concat(inline, 0x05, 0xFF, 0xFF, 0xFF, 0xFF, 0x0F));
+		assertRejected(concat(inline, 0x01, 0x01, 0x01, 0xFF, 0xFF, 0xFF, 0xFF, 0x0F));
+		assertRejected(concat(inline, 0x01, 0x01, 0x01, 0x81, 0x80, 0x01));
+	}
+
+	@Test
+	void corruptedBytesFailOnlyWithIOException() throws IOException {
+		byte[] valid = write(sampleLog());
+		Random random = new Random(4);
+		for (int round = 0; round < 20_000; round++) {
+			byte[] bytes = valid.clone();
+			int flips = 1 + random.nextInt(4);
+			for (int k = 0; k < flips; k++) {
+				int i = GameLogCodec.MAGIC.length + 1 + random.nextInt(bytes.length - GameLogCodec.MAGIC.length - 1);
+				bytes[i] = (byte) random.nextInt(256);
+			}
+			for (boolean allowTruncated : new boolean[] {false, true}) {
+				try {
+					read(bytes, allowTruncated);
+				} catch (IOException expected) {
+					// 손상 파일은 IOException으로만 실패해야 호출부가 건너뛸 수 있음
+				}
+			}
+		}
+	}
+
+	@Test
+	void detectsBinaryLogWithoutConsumingStream() throws IOException {
+		ByteArrayInputStream in = new ByteArrayInputStream(write(sampleLog()));
+		assertTrue(GameLogCodec.isBinaryLog(in));
+		assertEquals('S', in.read());
+	}
+
+	/**
+	 * 버전 2 로그에서 미로 참조 바이트를 빼 버전 1 로그를 만듭니다 (그 뒤 레코드 형식은 같음)
+	 */
+	private static byte[] toVersion1(byte[] v2, GameLog log) throws IOException {
+		GameLog noMaze = sampleLog();
+		noMaze.setInitialMaze(null);
+		ByteArrayOutputStream header = new ByteArrayOutputStream();
+		new GameLogCodec.Writer(header).writeHeader(noMaze);
+		// 미로가 없으면 헤더는 ... | 참조 0 | rows 0 으로 끝나므로 그 앞까지가 공통 부분
+		int mazeRef = header.size() - 2;
+		assertEquals(0, v2[mazeRef]);
+		byte[] v1 = new byte[v2.length - 1];
+		System.arraycopy(v2, 0, v1, 0, mazeRef);
+		System.arraycopy(v2, mazeRef + 1, v1, mazeRef, v2.length - mazeRef - 1);
+		v1[GameLogCodec.MAGIC.length] = 1;
+		return v1;
+	}
+
+	/**
+	 * 미로가 없는 헤더는 ... | 참조 0 | rows 0 으로 끝나므로 rows 앞까지 (인라인 미로 참조 직후)
+	 */
+	private static byte[] headerUpToMazeRows() throws IOException {
+		GameLog noMaze = sampleLog();
+		noMaze.setInitialMaze(null);
+		ByteArrayOutputStream header = new ByteArrayOutputStream();
+		new GameLogCodec.Writer(header).writeHeader(noMaze);
+		return Arrays.copyOf(header.toByteArray(), header.size() - 1);
+	}
+
+	private static byte[] concat(byte[] prefix, int... tail) {
+		byte[] bytes = Arrays.copyOf(prefix, prefix.length + tail.length);
+		for (int i = 0; i < tail.length; i++) {
+			bytes[prefix.length + i] = (byte) tail[i];
+		}
+		return bytes;
+	}
+
+	private static void assertRejected(byte[] bytes) {
+		assertThrows(IOException.class, () -> read(bytes, false));
+		assertThrows(IOException.class, () -> read(bytes, true));
+	}
+
+	private static GameLog sampleLog() {
+		GameLog log = new GameLog();
+		log.setGameId("game-42");
+		log.setStartTime(1_700_000_000_000L);
+		log.setEndTime(1_700_000_090_000L);
+		log.setMazeSize(5);
+		log.setInitialMaze(MAZE);
+		log.setInitialPlayerX(0);
+		log.setInitialPlayerY(0);
+		log.setInitialEnemyX(4);
+		log.setInitialEnemyY(-1);
+		log.setPlayerWon(true);
+		long t = log.getStartTime();
+		log.addEvent(new GameEvent(t + 10, "MOVE", 'd', 0, 1, 4, 4, "이동", true));
+		log.addEvent(new GameEvent(t + 10, "AI_MOVE", 'a', 0, 1, 4, 3, "이동", true));
+		log.addEvent(new GameEvent(t + 5, "CUSTOM_EVENT", 'w', -1, 1, 4, 3, null, false));
+		log.addEvent(new GameEvent(t + 70_000, "CUSTOM_EVENT", 'w', 0, 1, 4, 3, "막힘", false));
+		log.addEvent(new GameEvent(t + 80_000, null, '\0', 0, 2, 4, 3, "", true));
+		log.addEvent(new GameEvent(t + 89_000, "ARRIVE", 's', 4, 4, 4, 3, "도착", true));
+		return log;
+	}
+
+	private static byte[] write(GameLog log) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		GameLogCodec.write(log, out);
+		return out.toByteArray();
+	}
+
+	private static GameLog read(byte[] bytes, boolean allowTruncated) throws IOException {
+		return GameLogCodec.read(new ByteArrayInputStream(bytes), allowTruncated);
+	}
+
+	private static void assertSameLog(GameLog expected, GameLog actual) {
+		assertEquals(expected.getGameId(), actual.getGameId());
+		assertEquals(expected.getStartTime(), actual.getStartTime());
+		assertEquals(expected.getEndTime(), actual.getEndTime());
+		assertEquals(expected.getMazeSize(), actual.getMazeSize());
+		assertArrayEquals(expected.getInitialMaze(), actual.getInitialMaze());
+		assertEquals(expected.getInitialPlayerX(), actual.getInitialPlayerX());
+		assertEquals(expected.getInitialPlayerY(), actual.getInitialPlayerY());
+		assertEquals(expected.getInitialEnemyX(), actual.getInitialEnemyX());
+		assertEquals(expected.getInitialEnemyY(), actual.getInitialEnemyY());
+		assertEquals(expected.isPlayerWon(), actual.isPlayerWon());
+		assertEquals(expected.isEnemyWon(), actual.isEnemyWon());
+		assertEquals(expected.getEvents().size(), actual.getEvents().size());
+		for (int i = 0; i < expected.getEvents().size(); i++) {
+			assertSameEvent(expected.getEvents().get(i), actual.getEvents().get(i));
+		}
+	}
+
+	private static void assertSameEvent(GameEvent expected, GameEvent actual) {
+		assertEquals(expected.getTimestamp(), actual.getTimestamp());
+		assertEquals(expected.getEventType(), actual.getEventType());
+		assertEquals(expected.getDirection(), actual.getDirection());
+		assertEquals(expected.getPlayerX(), actual.getPlayerX());
+		assertEquals(expected.getPlayerY(), actual.getPlayerY());
+		assertEquals(expected.getEnemyX(), actual.getEnemyX());
+		assertEquals(expected.getEnemyY(), actual.getEnemyY());
+		assertEquals(expected.getMessage(), actual.getMessage());
+		assertEquals(expected.isSuccess(), actual.isSuccess());
+	}
+}
@@ -0,0 +1,62 @@
+package com.example.secuproject.log;
+
+import com.example.secuproject.model.MazeGrid;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class LogCatalogTest {
+
+	private static final int[][] MAZE = {
+		{0, 3, 4, 3, 9},
+		{4, 3, 4, 3, 4},
+		{3, 3, 3, 3, 4},
+		{3, 4, 4, 3, 3},
+		{3, 3, 3, 4, 3}
+	};
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void journaledGameIsCatalogedWithItsEventCount() {
+		assertSavedGameIsCatalogedWithEventCount(true);
+	}
+
+	@Test
+	void inMemoryGameIsCatalogedWithItsEventCount() {
+		assertSavedGameIsCatalogedWithEventCount(false);
+	}
+
+	private void assertSavedGameIsCatalogedWithEventCount(boolean journaling) {
+		String logDir = dir.toString();
+		LogCatalog catalog = new LogCatalog(logDir);
+		catalog.open(false);
+		GameLogger logger = new GameLogger(logDir, journaling, 64, 60_000);
+		logger.setSaveListener(catalog::add);
+
+		logger.startNewGame(5, MazeGrid.fromArray(MAZE), 0, 0, 4, 4);
+		for (int i = 1; i <= 3; i++) {
+			logger.logEvent("MOVE", 'd', 0, i, 4, 4, "이동", true);
+		}
+		String path = logger.finishAndSave(true, false);
+		assertNotNull(path);
+
+		LogCatalog.Entry entry = catalog.get(path);
+		assertNotNull(entry);
+		assertEquals(3, entry.eventCount);
+		assertEquals(LogCatalog.WINNER_PLAYER, entry.winner);
+		assertEquals(3, logger.loadLog(path).getEvents().size());
+		catalog.close();
+
+		// 인덱스 파일에서 다시 읽어도 같은 이벤트 수
+		LogCatalog reopened = new LogCatalog(logDir);
+		reopened.open(false);
+		assertEquals(3, reopened.get(path).eventCount);
+		reopened.close();
+	}
+}
@@ -0,0 +1,190 @@
+package com.example.secuproject.replay;
+
+import com.example.secuproject.Maze_two;
+import com.example.secuproject.log.GameEvent;
+import com.example.secuproject.log.GameLog;
+import com.example.secuproject.model.MazeGrid;
+import com.example.secuproject.util.MazeGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReplayIndexTest {
+
+	private static final int KEYFRAME_INTERVAL = 16;
+	private static final char[] DIRECTIONS = {'w', 'a', 's', 'd'};
+
+	@Test
+	void everyFrameMatchesFullReplay() {
+		GameLog log = randomGame(1, 15, 1_000);
+		List<String> expected = fullReplay(log);
+		ReplayIndex index = ReplayIndex.build(log, KEYFRAME_INTERVAL);
+		assertEquals(expected.size(), index.getFrameCount());
+
+		for (int f = 0; f < expected.size(); f++) {
+			ReplayFrame frame = index.frame(f);
+			assertEquals(f, frame.index);
+			assertEquals(expected.get(f), frame.mazeView, "frame " + f);
+			assertNull(frame.cells);
+		}
+		List<ReplayFrame> full = index.window(0, expected.size(), true);
+		for (int f = 0; f < expected.size(); f++) {
+			assertEquals(expected.get(f), full.get(f).mazeView, "full view " + f);
+		}
+	}
+
+	@Test
+	void deltaWindowsRebuildFullReplay() {
+		GameLog log = randomGame(2, 21, 2_000);
+		List<String> expected = fullReplay(log);
+		ReplayIndex index = ReplayIndex.build(log, KEYFRAME_INTERVAL);
+		int frames = index.getFrameCount();
+
+		Random random = new Random(2);
+		List<Integer> starts = new ArrayList<>(List.of(0, KEYFRAME_INTERVAL - 1, KEYFRAME_INTERVAL,
+			KEYFRAME_INTERVAL + 1, frames - 1));
+		for (int k = 0; k < 60; k++) {
+			starts.add(random.nextInt(frames));
+		}
+		for (int from : starts) {
+			int count = 1 + random.nextInt(3 * KEYFRAME_INTERVAL);
+			List<ReplayFrame> window = index.window(from, count);
+			assertEquals(Math.min(count, frames - from), window.size(), "window size at " + from);
+
+			char[] view = window.get(0).mazeView.toCharArray();
+			assertEquals(expected.get(from), new String(view), "window start " + from);
+			for (int k = 1; k < window.size(); k++) {
+				ReplayFrame frame = window.get(k);
+				assertNull(frame.mazeView);
+				assertNotNull(frame.cells);
+				apply(view, frame.cells, index.getSize());
+				assertEquals(expected.get(from + k), new String(view), "frame " + (from + k) + " from " + from);
+			}
+		}
+	}
+
+	@Test
+	void replayChangesMapWhenItemsAreUsed() {
+		assertMapChanges(randomGame(1, 15, 1_000));
+		assertMapChanges(randomGame(2, 21, 2_000));
+	}
+
+	@Test
+	void windowOutsideReplayIsEmpty() {
+		ReplayIndex index = ReplayIndex.build(randomGame(3, 9, 10), KEYFRAME_INTERVAL);
+		assertTrue(index.window(index.getFrameCount(), 5).isEmpty());
+		assertTrue(index.window(0, 0).isEmpty());
+		assertNull(index.frame(index.getFrameCount()));
+		assertEquals(0, index.window(-3, 1).get(0).index);
+	}
+
+	/**
+	 * 테스트 게임이 실제로 맵 변경(망치 줍기, 망치로 깬 벽)을 거쳐 델타 경로를 확인하는지
+	 */
+	private static void assertMapChanges(GameLog log) {
+		Maze_two initial = new Maze_two(log.getInitialMaze());
+		Maze_two replayed = replay(log, null);
+		int changed = 0;
+		for (int i = 0; i < initial.getGrid().area(); i++) {
+			if (initial.getGrid().get(i) != replayed.getGrid().get(i)) {
+				changed++;
+			}
+		}
+		assertTrue(changed >= 2, "changed cells: " + changed);
+	}
+
+	/**
+	 * 예전 ReplayGenerator처럼 매 프레임 전체 화면을 만드는 기준 재생
+	 */
+	private static List<String> fullReplay(GameLog log) {
+		List<String> views = new ArrayList<>();
+		replay(log, views);
+		return views;
+	}
+
+	private static Maze_two replay(GameLog log, List<String> views) {
+		Maze_two maze = new Maze_two(log.getInitialMaze());
+		int enemyX = log.getInitialEnemyX();
+		int enemyY = log.getInitialEnemyY();
+		if (views != null) {
+			views.add(maze.showMazeNoFog(enemyX, enemyY));
+		}
+		List<GameEvent> events = new ArrayList<>(log.getEvents());
+		events.sort(Comparator.comparingLong(GameEvent::getTimestamp));
+		for (GameEvent e : events) {
+			if ("MOVE".equals(e.getEventType())) {
+				maze.move(e.getDirection());
+			} else if ("AI_MOVE".equals(e.getEventType())) {
+				enemyX = e.getEnemyX();
+				enemyY = e.getEnemyY();
+			}
+			if (views != null) {
+				views.add(maze.showMazeNoFog(enemyX, enemyY));
+			}
+		}
+		return maze;
+	}
+
+	private static void apply(char[] view, int[] cells, int size) {
+		for (int c = 0; c < cells.length; c += 3) {
+			view[cells[c] * (size * 2 + 1) + cells[c + 1] * 2 + 1] = (char) cells[c + 2];
+		}
+	}
+
+	/**
+	 * 생성 미로에서 무작위로 움직이는 게임 (시작점 옆에 망치, 함정은 벽시계에 묶이므로 길로 바꿈)
+	 */
+	private static GameLog randomGame(long seed, int size, int events) {
+		MazeGrid grid = new MazeGenerator(seed).generateGrid(size);
+		for (int i = 0; i < grid.area(); i++) {
+			if (grid.get(i) == 8) {
+				grid.set(i, 3);
+			}
+		}
+		int n = grid.getSize();
+		// Maze_two는 마지막 스타트 지점에서 시작
+		Maze_two maze = new Maze_two(grid);
+		int start = grid.index(maze.getPlayerX(), maze.getPlayerY());
+		for (int d = 0; d < 4; d++) {
+			int x = grid.rowOf(start) + (d == 0 ? -1 : d == 1 ? 1 : 0);
+			int y = grid.colOf(start) + (d == 2 ? -1 : d == 3 ? 1 : 0);
+			if (x >= 0 && y >= 0 && x < n && y < n && grid.get(x, y) == 3) {
+				grid.set(x, y, 7);
+				break;
+			}
+		}
+
+		GameLog log = new GameLog();
+		log.setGameId("replay-" + seed);
+		log.setStartTime(1_000);
+		log.setMazeSize(n);
+		log.setInitialMaze(grid.toArray());
+		log.setInitialPlayerX(grid.rowOf(start));
+		log.setInitialPlayerY(grid.colOf(start));
+		log.setInitialEnemyX(n - 1);
+		log.setInitialEnemyY(0);
+
+		Random random = new Random(seed);
+		long t = 1_000;
+		for (int k = 0; k < events; k++) {
+			// 같은 시각이나 앞선 시각의 이벤트도 섞음 (인덱스는 시각 순으로 안정 정렬)
+			t += random.nextInt(4) - 1;
+			if (random.nextInt(4) == 0) {
+				log.addEvent(new GameEvent(t, "AI_MOVE", ' ', 0, 0,
+					random.nextInt(n), random.nextInt(n), "Enemy 이동", true));
+			} else {
+				char d = DIRECTIONS[random.nextInt(4)];
+				log.addEvent(new GameEvent(t, "MOVE", d, 0, 0, 0, 0, "이동", true));
+			}
+		}
+		return log;
+	}
+}
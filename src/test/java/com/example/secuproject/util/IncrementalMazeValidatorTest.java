@@ -0,0 +1,213 @@
+package com.example.secuproject.util;
+
+import com.example.secuproject.model.MazeGrid;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class IncrementalMazeValidatorTest {
+
+	private static final String WALLS_SPLIT = "벽(4)이 여러 개의 분리된 영역으로 나뉘어 있습니다. 모든 벽은 하나로 연결되어야 합니다.";
+
+	private final MazeValidator validator = new MazeValidator();
+
+	@Test
+	void randomEditsMatchFullValidation() {
+		Random random = new Random(1);
+		int edits = 0;
+		for (int t = 0; t < 400; t++) {
+			MazeGrid grid;
+			if (t % 2 == 0) {
+				grid = new MazeGenerator(t).generateGrid(Math.max(7, 5 + random.nextInt(20)));
+			} else {
+				grid = new MazeGrid(5 + random.nextInt(20), 3);
+				for (int i = 0; i < grid.area(); i++) {
+					int k = random.nextInt(10);
+					grid.set(i, k < 4 ? 4 : k == 4 ? 0 : k == 5 ? 9 : 3);
+				}
+			}
+			int n = grid.getSize();
+			IncrementalMazeValidator incremental = new IncrementalMazeValidator(grid);
+			assertSameAsFull(incremental, grid, "grid " + t);
+			for (int e = 0; e < 300; e++) {
+				int x = random.nextInt(n), y = random.nextInt(n);
+				int k = random.nextInt(20);
+				int code = k < 9 ? 4 : k < 17 ? 3 : k < 18 ? 0 : k < 19 ? 9 : 5;
+				grid.set(x, y, code);
+				incremental.set(x, y, code);
+				assertSameAsFull(incremental, grid, "grid " + t + ", edit " + e);
+				edits++;
+			}
+		}
+		assertEquals(120_000, edits);
+	}
+
+	@Test
+	void removingWallThatJoinsTwoHalvesSplitsRegion() {
+		MazeGrid grid = new MazeGrid(7, 3);
+		grid.set(0, 0, 0);
+		grid.set(6, 6, 9);
+		for (int y = 1; y <= 5; y++) {
+			grid.set(3, y, 4);
+		}
+		IncrementalMazeValidator incremental = new IncrementalMazeValidator(grid);
+		assertSameAsFull(incremental, grid, "bar");
+
+		grid.set(3, 3, 3);
+		assertEquals(WALLS_SPLIT, incremental.set(3, 3, 3).message);
+		assertSameAsFull(incremental, grid, "split");
+
+		// 한쪽 끝을 더 떼어 내도 여전히 둘, 다시 이으면 하나
+		grid.set(3, 1, 3);
+		assertEquals(WALLS_SPLIT, incremental.set(3, 1, 3).message);
+		grid.set(3, 3, 4);
+		incremental.set(3, 3, 4);
+		assertSameAsFull(incremental, grid, "rejoined");
+		assertNotEquals(WALLS_SPLIT, incremental.result().message);
+	}
+
+	@Test
+	void removingWallFromRingKeepsRegion() {
+		MazeGrid grid = new MazeGrid(7, 3);
+		grid.set(0, 0, 0);
+		grid.set(6, 6, 9);
+		for (int i = 1; i <= 5; i++) {
+			grid.set(1, i, 4);
+			grid.set(5, i, 4);
+			grid.set(i, 1, 4);
+			grid.set(i, 5, 4);
+		}
+		IncrementalMazeValidator incremental = new IncrementalMazeValidator(grid);
+		grid.set(1, 3, 3);
+		incremental.set(1, 3, 3);
+		assertSameAsFull(incremental, grid, "open ring");
+		assertNotEquals(WALLS_SPLIT, incremental.result().message);
+	}
+
+	@Test
+	void movingGoalRecomputesDistances() {
+		MazeGrid grid = new MazeGenerator(3).generateGrid(15);
+		IncrementalMazeValidator incremental = new IncrementalMazeValidator(grid);
+		int n = grid.getSize();
+		int goal = grid.indexOf(9);
+		Random random = new Random(3);
+		for (int move = 0; move < 50; move++) {
+			int target;
+			do {
+				target = random.nextInt(grid.area());
+			} while (grid.get(target) != 3);
+			// 새 도착지점을 먼저 놓으면 행 우선으로 앞선 쪽이 도착지점
+			grid.set(target, 9);
+			incremental.set(target / n, target % n, 9);
+			assertSameAsFull(incremental, grid, "second goal " + move);
+			grid.set(goal, 3);
+			incremental.set(goal / n, goal % n, 3);
+			assertSameAsFull(incremental, grid, "goal moved " + move);
+			goal = target;
+		}
+		grid.set(goal, 3);
+		incremental.set(goal / n, goal % n, 3);
+		assertSameAsFull(incremental, grid, "no goal");
+		assertEquals(-1, incremental.distanceToGoal(0, 0));
+	}
+
+	@Test
+	void relabelsAfterManyRegionsWereNumbered() {
+		MazeGrid grid = new MazeGrid(9, 3);
+		grid.set(0, 0, 0);
+		grid.set(8, 8, 9);
+		for (int y = 1; y <= 7; y++) {
+			grid.set(4, y, 4);
+		}
+		IncrementalMazeValidator incremental = new IncrementalMazeValidator(grid);
+		// 벽을 떼어 가를 때와 외딴 벽을 놓을 때마다 번호가 늘어나므로 area + 16(= 97)을 여러 번 넘김
+		Random random = new Random(4);
+		for (int round = 0; round < 400; round++) {
+			int y = 2 + random.nextInt(5);
+			grid.set(4, y, 3);
+			incremental.set(4, y, 3);
+			assertSameAsFull(incremental, grid, "split " + round);
+			int x = random.nextBoolean() ? 1 : 7;
+			int lone = 1 + random.nextInt(7);
+			grid.set(x, lone, 4);
+			incremental.set(x, lone, 4);
+			assertSameAsFull(incremental, grid, "lone wall " + round);
+			grid.set(x, lone, 3);
+			incremental.set(x, lone, 3);
+			grid.set(4, y, 4);
+			incremental.set(4, y, 4);
+			assertSameAsFull(incremental, grid, "joined " + round);
+		}
+	}
+
+	@Test
+	void invalidCodeLeavesStateUntouched() {
+		MazeGrid grid = new MazeGenerator(5).generateGrid(11);
+		IncrementalMazeValidator incremental = new IncrementalMazeValidator(grid);
+		int goal = grid.indexOf(9);
+		int start = grid.indexOf(0);
+		int n = grid.getSize();
+
+		assertThrows(IllegalArgumentException.class, () -> incremental.set(goal / n, goal % n, 16));
+		assertThrows(IllegalArgumentException.class, () -> incremental.set(start / n, start % n, -1));
+		assertThrows(IndexOutOfBoundsException.class, () -> incremental.set(n, 0, 3));
+		assertSameAsFull(incremental, grid, "after rejected edits");
+
+		// 이후 편집도 그대로 맞아야 함
+		grid.set(goal, 3);
+		incremental.set(goal / n, goal % n, 3);
+		assertSameAsFull(incremental, grid, "goal removed");
+	}
+
+	private void assertSameAsFull(IncrementalMazeValidator incremental, MazeGrid grid, String context) {
+		MazeValidator.ValidationResult expected = validator.validate(grid);
+		MazeValidator.ValidationResult actual = incremental.result();
+		assertEquals(expected.valid, actual.valid, context);
+		assertEquals(expected.message, actual.message, context);
+		assertArrayEquals(expected.shortestPathLengths, actual.shortestPathLengths, context);
+
+		int n = grid.getSize();
+		int[] dist = distancesToGoal(grid);
+		for (int i = 0; i < grid.area(); i++) {
+			int cell = i;
+			assertEquals(dist[cell], incremental.distanceToGoal(cell / n, cell % n),
+				() -> context + ", distance at (" + cell / n + ", " + cell % n + ")");
+		}
+	}
+
+	private static int[] distancesToGoal(MazeGrid grid) {
+		int n = grid.getSize();
+		int[] dist = new int[grid.area()];
+		Arrays.fill(dist, -1);
+		int goal = grid.indexOf(9);
+		if (goal < 0) {
+			return dist;
+		}
+		ArrayDeque<Integer> queue = new ArrayDeque<>();
+		dist[goal] = 0;
+		queue.add(goal);
+		while (!queue.isEmpty()) {
+			int cell = queue.poll();
+			int x = cell / n, y = cell % n;
+			int[][] next = {{x - 1, y}, {x + 1, y}, {x, y - 1}, {x, y + 1}};
+			for (int[] p : next) {
+				if (p[0] < 0 || p[1] < 0 || p[0] >= n || p[1] >= n) {
+					continue;
+				}
+				int j = p[0] * n + p[1];
+				if (dist[j] < 0 && grid.get(j) != 4) {
+					dist[j] = dist[cell] + 1;
+					queue.add(j);
+				}
+			}
+		}
+		return dist;
+	}
+}
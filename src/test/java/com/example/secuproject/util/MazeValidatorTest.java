@@ -0,0 +1,213 @@
+package com.example.secuproject.util;
+
+import com.example.secuproject.model.MazeGrid;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MazeValidatorTest {
+
+	private static final int[] MUTATION_CODES = {0, 3, 4, 9, 5, 6};
+
+	private final MazeValidator validator = new MazeValidator();
+
+	@Test
+	void matchesBaselineOnGeneratedAndMutatedGrids() {
+		Random random = new Random(3);
+		int valid = 0;
+		for (int t = 0; t < 3000; t++) {
+			MazeGrid grid = new MazeGenerator(random.nextLong()).generateGrid(5 + random.nextInt(30));
+			int mutations = random.nextInt(4);
+			for (int m = 0; m < mutations; m++) {
+				grid.set(random.nextInt(grid.area()), MUTATION_CODES[random.nextInt(MUTATION_CODES.length)]);
+			}
+			if (assertSameAsBaseline(grid.toArray(), "grid " + t)) {
+				valid++;
+			}
+		}
+		// 생성 미로는 대부분 유효하므로 마지막 검사(최단 경로 길이)까지 충분히 비교됨
+		assertTrue(valid > 1000, "valid grids: " + valid);
+	}
+
+	@Test
+	void matchesBaselineOnRandomGrids() {
+		Random random = new Random(7);
+		for (int t = 0; t < 3000; t++) {
+			int size = 1 + random.nextInt(12);
+			int[][] map = new int[size][size];
+			for (int i = 0; i < size; i++) {
+				for (int j = 0; j < size; j++) {
+					int k = random.nextInt(12);
+					map[i][j] = k < 4 ? 4 : k == 4 ? 0 : k == 5 ? 9 : k == 6 ? 7 : 3;
+				}
+			}
+			assertSameAsBaseline(map, "random grid " + t);
+		}
+	}
+
+	@Test
+	void matchesBaselineOnEdgeCases() {
+		assertEquals("미로가 비어있습니다.", validator.validate(new int[0][]).message);
+		assertEquals("미로가 비어있습니다.", validator.validate((int[][]) null).message);
+		assertSameAsBaseline(new int[][] {{0}}, "only start");
+		assertSameAsBaseline(new int[][] {{9}}, "only goal");
+		assertSameAsBaseline(new int[][] {{0, 9}, {3, 3}}, "no walls");
+		assertSameAsBaseline(new int[][] {{0, 4, 9}, {4, 4, 4}, {3, 3, 3}}, "walled off");
+		// 두 번째 도착지점은 무시 (행 우선으로 첫 도착지점만 사용)
+		assertSameAsBaseline(new int[][] {{0, 3, 9}, {4, 4, 3}, {9, 3, 3}}, "two goals");
+		assertSameAsBaseline(new int[][] {
+			{0, 3, 3, 3, 3},
+			{4, 4, 4, 4, 3},
+			{3, 3, 3, 3, 3},
+			{3, 4, 4, 4, 4},
+			{0, 3, 3, 3, 9}
+		}, "two starts");
+	}
+
+	/**
+	 * @return 유효한 미로였으면 true
+	 */
+	private boolean assertSameAsBaseline(int[][] map, String context) {
+		BaselineValidator.Result expected = BaselineValidator.validate(map);
+		MazeValidator.ValidationResult actual = validator.validate(map);
+		assertEquals(expected.message, actual.message, context);
+		assertEquals(expected.valid, actual.valid, context);
+		if (expected.shortest == null) {
+			assertNull(actual.shortestPathLengths, context);
+		} else {
+			assertEquals(expected.shortest.size(), actual.shortestPathLengths.length, context);
+			for (int k = 0; k < expected.shortest.size(); k++) {
+				assertEquals((int) expected.shortest.get(k), actual.shortestPathLengths[k], context);
+			}
+		}
+		return expected.valid;
+	}
+
+	/**
+	 * 단일 패스로 바꾸기 전의 MazeValidator (스타트마다 BFS, 벽 flood 따로)
+	 * 검사 순서와 메시지가 같아야 하는 기준입니다. 최단 경로 길이는 예전에는 돌려주지 않았으므로
+	 * 마지막 검사까지 간 경우에만 스타트별 BFS 결과를 모아 둡니다.
+	 * 예전의 "최소 2개 경로" 검사는 모든 스타트가 도달 가능할 때만 닿아 실패할 수 없으므로 생략합니다.
+	 */
+	private static final class BaselineValidator {
+		private static final int[] DX = {-1, 1, 0, 0};
+		private static final int[] DY = {0, 0, -1, 1};
+
+		static final class Result {
+			final boolean valid;
+			final String message;
+			List<Integer> shortest;
+
+			Result(boolean valid, String message) {
+				this.valid = valid;
+				this.message = message;
+			}
+		}
+
+		static Result validate(int[][] map) {
+			int size = map.length;
+			List<int[]> starts = new ArrayList<>();
+			int[] goal = null;
+			for (int i = 0; i < size; i++) {
+				for (int j = 0; j < size; j++) {
+					if (map[i][j] == 0) {
+						starts.add(new int[] {i, j});
+					} else if (map[i][j] == 9 && goal == null) {
+						goal = new int[] {i, j};
+					}
+				}
+			}
+			if (starts.isEmpty()) {
+				return new Result(false, "스타트 지점(0)이 없습니다.");
+			}
+			if (goal == null) {
+				return new Result(false, "도착지점(9)이 없습니다.");
+			}
+			for (int[] start : starts) {
+				if (shortestPath(map, start, goal) < 0) {
+					return new Result(false, String.format("스타트 지점 (%d, %d)에서 도착지점까지 경로가 없습니다.",
+						start[0], start[1]));
+				}
+			}
+			if (!allWallsConnected(map)) {
+				return new Result(false, "벽(4)이 여러 개의 분리된 영역으로 나뉘어 있습니다. 모든 벽은 하나로 연결되어야 합니다.");
+			}
+			List<Integer> shortest = new ArrayList<>();
+			for (int[] start : starts) {
+				shortest.add(shortestPath(map, start, goal));
+			}
+			int minPathRequired = size * 2;
+			for (int k = 0; k < starts.size(); k++) {
+				if (shortest.get(k) < minPathRequired) {
+					Result result = new Result(false, String.format(
+						"스타트 지점 (%d, %d)에서 도착지점까지의 최단 경로가 %d칸으로, 최소 필요 거리(%d칸)보다 짧습니다.",
+						starts.get(k)[0], starts.get(k)[1], shortest.get(k), minPathRequired));
+					result.shortest = shortest;
+					return result;
+				}
+			}
+			Result result = new Result(true, "미로가 유효합니다.");
+			result.shortest = shortest;
+			return result;
+		}
+
+		private static int shortestPath(int[][] map, int[] start, int[] goal) {
+			int size = map.length;
+			boolean[][] visited = new boolean[size][size];
+			ArrayDeque<int[]> queue = new ArrayDeque<>();
+			queue.add(new int[] {start[0], start[1], 0});
+			visited[start[0]][start[1]] = true;
+			while (!queue.isEmpty()) {
+				int[] current = queue.poll();
+				if (current[0] == goal[0] && current[1] == goal[1]) {
+					return current[2];
+				}
+				for (int d = 0; d < 4; d++) {
+					int nx = current[0] + DX[d], ny = current[1] + DY[d];
+					if (nx >= 0 && nx < size && ny >= 0 && ny < size && !visited[nx][ny] && map[nx][ny] != 4) {
+						visited[nx][ny] = true;
+						queue.add(new int[] {nx, ny, current[2] + 1});
+					}
+				}
+			}
+			return -1;
+		}
+
+		private static boolean allWallsConnected(int[][] map) {
+			int size = map.length;
+			boolean[][] visited = new boolean[size][size];
+			ArrayDeque<int[]> queue = new ArrayDeque<>();
+			int totalWalls = 0;
+			for (int i = 0; i < size; i++) {
+				for (int j = 0; j < size; j++) {
+					if (map[i][j] == 4) {
+						if (totalWalls++ == 0) {
+							visited[i][j] = true;
+							queue.add(new int[] {i, j});
+						}
+					}
+				}
+			}
+			int found = 0;
+			while (!queue.isEmpty()) {
+				int[] current = queue.poll();
+				found++;
+				for (int d = 0; d < 4; d++) {
+					int nx = current[0] + DX[d], ny = current[1] + DY[d];
+					if (nx >= 0 && nx < size && ny >= 0 && ny < size && !visited[nx][ny] && map[nx][ny] == 4) {
+						visited[nx][ny] = true;
+						queue.add(new int[] {nx, ny});
+					}
+				}
+			}
+			return found == totalWalls;
+		}
+	}
+}